@@ -1,31 +1,55 @@
 package start.students.adapters.inbound.controllers;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import start.students.adapters.inbound.http.ApiResponse;
+import start.students.adapters.inbound.security.LoginAttemptLimiter;
 import start.students.core.application.dtos.LoginInputDTO;
 import start.students.core.application.dtos.TokenResponseDTO;
 import start.students.core.application.usecases.AuthenticationUseCase;
 import start.students.core.domain.exceptions.DomainException;
+import start.students.core.domain.exceptions.ServiceOverloadedException;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
     private final AuthenticationUseCase authenticationUseCase;
+    private final LoginAttemptLimiter loginAttemptLimiter;
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<TokenResponseDTO>> login(@Valid @RequestBody LoginInputDTO input) {
+    public ResponseEntity<ApiResponse<TokenResponseDTO>> login(@Valid @RequestBody LoginInputDTO input,
+                                                               HttpServletRequest request) {
+        // Barrar tentativas em excesso antes de buscar o usuário e rodar o BCrypt
+        // Atrás de proxy, o IP real vem do X-Forwarded-For aceito só de proxies confiáveis (server.forward-headers-strategy)
+        String clientIp = request.getRemoteAddr();
+        long waitMillis = loginAttemptLimiter.tryAcquire(input.getUsername(), clientIp);
+        if (waitMillis > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(LoginAttemptLimiter.retryAfterSeconds(waitMillis)))
+                    .body(ApiResponse.error("Muitas tentativas de login; aguarde antes de tentar novamente"));
+        }
         try {
             TokenResponseDTO response = authenticationUseCase.authenticate(input);
+            loginAttemptLimiter.reset(input.getUsername(), clientIp);
             return ResponseEntity.ok(ApiResponse.success("Login realizado com sucesso", response));
+        } catch (ServiceOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (DomainException e) {
+            loginAttemptLimiter.recordFailure(clientIp);
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
@@ -2,14 +2,29 @@ package start.students.adapters.inbound.controllers;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import start.students.adapters.inbound.http.ApiResponse;
 import start.students.core.application.dtos.*;
 import start.students.core.application.usecases.*;
 import start.students.core.domain.exceptions.DomainException;
+import start.students.core.domain.exceptions.ServiceOverloadedException;
+import start.students.core.domain.exceptions.StudentVersionConflictException;
+import start.students.core.domain.valueobjects.StudentExportFormat;
+import start.students.core.domain.valueobjects.StudentVersion;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/students")
 @RequiredArgsConstructor
 public class StudentController {
@@ -19,6 +34,8 @@ public class StudentController {
     private final UpdateStudentUseCase updateStudentUseCase;
     private final DeleteStudentUseCase deleteStudentUseCase;
     private final ListStudentsUseCase listStudentsUseCase;
+    private final BatchCreateStudentsUseCase batchCreateStudentsUseCase;
+    private final ExportStudentsUseCase exportStudentsUseCase;
 
     @PostMapping
     public ResponseEntity<ApiResponse<StudentOutputDTO>> create(@Valid @RequestBody CreateStudentInputDTO input) {
@@ -34,11 +51,30 @@ public class StudentController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchCreateStudentsOutputDTO>> createBatch(
+            @RequestBody List<CreateStudentInputDTO> inputs) {
+        try {
+            // A validação é feita por item no caso de uso, para reportar os erros individualmente
+            BatchCreateStudentsOutputDTO result = batchCreateStudentsUseCase.execute(inputs);
+            return ResponseEntity.ok(ApiResponse.success("Lote processado", result));
+        } catch (DomainException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<StudentOutputDTO>> getDetail(@PathVariable String id) {
+    public ResponseEntity<ApiResponse<StudentOutputDTO>> getDetail(@PathVariable String id, WebRequest request) {
         try {
-            StudentOutputDTO result = getStudentDetailUseCase.execute(id);
+            // If-None-Match/If-Modified-Since respondidos com 304 antes de carregar o aluno e a foto
+            StudentVersion version = getStudentDetailUseCase.currentVersion(id);
+            if (request.checkNotModified(detailETag(version.getVersion()), epochMillis(version.getUpdatedAt()))) {
+                return null;
+            }
+            StudentOutputDTO result = getStudentDetailUseCase.execute(id, version);
             return ResponseEntity.ok(ApiResponse.success("Aluno encontrado", result));
+        } catch (ServiceOverloadedException e) {
+            return overloaded(e);
         } catch (DomainException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
@@ -47,10 +83,36 @@ public class StudentController {
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<StudentOutputDTO>> update(
             @PathVariable String id,
-            @Valid @RequestBody UpdateStudentInputDTO input) {
+            @Valid @RequestBody UpdateStudentInputDTO input,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            StudentOutputDTO result = updateStudentUseCase.execute(id, input);
-            return ResponseEntity.ok(ApiResponse.success("Aluno atualizado com sucesso", result));
+            // Com If-Match, a gravação só acontece se o aluno ainda estiver na versão lida pelo cliente
+            StudentOutputDTO result = updateStudentUseCase.execute(id, input, expectedVersion(ifMatch));
+            return ResponseEntity.ok()
+                    .eTag(detailETag(result.getVersion()))
+                    .body(ApiResponse.success("Aluno atualizado com sucesso", result));
+        } catch (StudentVersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
+        } catch (DomainException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * JSON Merge Patch (RFC 7396): só os campos enviados são gravados; null remove telefone ou foto
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<StudentOutputDTO>> patch(
+            @PathVariable String id,
+            @Valid @RequestBody PatchStudentInputDTO input,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            StudentOutputDTO result = updateStudentUseCase.patch(id, input, expectedVersion(ifMatch));
+            return ResponseEntity.ok()
+                    .eTag(detailETag(result.getVersion()))
+                    .body(ApiResponse.success("Aluno atualizado com sucesso", result));
+        } catch (StudentVersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
         } catch (DomainException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
@@ -71,15 +133,52 @@ public class StudentController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
-            @RequestParam(defaultValue = "name") String searchType) {
+            @RequestParam(defaultValue = "name") String searchType,
+            @RequestParam(defaultValue = "exact") String count,
+            WebRequest request) {
         try {
-            StudentPagedOutputDTO result = listStudentsUseCase.execute(page, size, search, searchType);
+            if (request.checkNotModified(listETag(listStudentsUseCase.listVersion()))) {
+                return null;
+            }
+            StudentPagedOutputDTO result = listStudentsUseCase.execute(page, size, search, searchType, count);
             return ResponseEntity.ok(ApiResponse.success("Alunos listados", result));
+        } catch (ServiceOverloadedException e) {
+            return overloaded(e);
         } catch (DomainException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
+    @GetMapping(params = "mode=cursor")
+    public ResponseEntity<ApiResponse<StudentCursorPagedOutputDTO>> listByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            StudentCursorPagedOutputDTO result = listStudentsUseCase.executeAfter(after, size);
+            return ResponseEntity.ok(ApiResponse.success("Alunos listados", result));
+        } catch (ServiceOverloadedException e) {
+            return overloaded(e);
+        } catch (DomainException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean includePhoto) {
+        // Formato inválido vira 400 no GlobalExceptionHandler: o tipo de retorno precisa ser
+        // StreamingResponseBody para o Spring escrever a resposta de forma assíncrona
+        StudentExportFormat exportFormat = StudentExportFormat.from(format);
+        // As linhas são escritas direto na resposta, fora da thread da requisição
+        StreamingResponseBody body = output -> exportStudentsUseCase.execute(exportFormat, includePhoto, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"students." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/validate/cpf")
     public ResponseEntity<ApiResponse<Boolean>> validateCpf(@RequestParam String cpf) {
         boolean exists = listStudentsUseCase.validateCpfExists(cpf);
@@ -97,4 +196,49 @@ public class StudentController {
         }
         return ResponseEntity.ok(ApiResponse.success("Email disponível", false));
     }
+
+    /**
+     * Compartimento saturado: o cliente pode repetir em instantes
+     */
+    private static <T> ResponseEntity<ApiResponse<T>> overloaded(ServiceOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(e.getMessage()));
+    }
+
+    /**
+     * ETag forte do detalhe: a versão do aluno, incrementada a cada alteração gravada
+     */
+    private static String detailETag(Long version) {
+        return "\"v" + version + "\"";
+    }
+
+    /**
+     * Versão exigida pelo If-Match ("v3", como no ETag do detalhe); ausente ou "*" não exige versão
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 4 || !tag.startsWith("\"v") || !tag.endsWith("\"")) {
+            throw new DomainException("If-Match inválido: use o ETag retornado pelo detalhe do aluno");
+        }
+        try {
+            return Long.parseLong(tag.substring(2, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new DomainException("If-Match inválido: use o ETag retornado pelo detalhe do aluno");
+        }
+    }
+
+    /**
+     * ETag forte da listagem: muda a cada escrita confirmada na tabela de alunos
+     */
+    private static String listETag(String version) {
+        return "\"list-" + version + "\"";
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 }
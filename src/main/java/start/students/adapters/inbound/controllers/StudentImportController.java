@@ -0,0 +1,55 @@
+package start.students.adapters.inbound.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import start.students.adapters.inbound.http.ApiResponse;
+import start.students.core.application.dtos.StudentImportOutputDTO;
+import start.students.core.application.usecases.ImportStudentsUseCase;
+import start.students.core.domain.exceptions.DomainException;
+
+import java.io.InputStream;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/students/imports")
+@RequiredArgsConstructor
+public class StudentImportController {
+
+    private final ImportStudentsUseCase importStudentsUseCase;
+
+    /**
+     * Recebe o CSV no corpo da requisição (Content-Type: text/csv), sem carregá-lo em memória
+     */
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<ApiResponse<StudentImportOutputDTO>> start(InputStream content) {
+        try {
+            StudentImportOutputDTO result = importStudentsUseCase.start(content);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Importação iniciada", result));
+        } catch (DomainException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<StudentImportOutputDTO>> status(@PathVariable String id) {
+        try {
+            StudentImportOutputDTO result = importStudentsUseCase.getStatus(id);
+            return ResponseEntity.ok(ApiResponse.success("Importação encontrada", result));
+        } catch (DomainException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<ApiResponse<StudentImportOutputDTO>> resume(@PathVariable String id) {
+        try {
+            StudentImportOutputDTO result = importStudentsUseCase.resume(id);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Importação retomada", result));
+        } catch (DomainException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package start.students.adapters.inbound.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import start.students.core.ports.WorkloadLimiterPort.Workload;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Classifica a requisição por tipo de carga e executa escritas, login e exportação/lote dentro do
+ * compartimento correspondente; leituras de listagem e detalhe não passam pelo filtro, pois em geral
+ * são servidas de cache ou com 304, e só ocupam vaga quando os casos de uso vão ao banco
+ * Respostas em streaming (exportação) seguem em outra thread: a vaga só é devolvida quando o
+ * processamento assíncrono termina
+ * Não é um bean, para o Spring Boot não registrá-lo de novo como filtro do servlet
+ */
+@RequiredArgsConstructor
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final String STUDENTS_PATH = "/api/students";
+    private static final String LOGIN_PATH = "/api/auth/login";
+
+    private final WorkloadBulkheads bulkheads;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equals(request.getMethod()) || workloadOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Workload workload = workloadOf(request);
+        if (!bulkheads.tryAcquire(workload)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    ApiResponse.error("Serviço ocupado no momento; tente novamente em instantes"));
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                bulkheads.release(workload);
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    /**
+     * Exportação e importação em lote; demais escritas; login; nulo para as outras leituras
+     */
+    private static Workload workloadOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        if (path.equals(LOGIN_PATH)) {
+            return Workload.LOGIN;
+        }
+        if (!path.startsWith(STUDENTS_PATH)) {
+            return null;
+        }
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        if (path.startsWith(STUDENTS_PATH + "/export") || path.startsWith(STUDENTS_PATH + "/batch")
+                || (path.startsWith(STUDENTS_PATH + "/imports") && !read)) {
+            return Workload.BULK;
+        }
+        return read ? null : Workload.WRITE;
+    }
+
+    private static final class ReleasingListener implements AsyncListener {
+        private final Runnable release;
+
+        private ReleasingListener(Runnable release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Um novo ciclo assíncrono precisa de um novo registro do ouvinte
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
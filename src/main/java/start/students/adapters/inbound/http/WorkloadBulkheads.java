@@ -0,0 +1,178 @@
+package start.students.adapters.inbound.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import start.students.core.domain.exceptions.ServiceOverloadedException;
+import start.students.core.ports.WorkloadLimiterPort;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Compartimentos de concorrência por tipo de carga: cada um tem seu limite de trabalho em andamento no banco
+ * e uma fila curta com espera máxima; uma exportação lenta ou uma rajada de cadastros esgota só o próprio
+ * compartimento. Leituras servidas de cache (e 304) não ocupam vaga: listagem e detalhe só entram aqui ao
+ * consultar o banco
+ * Sem max-concurrent explícito, os limites saem dos orçamentos reais: o pool do banco, menos as conexões
+ * reservadas aos jobs e as do pool da busca em todos os campos (cada consulta de searchType=all usa uma
+ * conexão a mais, fora da thread da requisição), repartido entre listagem, detalhe, escritas e lote;
+ * o login é limitado pelo pool do BCrypt, onde passa a maior parte do tempo
+ */
+@Slf4j
+@Component
+public class WorkloadBulkheads implements WorkloadLimiterPort {
+
+    private static final Map<Workload, Integer> DEFAULT_POOL_SHARES = Map.of(
+            Workload.LIST, 40,
+            Workload.DETAIL, 25,
+            Workload.WRITE, 20,
+            Workload.BULK, 15);
+
+    private final Map<Workload, Bulkhead> bulkheads = new EnumMap<>(Workload.class);
+
+    public WorkloadBulkheads(Environment environment, MeterRegistry meterRegistry) {
+        // Conexões que sobram para as requisições; o login leva as suas e o resto é repartido entre as demais cargas
+        int loginLimit = bcryptThreads(environment);
+        int budget = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10)
+                - environment.getProperty("students.bulkhead.reserved-connections", Integer.class, 0)
+                - environment.getProperty("students.search.all.pool-size", Integer.class, 8);
+        int shared = budget - loginLimit;
+
+        int connections = 0;
+        int admitted = 0;
+        for (Workload workload : Workload.values()) {
+            String name = workload.name().toLowerCase(Locale.ROOT);
+            String prefix = "students.bulkhead." + name + ".";
+            int derived = workload == Workload.LOGIN
+                    ? loginLimit
+                    : Math.max(1, shared * environment.getProperty(
+                            prefix + "pool-share", Integer.class, DEFAULT_POOL_SHARES.get(workload)) / 100);
+            Bulkhead bulkhead = new Bulkhead(
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, derived),
+                    environment.getProperty(prefix + "max-waiting", Integer.class, 0),
+                    DurationStyle.detectAndParse(environment.getProperty(prefix + "max-wait", "0s")));
+            bulkheads.put(workload, bulkhead);
+            connections += bulkhead.maxConcurrent;
+            admitted += bulkhead.maxConcurrent + bulkhead.maxWaiting;
+
+            Gauge.builder("students.bulkhead.active", bulkhead, Bulkhead::active)
+                    .tag("workload", name).register(meterRegistry);
+            Gauge.builder("students.bulkhead.waiting", bulkhead, b -> b.waiting.get())
+                    .tag("workload", name).register(meterRegistry);
+            Gauge.builder("students.bulkhead.limit", bulkhead, b -> b.maxConcurrent)
+                    .tag("workload", name).register(meterRegistry);
+            bulkhead.rejected = Counter.builder("students.bulkhead.rejected")
+                    .tag("workload", name).register(meterRegistry);
+        }
+
+        if ("reactive".equals(environment.getProperty("spring.main.web-application-type"))) {
+            // No perfil reativo as leituras vão pelo R2DBC e não passam pelos compartimentos
+            return;
+        }
+        if (connections > budget) {
+            log.warn("Compartimentos somam {} conexões, mas o pool deixa {} para requisições; o excedente espera no pool",
+                    connections, Math.max(0, budget));
+        }
+        // Quem espera na fila de um compartimento segura uma thread do Tomcat
+        int requestThreads = environment.getProperty("server.tomcat.threads.max", Integer.class, 200);
+        if (!environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false) && admitted > requestThreads) {
+            log.warn("Compartimentos admitem {} requisições entre execução e fila, acima das {} threads do Tomcat",
+                    admitted, requestThreads);
+        }
+    }
+
+    /**
+     * Executa o trabalho dentro do compartimento; saturado, lança ServiceOverloadedException
+     */
+    @Override
+    public <T> T call(Workload workload, Supplier<T> work) {
+        if (!tryAcquire(workload)) {
+            throw new ServiceOverloadedException("Serviço ocupado no momento; tente novamente em instantes");
+        }
+        try {
+            return work.get();
+        } finally {
+            release(workload);
+        }
+    }
+
+    /**
+     * Limite de trabalho simultâneo do compartimento (configurado ou derivado dos pools)
+     */
+    public int limit(Workload workload) {
+        return bulkheads.get(workload).maxConcurrent;
+    }
+
+    /**
+     * Reserva uma vaga no compartimento, esperando na fila se houver lugar; false se está saturado
+     */
+    public boolean tryAcquire(Workload workload) {
+        return bulkheads.get(workload).tryAcquire();
+    }
+
+    public void release(Workload workload) {
+        bulkheads.get(workload).permits.release();
+    }
+
+    /**
+     * Threads do pool do BCrypt, com o mesmo padrão do adaptador: 0 usa metade dos processadores
+     */
+    private static int bcryptThreads(Environment environment) {
+        int poolSize = environment.getProperty("security.bcrypt.pool-size", Integer.class, 0);
+        return poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    private static final class Bulkhead {
+        private final int maxConcurrent;
+        private final int maxWaiting;
+        private final long maxWaitNanos;
+        private final Semaphore permits;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private Counter rejected;
+
+        private Bulkhead(int maxConcurrent, int maxWaiting, Duration maxWait) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaiting = maxWaiting;
+            this.maxWaitNanos = maxWait.toNanos();
+            this.permits = new Semaphore(maxConcurrent);
+        }
+
+        boolean tryAcquire() {
+            if (permits.tryAcquire()) {
+                return true;
+            }
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                rejected.increment();
+                return false;
+            }
+            try {
+                if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                    return true;
+                }
+                rejected.increment();
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        double active() {
+            return maxConcurrent - permits.availablePermits();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package start.students.adapters.inbound.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Servidor da pilha reativa: Netty com um número fixo de threads de event loop
+ * Sem este bean o Boot escolheria o Tomcat, que também está no classpath por causa da pilha servlet
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory reactiveWebServerFactory(
+            @Value("${students.reactive.event-loop-threads:0}") int eventLoopThreads) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        if (eventLoopThreads > 0) {
+            LoopResources loops = LoopResources.create("students-http", eventLoopThreads, true);
+            factory.addServerCustomizers(server -> server.runOn(loops));
+        }
+        return factory;
+    }
+}
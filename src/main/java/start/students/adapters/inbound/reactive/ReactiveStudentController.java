@@ -0,0 +1,61 @@
+package start.students.adapters.inbound.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import start.students.adapters.inbound.http.ApiResponse;
+import start.students.core.application.dtos.StudentCursorPagedOutputDTO;
+import start.students.core.application.dtos.StudentOutputDTO;
+import start.students.core.application.dtos.StudentPagedOutputDTO;
+import start.students.core.application.usecases.ReactiveStudentQueryUseCase;
+import start.students.core.domain.exceptions.DomainException;
+
+/**
+ * Endpoints de leitura de alunos em WebFlux (perfil reactive), com os mesmos caminhos e respostas do StudentController
+ */
+@RestController
+@RequestMapping("/api/students")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveStudentController {
+
+    private final ReactiveStudentQueryUseCase studentQueryUseCase;
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<StudentOutputDTO>>> getDetail(@PathVariable String id) {
+        return studentQueryUseCase.detail(id)
+                .map(result -> ResponseEntity.ok(ApiResponse.success("Aluno encontrado", result)))
+                .onErrorResume(DomainException.class, ReactiveStudentController::badRequest);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<StudentPagedOutputDTO>>> list(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "name") String searchType,
+            @RequestParam(defaultValue = "exact") String count) {
+        return studentQueryUseCase.list(page, size, search, searchType, count)
+                .map(result -> ResponseEntity.ok(ApiResponse.success("Alunos listados", result)))
+                .onErrorResume(DomainException.class, ReactiveStudentController::badRequest);
+    }
+
+    @GetMapping(params = "mode=cursor")
+    public Mono<ResponseEntity<ApiResponse<StudentCursorPagedOutputDTO>>> listByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+        return studentQueryUseCase.listAfter(after, size)
+                .map(result -> ResponseEntity.ok(ApiResponse.success("Alunos listados", result)))
+                .onErrorResume(DomainException.class, ReactiveStudentController::badRequest);
+    }
+
+    private static <T> Mono<ResponseEntity<ApiResponse<T>>> badRequest(DomainException e) {
+        return Mono.just(ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage())));
+    }
+}
@@ -0,0 +1,117 @@
+package start.students.adapters.inbound.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket por cliente (usuário do JWT ou IP), com orçamentos separados para leitura, escrita e exportação
+ * Cada balde é um único AtomicLong com o "instante teórico de chegada" (GCRA, equivalente ao token bucket):
+ * consumir um token é avançar esse instante em 1/taxa por CAS, sem lock e sem alocação por requisição
+ * Um balde cujo instante já passou está cheio e pode ser descartado sem mudar o comportamento
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class ClientRateLimiter {
+
+    public enum Budget {
+        READ,
+        WRITE,
+        EXPORT
+    }
+
+    private final ConcurrentMap<String, AtomicLong>[] buckets;
+    private final long[] intervalNanos;
+    private final long[] burstNanos;
+    private final boolean enabled;
+    private final long origin = System.nanoTime();
+
+    @SuppressWarnings("unchecked")
+    public ClientRateLimiter(@Value("${security.rate-limit.enabled:true}") boolean enabled,
+                             @Value("${security.rate-limit.read.capacity:200}") int readCapacity,
+                             @Value("${security.rate-limit.read.refill-per-second:100}") double readRefill,
+                             @Value("${security.rate-limit.write.capacity:50}") int writeCapacity,
+                             @Value("${security.rate-limit.write.refill-per-second:20}") double writeRefill,
+                             @Value("${security.rate-limit.export.capacity:2}") int exportCapacity,
+                             @Value("${security.rate-limit.export.refill-per-second:0.05}") double exportRefill) {
+        this.enabled = enabled;
+        int budgets = Budget.values().length;
+        this.buckets = new ConcurrentMap[budgets];
+        this.intervalNanos = new long[budgets];
+        this.burstNanos = new long[budgets];
+        configure(Budget.READ, readCapacity, readRefill);
+        configure(Budget.WRITE, writeCapacity, writeRefill);
+        configure(Budget.EXPORT, exportCapacity, exportRefill);
+    }
+
+    /**
+     * Consome um token do balde do cliente; 0 se liberado, senão os nanos até o próximo token
+     */
+    public long tryAcquire(Budget budget, String client) {
+        if (!enabled) {
+            return 0;
+        }
+        int i = budget.ordinal();
+        ConcurrentMap<String, AtomicLong> table = buckets[i];
+        AtomicLong bucket = table.get(client);
+        if (bucket == null) {
+            // Zero equivale a um balde cheio
+            bucket = table.computeIfAbsent(client, k -> new AtomicLong());
+        }
+        long now = System.nanoTime() - origin;
+
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + intervalNanos[i];
+            long wait = next - now - burstNanos[i];
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Segundos (arredondados para cima) para o cabeçalho Retry-After
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Remove baldes já cheios de novo: recriá-los depois dá o mesmo resultado
+     */
+    @Scheduled(fixedDelayString = "${security.rate-limit.eviction-interval:PT1M}")
+    public void evictIdle() {
+        long now = System.nanoTime() - origin;
+        int evicted = 0;
+        for (ConcurrentMap<String, AtomicLong> table : buckets) {
+            int before = table.size();
+            table.values().removeIf(bucket -> bucket.get() <= now);
+            evicted += before - table.size();
+        }
+        if (evicted > 0) {
+            log.debug("Baldes de rate limit ociosos removidos: {}", evicted);
+        }
+    }
+
+    private void configure(Budget budget, int capacity, double refillPerSecond) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit inválido para " + budget + ": capacidade e taxa devem ser positivas");
+        }
+        int i = budget.ordinal();
+        buckets[i] = new ConcurrentHashMap<>();
+        intervalNanos[i] = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        burstNanos[i] = intervalNanos[i] * capacity;
+    }
+}
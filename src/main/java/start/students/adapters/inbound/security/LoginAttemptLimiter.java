@@ -0,0 +1,173 @@
+package start.students.adapters.inbound.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limita tentativas de login por usuário + IP e falhas de login por IP, antes de qualquer consulta ou BCrypt
+ * Por IP contam só as falhas: muitos usuários legítimos atrás do mesmo NAT/proxy não se bloqueiam entre si
+ * Usa janela deslizante aproximada (janela atual + anterior ponderada), com o estado de cada
+ * chave em um único AtomicLong atualizado por CAS; o ConcurrentHashMap distribui as chaves
+ * em bins independentes, então tentativas de chaves diferentes não disputam o mesmo lock
+ */
+@Slf4j
+@Component
+public class LoginAttemptLimiter {
+
+    private static final long COUNT_MASK = 0xFFFFL;
+
+    private final ConcurrentMap<String, AtomicLong> windows = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final long windowMillis;
+    private final int maxPerUser;
+    private final int maxFailuresPerIp;
+
+    @Autowired
+    public LoginAttemptLimiter(@Value("${security.login-limiter.window:PT1M}") Duration window,
+                               @Value("${security.login-limiter.max-attempts-per-user:5}") int maxPerUser,
+                               @Value("${security.login-limiter.max-failures-per-ip:100}") int maxFailuresPerIp) {
+        this(Clock.systemUTC(), window, maxPerUser, maxFailuresPerIp);
+    }
+
+    LoginAttemptLimiter(Clock clock, Duration window, int maxPerUser, int maxFailuresPerIp) {
+        this.clock = clock;
+        this.windowMillis = window.toMillis();
+        this.maxPerUser = maxPerUser;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+    }
+
+    /**
+     * Registra a tentativa do usuário; retorna 0 se ela pode seguir, ou a espera em milissegundos
+     * até o usuário (ou as falhas do IP) voltar a caber na janela
+     * O limite por IP só é conferido aqui: as falhas entram depois, por recordFailure
+     */
+    public long tryAcquire(String username, String clientIp) {
+        long now = clock.millis();
+        AtomicLong ipState = windows.get(ipKey(clientIp));
+        long ipWait = ipState == null ? 0 : attempt(ipState, maxFailuresPerIp, now, false);
+        if (ipWait > 0) {
+            log.warn("Limite de falhas de login atingido para o IP {}", clientIp);
+            return ipWait;
+        }
+        long userWait = attempt(windows.computeIfAbsent(userKey(username, clientIp), k -> new AtomicLong()),
+                maxPerUser, now, true);
+        if (userWait > 0) {
+            log.warn("Limite de tentativas de login atingido para {} a partir de {}", username, clientIp);
+        }
+        return userWait;
+    }
+
+    /**
+     * Conta uma falha de login contra o IP
+     */
+    public void recordFailure(String clientIp) {
+        attempt(windows.computeIfAbsent(ipKey(clientIp), k -> new AtomicLong()), Integer.MAX_VALUE, clock.millis(), true);
+    }
+
+    /**
+     * Login bem-sucedido zera as tentativas do usuário naquele IP
+     */
+    public void reset(String username, String clientIp) {
+        windows.remove(userKey(username, clientIp));
+    }
+
+    /**
+     * Segundos (arredondados para cima) para o cabeçalho Retry-After
+     */
+    public static long retryAfterSeconds(long waitMillis) {
+        return Math.max(1, (waitMillis + 999) / 1000);
+    }
+
+    /**
+     * Remove chaves cujas janelas (atual e anterior) já expiraram
+     */
+    @Scheduled(fixedDelayString = "${security.login-limiter.window:PT1M}")
+    public void evictExpired() {
+        long currentWindow = clock.millis() / windowMillis;
+        int before = windows.size();
+        windows.entrySet().removeIf(entry -> windowOf(entry.getValue().get()) < currentWindow - 1);
+        int evicted = before - windows.size();
+        if (evicted > 0) {
+            log.debug("Janelas de login expiradas removidas: {}", evicted);
+        }
+    }
+
+    int trackedKeys() {
+        return windows.size();
+    }
+
+    /**
+     * Estado empacotado em um long: índice da janela (32 bits) | contagem anterior (16) | atual (16)
+     * Retorna 0 se a contagem ponderada está abaixo do limite (e, com record, conta a tentativa)
+     */
+    private long attempt(AtomicLong state, int limit, long now, boolean record) {
+        long window = now / windowMillis;
+        long elapsed = now % windowMillis;
+        double previousWeight = 1.0 - (double) elapsed / windowMillis;
+
+        while (true) {
+            long current = state.get();
+            long stateWindow = windowOf(current);
+            long previous;
+            long count;
+            if (stateWindow == window) {
+                previous = (current >>> 16) & COUNT_MASK;
+                count = current & COUNT_MASK;
+            } else if (stateWindow == window - 1) {
+                previous = current & COUNT_MASK;
+                count = 0;
+            } else {
+                previous = 0;
+                count = 0;
+            }
+
+            if (previous * previousWeight + count >= limit) {
+                return waitMillis(previous, count, limit, elapsed);
+            }
+            if (!record) {
+                return 0;
+            }
+            long next = (window << 32) | (previous << 16) | Math.min(count + 1, COUNT_MASK);
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Espera até a contagem ponderada ficar abaixo do limite
+     * Se a janela atual sozinha não atingiu o limite, basta o peso da anterior cair o suficiente;
+     * senão é preciso chegar à próxima janela, onde a atual vira a anterior e vai perdendo peso
+     */
+    private long waitMillis(long previous, long count, int limit, long elapsed) {
+        if (count < limit) {
+            long until = (long) Math.floor(windowMillis * (1.0 - (double) (limit - count) / previous));
+            return Math.max(1, until - elapsed + 1);
+        }
+        long intoNext = (long) Math.floor(windowMillis * (1.0 - (double) limit / count));
+        return windowMillis - elapsed + intoNext + 1;
+    }
+
+    private static long windowOf(long state) {
+        return state >>> 32;
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+
+    private static String userKey(String username, String clientIp) {
+        String normalized = username == null ? "" : username.toLowerCase(Locale.ROOT);
+        return "user:" + normalized + "|" + clientIp;
+    }
+}
@@ -0,0 +1,19 @@
+package start.students.adapters.inbound.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Encoder de senhas compartilhado pelas pilhas servlet e reativa
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.cost:10}") int cost) {
+        return new BCryptPasswordEncoder(cost);
+    }
+}
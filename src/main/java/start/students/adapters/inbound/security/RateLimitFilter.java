@@ -0,0 +1,75 @@
+package start.students.adapters.inbound.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import start.students.adapters.inbound.http.ApiResponse;
+
+import java.io.IOException;
+
+/**
+ * Aplica o ClientRateLimiter às rotas de alunos, logo após a autenticação por JWT
+ * Não é um bean, para o Spring Boot não registrá-lo de novo como filtro do servlet (contaria em dobro)
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String STUDENTS_PATH = "/api/students";
+    private static final String EXPORT_PATH = STUDENTS_PATH + "/export";
+
+    private final ClientRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equals(request.getMethod()) || !request.getRequestURI().startsWith(STUDENTS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long waitNanos = rateLimiter.tryAcquire(budgetOf(request), clientOf(request));
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ClientRateLimiter.retryAfterSeconds(waitNanos)));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    ApiResponse.error("Limite de requisições atingido; aguarde antes de tentar novamente"));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static ClientRateLimiter.Budget budgetOf(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith(EXPORT_PATH)) {
+            return ClientRateLimiter.Budget.EXPORT;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method)
+                ? ClientRateLimiter.Budget.READ
+                : ClientRateLimiter.Budget.WRITE;
+    }
+
+    /**
+     * Usuário do JWT já validado; chamadas sem token são agrupadas por IP
+     */
+    private static String clientOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -1,34 +1,35 @@
 package start.students.adapters.inbound.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import start.students.adapters.inbound.http.BulkheadFilter;
+import start.students.adapters.inbound.http.WorkloadBulkheads;
 
 import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    private final ClientRateLimiter clientRateLimiter;
+    private final WorkloadBulkheads workloadBulkheads;
+    private final ObjectMapper objectMapper;
 
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
@@ -41,6 +42,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:4200", "http://localhost:3000"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // Permite ao front ler os validadores das requisições condicionais e a espera após um 429
+        configuration.setExposedHeaders(Arrays.asList("ETag", "Last-Modified", "Retry-After"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
@@ -61,7 +64,11 @@ public class SecurityConfig {
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // Depois do JWT, para a cota ser do usuário autenticado (ou do IP, sem token)
+            .addFilterAfter(new RateLimitFilter(clientRateLimiter, objectMapper), JwtAuthenticationFilter.class)
+            // Cliente dentro da cota ocupa uma vaga do compartimento da sua carga até a resposta terminar
+            .addFilterAfter(new BulkheadFilter(workloadBulkheads, objectMapper), RateLimitFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,99 @@
+package start.students.adapters.outbound.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import start.students.core.domain.entities.Student;
+import start.students.core.ports.StudentChangeListener;
+import start.students.core.ports.StudentDetailCachePort;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache local do detalhe do aluno (com a foto), limitado pelo tamanho estimado em bytes
+ * A remoção do Caffeine (W-TinyLFU) considera a frequência de acesso, então fotos grandes
+ * e pouco lidas saem antes dos alunos consultados com frequência
+ * Escritas deste nó invalidam a entrada após o commit; as de outros nós são detectadas na leitura,
+ * que compara a versão em cache com a gravada (GetStudentDetailUseCase)
+ */
+@Slf4j
+@Component
+public class CaffeineStudentDetailCache implements StudentDetailCachePort, StudentChangeListener {
+
+    // Cabeçalhos de objeto, datas e referências de um Student, fora o conteúdo das strings
+    private static final int BASE_WEIGHT = 256;
+
+    private final boolean enabled;
+    private final AsyncCache<String, Student> cache;
+
+    public CaffeineStudentDetailCache(@Value("${students.cache.detail.enabled:true}") boolean enabled,
+                                      @Value("${students.cache.detail.max-bytes:67108864}") long maxBytes,
+                                      @Value("${students.cache.detail.expire-after-write:5m}") Duration expireAfterWrite,
+                                      MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String id, Student student) -> weightOf(student))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        // Expõe hits, misses, evictions e peso em /actuator/metrics (cache=students.detail)
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "students.detail");
+    }
+
+    @Override
+    public Optional<Student> get(String id, Function<String, Optional<Student>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        // Um carregamento por chave; uma invalidação concorrente remove o future e o valor carregado não fica em cache
+        return Optional.ofNullable(CallerRunsLoader.get(cache, id, key -> loader.apply(key).orElse(null)));
+    }
+
+    @Override
+    public Optional<Student> getIfPresent(String id) {
+        return enabled ? Optional.ofNullable(CallerRunsLoader.getIfLoaded(cache, id)) : Optional.empty();
+    }
+
+    @Override
+    public void invalidate(String id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    @Override
+    public void onStudentSaved(Student student) {
+        cache.synchronous().invalidate(student.getId());
+    }
+
+    @Override
+    public void onStudentDeleted(String id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    /**
+     * Peso aproximado em bytes; a foto (base64) domina o tamanho da entrada
+     */
+    private static int weightOf(Student student) {
+        long weight = BASE_WEIGHT
+                + length(student.getId())
+                + length(student.getMatricula())
+                + length(student.getName())
+                + length(student.getCpf())
+                + length(student.getEmail())
+                + length(student.getPhone())
+                + length(student.getPhoto())
+                + length(student.getPhotoRef())
+                + length(student.getStatus());
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,67 @@
+package start.students.adapters.outbound.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import start.students.core.domain.valueobjects.StudentListQuery;
+import start.students.core.domain.valueobjects.StudentSummaryPage;
+import start.students.core.ports.StudentListCachePort;
+import start.students.core.ports.StudentWriteVersionPort;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache local das primeiras páginas da listagem e das buscas
+ * A chave inclui a versão de escrita da tabela: qualquer escrita confirmada muda a versão e
+ * invalida todas as entradas de uma vez, sem percorrê-las; as de versões antigas nunca mais
+ * são lidas e saem pelo limite de tamanho ou pela expiração
+ */
+@Component
+public class CaffeineStudentListCache implements StudentListCachePort {
+
+    private final boolean enabled;
+    private final int maxPage;
+    private final StudentWriteVersionPort writeVersion;
+    private final AsyncCache<VersionedQuery, StudentSummaryPage> cache;
+
+    public CaffeineStudentListCache(@Value("${students.cache.list.enabled:true}") boolean enabled,
+                                    @Value("${students.cache.list.max-page:0}") int maxPage,
+                                    @Value("${students.cache.list.max-entries:1000}") long maxEntries,
+                                    @Value("${students.cache.list.expire-after-write:1m}") Duration expireAfterWrite,
+                                    StudentWriteVersionPort writeVersion,
+                                    MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxPage = maxPage;
+        this.writeVersion = writeVersion;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        // Expõe hits, misses e evictions em /actuator/metrics (cache=students.list)
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "students.list");
+    }
+
+    @Override
+    public StudentSummaryPage get(StudentListQuery query, Function<StudentListQuery, StudentSummaryPage> loader) {
+        if (!enabled || query.getPage() > maxPage) {
+            return loader.apply(query);
+        }
+        // Lida antes da consulta: uma escrita concorrente deixa a entrada sob a versão antiga, nunca a nova
+        VersionedQuery key = new VersionedQuery(writeVersion.current(), query);
+        return CallerRunsLoader.get(cache, key, k -> loader.apply(k.query));
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class VersionedQuery {
+        private final String version;
+        private final StudentListQuery query;
+    }
+}
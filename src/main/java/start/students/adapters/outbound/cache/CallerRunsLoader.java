@@ -0,0 +1,53 @@
+package start.students.adapters.outbound.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Carregamento de AsyncCache executado na própria thread chamadora
+ * O Cache.get síncrono roda o loader dentro do compute do ConcurrentHashMap (bloco synchronized),
+ * o que prende a thread portadora de uma virtual thread durante a consulta ao banco; aqui o
+ * compute só instala um future vazio e a consulta roda fora de qualquer lock
+ * Chamadas concorrentes para a mesma chave esperam o mesmo future; valores nulos e falhas não ficam em cache
+ * Qualquer falha do loader (inclusive Error) completa o future, para não deixar quem espera preso nele
+ */
+final class CallerRunsLoader {
+
+    private CallerRunsLoader() {
+    }
+
+    static <K, V> V get(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> loading);
+        if (future == loading) {
+            try {
+                loading.complete(loader.apply(key));
+            } catch (Throwable e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Valor já carregado, sem esperar carregamentos em andamento
+     */
+    static <K, V> V getIfLoaded(AsyncCache<K, V> cache, K key) {
+        CompletableFuture<V> future = cache.getIfPresent(key);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.getNow(null);
+    }
+}
@@ -0,0 +1,81 @@
+package start.students.adapters.outbound.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+import start.students.core.domain.entities.Student;
+import start.students.core.ports.StudentChangeListener;
+import start.students.core.ports.StudentWriteVersionPort;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão de escrita da tabela de alunos, lida do banco: maiores updated_at e deleted_at, inclusive tombstones
+ * Escritas de qualquer nó mudam a versão assim que confirmadas; o valor lido é reaproveitado por
+ * students.cache.list.version-ttl (uma consulta por intervalo, não por requisição), e as escritas deste nó
+ * o descartam após o commit
+ * Depende dos relógios dos nós alinhados: uma escrita com updated_at anterior ao maior já gravado não muda a versão
+ */
+@Component
+public class StudentWriteVersion implements StudentWriteVersionPort, StudentChangeListener {
+
+    private final StudentJpaRepository repository;
+    private final Clock clock;
+    private final long ttlMillis;
+
+    // Incrementado a cada escrita deste nó: uma leitura que cruzou uma escrita não é reaproveitada
+    private final AtomicLong localWrites = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public StudentWriteVersion(StudentJpaRepository repository,
+                               @Value("${students.cache.list.version-ttl:PT1S}") Duration ttl) {
+        this(repository, Clock.systemUTC(), ttl);
+    }
+
+    StudentWriteVersion(StudentJpaRepository repository, Clock clock, Duration ttl) {
+        this.repository = repository;
+        this.clock = clock;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    @Override
+    public String current() {
+        Snapshot current = snapshot;
+        long now = clock.millis();
+        long writes = localWrites.get();
+        if (current != null && current.localWrites == writes && now - current.readAt < ttlMillis) {
+            return current.version;
+        }
+        String version = repository.findWriteMark();
+        if (localWrites.get() == writes) {
+            snapshot = new Snapshot(version, now, writes);
+        }
+        return version;
+    }
+
+    @Override
+    public void onStudentSaved(Student student) {
+        localWrites.incrementAndGet();
+    }
+
+    @Override
+    public void onStudentDeleted(String id) {
+        localWrites.incrementAndGet();
+    }
+
+    private static final class Snapshot {
+        private final String version;
+        private final long readAt;
+        private final long localWrites;
+
+        private Snapshot(String version, long readAt, long localWrites) {
+            this.version = version;
+            this.readAt = readAt;
+            this.localWrites = localWrites;
+        }
+    }
+}
@@ -1,59 +1,130 @@
 package start.students.adapters.outbound.external;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import start.students.core.domain.exceptions.DomainException;
+import start.students.core.domain.valueobjects.VerifiedToken;
 import start.students.core.ports.JwtTokenPort;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 
+/**
+ * Gera e verifica tokens JWT (HS256)
+ * A chave e o parser são montados uma vez; tokens já verificados ficam em um cache
+ * limitado, indexado pelo SHA-256 do token e removido no instante em que o token expira
+ */
 @Component
 public class JwtTokenAdapter implements JwtTokenPort {
 
-    @Value("${jwt.secret:mySecretKey123456789012345678901234567890}")
-    private String secretKey;
+    private final Clock clock;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expiration;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
-    @Value("${jwt.expiration:86400000}")
-    private Long expiration;
+    @Autowired
+    public JwtTokenAdapter(@Value("${jwt.secret:mySecretKey123456789012345678901234567890}") String secretKey,
+                           @Value("${jwt.expiration:86400000}") long expiration,
+                           @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheSize,
+                           MeterRegistry meterRegistry) {
+        this(secretKey, expiration, verifiedCacheSize, meterRegistry, Clock.systemUTC());
+    }
+
+    JwtTokenAdapter(String secretKey, long expiration, long verifiedCacheSize, MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        // JwtParser é imutável e seguro para uso concorrente
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+        this.expiration = expiration;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+                        return Math.max(0, token.getExpiresAt().toEpochMilli() - clock.millis()) * 1_000_000L;
+                    }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+                    @Override
+                    public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "auth.verified-tokens");
     }
 
     @Override
     public String generateToken(String username) {
+        long now = clock.millis();
         return Jwts.builder()
                 .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     @Override
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    @Override
-    public boolean isTokenValid(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
-    }
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            // A remoção do cache pode atrasar alguns instantes em relação à expiração
+            return cached.getExpiresAt().isAfter(clock.instant()) ? Optional.of(cached) : Optional.empty();
+        }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        VerifiedToken verified;
+        try {
+            // parseClaimsJws confere assinatura e expiração em uma única passada
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            verified = new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        verifiedTokens.put(digest, verified);
+        return Optional.of(verified);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new DomainException("SHA-256 indisponível", e);
+        }
     }
 }
@@ -0,0 +1,157 @@
+package start.students.adapters.outbound.persistence.adapters;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import start.students.adapters.outbound.persistence.entities.MatriculaSequenceJpaEntity;
+import start.students.adapters.outbound.repositories.MatriculaSequenceJpaRepository;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+import start.students.core.domain.exceptions.DomainException;
+import start.students.core.ports.MatriculaGeneratorPort;
+
+import java.time.Clock;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gera matrículas no formato YYYY + sequência (ex: 202600001) usando alocação em blocos (hi/lo)
+ * Cada nó reserva um intervalo na tabela matricula_sequences e distribui os números
+ * com um contador atômico, indo ao banco apenas quando o bloco se esgota ou o ano vira
+ */
+@Slf4j
+@Component
+public class MatriculaSequenceAdapter implements MatriculaGeneratorPort {
+
+    private static final long MAX_SEQUENCE_PER_YEAR = 99_999L;
+
+    private final MatriculaSequenceJpaRepository sequenceRepository;
+    private final StudentJpaRepository studentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int blockSize;
+
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile Block block;
+
+    @Autowired
+    public MatriculaSequenceAdapter(MatriculaSequenceJpaRepository sequenceRepository,
+                                    StudentJpaRepository studentRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${students.matricula.block-size:50}") int blockSize) {
+        this(sequenceRepository, studentRepository, transactionManager, Clock.systemDefaultZone(), blockSize);
+    }
+
+    MatriculaSequenceAdapter(MatriculaSequenceJpaRepository sequenceRepository,
+                             StudentJpaRepository studentRepository,
+                             PlatformTransactionManager transactionManager,
+                             Clock clock,
+                             int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("students.matricula.block-size deve ser positivo");
+        }
+        this.sequenceRepository = sequenceRepository;
+        this.studentRepository = studentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A reserva precisa ser confirmada mesmo que a transação do chamador seja desfeita
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public String nextMatricula() {
+        int year = Year.now(clock).getValue();
+        while (true) {
+            Block current = block;
+            // Um bloco de ano posterior continua válido para threads que leram o relógio antes da virada
+            if (current != null && current.year >= year) {
+                long sequence = current.next.getAndIncrement();
+                if (sequence < current.limit) {
+                    return String.format("%d%05d", current.year, sequence);
+                }
+            }
+            refill(year, current);
+        }
+    }
+
+    @Override
+    public List<String> nextMatriculas(int count) {
+        if (count < 1) {
+            return List.of();
+        }
+        int year = Year.now(clock).getValue();
+        // Reserva dedicada ao lote, sem consumir o bloco compartilhado das criações unitárias
+        long first = reserveBlock(year, count);
+        if (first + count - 1 > MAX_SEQUENCE_PER_YEAR) {
+            throw new DomainException("Limite de matrículas do ano " + year + " atingido");
+        }
+        List<String> matriculas = new ArrayList<>(count);
+        for (long sequence = first; sequence < first + count; sequence++) {
+            matriculas.add(String.format("%d%05d", year, sequence));
+        }
+        return matriculas;
+    }
+
+    private void refill(int year, Block exhausted) {
+        refillLock.lock();
+        try {
+            if (block != exhausted) {
+                // Outra thread já reservou um novo bloco
+                return;
+            }
+            long first = reserveBlock(year, blockSize);
+            if (first > MAX_SEQUENCE_PER_YEAR) {
+                throw new DomainException("Limite de matrículas do ano " + year + " atingido");
+            }
+            block = new Block(year, first, Math.min(first + blockSize, MAX_SEQUENCE_PER_YEAR + 1));
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    /**
+     * Reserva [first, first + size) para o ano, com lock de linha na sequência
+     */
+    private long reserveBlock(int year, int size) {
+        Long first = transactionTemplate.execute(status -> {
+            MatriculaSequenceJpaEntity sequence = sequenceRepository.findForUpdate(year)
+                    .orElseGet(() -> {
+                        sequenceRepository.insertIfAbsent(year, initialSequence(year));
+                        return sequenceRepository.findForUpdate(year)
+                                .orElseThrow(() -> new IllegalStateException("Sequência de matrícula ausente para " + year));
+                    });
+            long reserved = sequence.getNextValue();
+            sequence.setNextValue(reserved + size);
+            return reserved;
+        });
+        log.debug("Bloco de matrículas reservado para {}: {} a {}", year, first, first + size - 1);
+        return first;
+    }
+
+    /**
+     * Primeira sequência do ano, continuando após matrículas já existentes (executado uma vez por ano)
+     */
+    private long initialSequence(int year) {
+        String maxMatricula = studentRepository.findMaxMatriculaWithPrefix(year + "%");
+        return maxMatricula == null ? 1 : Long.parseLong(maxMatricula.substring(4)) + 1;
+    }
+
+    private static final class Block {
+        private final int year;
+        private final AtomicLong next;
+        private final long limit;
+
+        private Block(int year, long first, long limit) {
+            this.year = year;
+            this.next = new AtomicLong(first);
+            this.limit = limit;
+        }
+    }
+}
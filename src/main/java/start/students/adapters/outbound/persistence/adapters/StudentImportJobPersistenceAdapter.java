@@ -0,0 +1,120 @@
+package start.students.adapters.outbound.persistence.adapters;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import start.students.adapters.outbound.persistence.entities.StudentImportErrorJpaEntity;
+import start.students.adapters.outbound.persistence.entities.StudentImportJobJpaEntity;
+import start.students.adapters.outbound.repositories.StudentImportErrorJpaRepository;
+import start.students.adapters.outbound.repositories.StudentImportJobJpaRepository;
+import start.students.core.domain.entities.StudentImportError;
+import start.students.core.domain.entities.StudentImportJob;
+import start.students.core.domain.valueobjects.StudentImportStatus;
+import start.students.core.ports.StudentImportJobRepositoryPort;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class StudentImportJobPersistenceAdapter implements StudentImportJobRepositoryPort {
+
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    private final StudentImportJobJpaRepository jobRepository;
+    private final StudentImportErrorJpaRepository errorRepository;
+
+    @Override
+    public StudentImportJob save(StudentImportJob job) {
+        // O flush incrementa a versão antes da conversão: a cópia devolvida serve para a próxima gravação
+        return toDomain(jobRepository.saveAndFlush(toEntity(job)));
+    }
+
+    @Override
+    public Optional<StudentImportJob> findById(String id) {
+        return jobRepository.findById(id).map(this::toDomain);
+    }
+
+    @Override
+    public List<StudentImportJob> findByStatusIn(Collection<StudentImportStatus> statuses) {
+        return jobRepository.findByStatusInOrderByCreatedAt(statuses).stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean claim(String id, String owner, Duration lease) {
+        return jobRepository.claim(id, owner, lease.toSeconds()) == 1;
+    }
+
+    @Override
+    public boolean renewLease(String id, String owner, Duration lease) {
+        return jobRepository.renewLease(id, owner, lease.toSeconds()) == 1;
+    }
+
+    @Override
+    public boolean requeue(String id) {
+        return jobRepository.requeue(id) == 1;
+    }
+
+    @Override
+    public void saveErrors(String jobId, List<StudentImportError> errors) {
+        errorRepository.saveAll(errors.stream()
+                .map(error -> new StudentImportErrorJpaEntity(null, jobId, error.getRow(), truncate(error.getMessage())))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<StudentImportError> findErrors(String jobId, int limit) {
+        return errorRepository.findByJobIdOrderByRowNumber(jobId, PageRequest.of(0, limit)).stream()
+                .map(entity -> new StudentImportError(entity.getRowNumber(), entity.getMessage()))
+                .collect(Collectors.toList());
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= MAX_MESSAGE_LENGTH
+                ? message
+                : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    private StudentImportJobJpaEntity toEntity(StudentImportJob job) {
+        return new StudentImportJobJpaEntity(
+                job.getId(),
+                job.getFileReference(),
+                job.getFileSize(),
+                job.getStatus(),
+                job.getCommittedOffset(),
+                job.getProcessedRows(),
+                job.getCreatedRows(),
+                job.getFailedRows(),
+                truncate(job.getMessage()),
+                job.getCreatedAt(),
+                job.getUpdatedAt(),
+                job.getOwner(),
+                job.getLeaseUntil(),
+                job.getVersion()
+        );
+    }
+
+    private StudentImportJob toDomain(StudentImportJobJpaEntity entity) {
+        return new StudentImportJob(
+                entity.getId(),
+                entity.getFileReference(),
+                entity.getFileSize(),
+                entity.getStatus(),
+                entity.getCommittedOffset(),
+                entity.getProcessedRows(),
+                entity.getCreatedRows(),
+                entity.getFailedRows(),
+                entity.getMessage(),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt(),
+                entity.getOwner(),
+                entity.getLeaseUntil(),
+                entity.getVersion()
+        );
+    }
+}
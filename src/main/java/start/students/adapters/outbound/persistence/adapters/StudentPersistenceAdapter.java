@@ -1,72 +1,259 @@
 package start.students.adapters.outbound.persistence.adapters;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import start.students.adapters.outbound.persistence.entities.StudentJpaEntity;
+import start.students.adapters.outbound.persistence.index.StudentCounter;
+import start.students.adapters.outbound.persistence.index.StudentKeyFilter;
+import start.students.adapters.outbound.persistence.index.StudentSearchIndex;
 import start.students.adapters.outbound.repositories.StudentJpaRepository;
+import start.students.adapters.outbound.repositories.StudentUniqueKeyRow;
 import start.students.core.domain.entities.Student;
+import start.students.core.domain.entities.StudentSummary;
+import start.students.core.domain.exceptions.StudentVersionConflictException;
+import start.students.core.domain.valueobjects.StudentChanges;
+import start.students.core.domain.valueobjects.StudentConflicts;
+import start.students.core.domain.valueobjects.StudentCountMode;
+import start.students.core.domain.valueobjects.StudentCursor;
+import start.students.core.domain.valueobjects.StudentSearchField;
+import start.students.core.domain.valueobjects.StudentSummaryPage;
+import start.students.core.domain.valueobjects.StudentUniqueField;
+import start.students.core.domain.valueobjects.StudentUpdatableField;
+import start.students.core.domain.valueobjects.StudentVersion;
+import start.students.core.ports.StudentChangeListener;
 import start.students.core.ports.StudentRepositoryPort;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class StudentPersistenceAdapter implements StudentRepositoryPort {
 
     private final StudentJpaRepository repository;
+    private final StudentSearchIndex searchIndex;
+    private final StudentKeyFilter keyFilter;
+    private final StudentCounter studentCounter;
+    private final List<StudentChangeListener> changeListeners;
+
+    private static final String UPDATE_RETURNING =
+            " RETURNING id, matricula, name, cpf, email, phone, photo_ref, status, created_at, updated_at, version, deleted_at";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int jdbcBatchSize;
+
+    @Value("${students.count.estimate-cap:1000}")
+    private long estimateCap;
 
     @Override
     public Student save(Student student) {
         StudentJpaEntity entity = toEntity(student);
         StudentJpaEntity savedEntity = repository.save(entity);
-        return toDomain(savedEntity);
+        Student saved = toDomain(savedEntity);
+        afterCommit(() -> changeListeners.forEach(listener -> listener.onStudentSaved(saved)));
+        return saved;
     }
 
     @Override
-    public Optional<Student> findById(String id) {
-        return repository.findById(id).map(this::toDomain);
+    public Student insert(Student student) {
+        entityManager.persist(toNewEntity(student));
+        afterCommit(() -> {
+            studentCounter.onInserted(1);
+            changeListeners.forEach(listener -> listener.onStudentSaved(student));
+        });
+        return student;
     }
 
     @Override
-    public void deleteById(String id) {
-        repository.deleteById(id);
+    public void insertAll(List<Student> students) {
+        try {
+            for (int i = 0; i < students.size(); i++) {
+                entityManager.persist(toNewEntity(students.get(i)));
+                // Descarrega a cada lote JDBC para manter o contexto de persistência pequeno
+                if ((i + 1) % jdbcBatchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+        } catch (ConstraintViolationException e) {
+            // O flush explícito escapa da tradução de exceções: CPF/email tomado em corrida com a checagem prévia
+            throw new DataIntegrityViolationException(e.getMessage(), e);
+        } finally {
+            entityManager.clear();
+        }
+        List<Student> inserted = List.copyOf(students);
+        afterCommit(() -> {
+            studentCounter.onInserted(inserted.size());
+            inserted.forEach(student -> changeListeners.forEach(listener -> listener.onStudentSaved(student)));
+        });
+    }
+
+    @Override
+    public Optional<Student> findById(String id) {
+        return repository.findById(id).map(this::toDomain);
     }
 
     @Override
-    public Page<Student> findAll(Pageable pageable) {
-        return repository.findAll(pageable).map(this::toDomain);
+    public Optional<StudentVersion> findVersion(String id) {
+        return repository.findVersionById(id);
     }
 
     @Override
-    public Page<Student> findByNameContainingIgnoreCase(String name, Pageable pageable) {
-        return repository.findByNameContainingIgnoreCase(name, pageable).map(this::toDomain);
+    public Optional<Student> update(String id, StudentChanges changes, Long expectedVersion) {
+        // Um único UPDATE ... RETURNING: sem a leitura prévia do save e sem janela para perder escritas
+        List<StudentJpaEntity> rows;
+        try {
+            rows = runUpdate(id, changes, expectedVersion);
+        } catch (ConstraintViolationException e) {
+            // O comando roda na hora, fora da tradução do flush: CPF/email tomado em corrida com a checagem prévia
+            throw new DataIntegrityViolationException(e.getMessage(), e);
+        }
+
+        if (rows.isEmpty()) {
+            // Nenhuma linha: ou o aluno não existe, ou a versão esperada já ficou para trás
+            if (expectedVersion != null && repository.existsById(id)) {
+                throw new StudentVersionConflictException(
+                        "Aluno foi alterado por outra requisição; recarregue os dados e tente novamente");
+            }
+            return Optional.empty();
+        }
+
+        StudentJpaEntity entity = rows.get(0);
+        entityManager.detach(entity);
+        Student updated = toDomain(entity);
+        afterCommit(() -> changeListeners.forEach(listener -> listener.onStudentSaved(updated)));
+        return Optional.of(updated);
     }
 
     @Override
-    public Page<Student> findByCpfContaining(String cpf, Pageable pageable) {
-        return repository.findByCpfContaining(cpf, pageable).map(this::toDomain);
+    public boolean deleteById(String id) {
+        // Tombstone em um único UPDATE, sem carregar a linha; o expurgo físico roda depois, em lotes
+        if (repository.softDeleteById(id, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        afterCommit(() -> {
+            studentCounter.onDeleted();
+            changeListeners.forEach(listener -> listener.onStudentDeleted(id));
+        });
+        return true;
     }
 
     @Override
-    public Page<Student> findByEmailContainingIgnoreCase(String email, Pageable pageable) {
-        return repository.findByEmailContainingIgnoreCase(email, pageable).map(this::toDomain);
+    public StudentSummaryPage findSummaries(StudentSearchField field, String term, Pageable pageable,
+                                            StudentCountMode countMode) {
+        boolean filtered = term != null && !term.trim().isEmpty();
+        if (filtered && field == StudentSearchField.ALL) {
+            // ALL é desdobrado em consultas por campo no caso de uso
+            throw new IllegalArgumentException("Campo de busca sem coluna: " + field);
+        }
+        if (filtered) {
+            // O índice já conhece o total exato das correspondências, sem custo extra
+            Optional<Page<String>> indexed = searchIndex.search(field, term, pageable);
+            if (indexed.isPresent()) {
+                Page<StudentSummary> page = loadSummaryPage(indexed.get());
+                return new StudentSummaryPage(page.getContent(), page.hasNext(), page.getTotalElements(),
+                        StudentCountMode.EXACT);
+            }
+        }
+
+        String pattern = filtered ? likePattern(term) : null;
+        // Com filtro não há total mantido em memória: cached conta como exact
+        if ((countMode == StudentCountMode.EXACT || countMode == StudentCountMode.CACHED) && filtered) {
+            Page<StudentSummary> page = searchInDatabase(field, pattern, pageable);
+            return new StudentSummaryPage(page.getContent(), page.hasNext(), page.getTotalElements(),
+                    StudentCountMode.EXACT);
+        }
+
+        Slice<StudentSummary> slice = filtered
+                ? sliceInDatabase(field, pattern, pageable)
+                : repository.findSummarySlice(pageable);
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+            // Última página: o total sai de graça
+            return new StudentSummaryPage(slice.getContent(), false, seen, StudentCountMode.EXACT);
+        }
+
+        switch (countMode) {
+            case NONE:
+                return new StudentSummaryPage(slice.getContent(), slice.hasNext(), null, StudentCountMode.NONE);
+            case ESTIMATE:
+                if (filtered) {
+                    // Conta até o limite: abaixo dele o total é exato, no limite é um piso
+                    long cap = Math.max(estimateCap, seen + 1);
+                    long capped = countInDatabaseUpTo(field, pattern, cap);
+                    return new StudentSummaryPage(slice.getContent(), slice.hasNext(), capped,
+                            capped < cap ? StudentCountMode.EXACT : StudentCountMode.ESTIMATE);
+                }
+                long estimate = Math.max(studentCounter.estimatedTotal(), slice.hasNext() ? seen + 1 : seen);
+                return new StudentSummaryPage(slice.getContent(), slice.hasNext(), estimate, StudentCountMode.ESTIMATE);
+            case CACHED:
+                long cached = Math.max(studentCounter.cachedTotal(), slice.hasNext() ? seen + 1 : seen);
+                return new StudentSummaryPage(slice.getContent(), slice.hasNext(), cached, StudentCountMode.CACHED);
+            case EXACT:
+            default:
+                return new StudentSummaryPage(slice.getContent(), slice.hasNext(), studentCounter.exactTotal(),
+                        StudentCountMode.EXACT);
+        }
     }
 
     @Override
-    public Page<Student> findByIdContaining(String id, Pageable pageable) {
-        return repository.findByIdContaining(id, pageable).map(this::toDomain);
+    public List<StudentSummary> findSummariesAfter(StudentCursor cursor, int limit) {
+        Pageable firstRows = PageRequest.of(0, limit);
+        return cursor == null
+                ? repository.findSummariesByCreationOrder(firstRows)
+                : repository.findSummariesAfterByCreationOrder(cursor.getCreatedAt(), cursor.getId(), firstRows);
     }
 
     @Override
-    public Page<Student> findByMatriculaContaining(String matricula, Pageable pageable) {
-        return repository.findByMatriculaContaining(matricula, pageable).map(this::toDomain);
+    public Stream<Student> streamAll() {
+        return repository.streamAllByCreationOrder().map(entity -> {
+            // Desanexa cada linha lida para o contexto de persistência não crescer com a tabela
+            entityManager.detach(entity);
+            return toDomain(entity);
+        });
     }
 
     @Override
     public boolean existsByCpf(String cpf) {
-        return repository.existsByCpf(cpf);
+        if (keyFilter.definitelyAbsent(StudentUniqueField.CPF, cpf)) {
+            return false;
+        }
+        boolean exists = repository.existsByCpf(cpf);
+        if (!exists) {
+            keyFilter.recordFalsePositive(StudentUniqueField.CPF);
+        }
+        return exists;
     }
 
     @Override
@@ -76,7 +263,188 @@ public class StudentPersistenceAdapter implements StudentRepositoryPort {
 
     @Override
     public boolean existsByEmailIgnoreCase(String email) {
-        return repository.existsByEmailIgnoreCase(email);
+        if (keyFilter.definitelyAbsent(StudentUniqueField.EMAIL, email)) {
+            return false;
+        }
+        boolean exists = repository.existsByEmailIgnoreCase(email);
+        if (!exists) {
+            keyFilter.recordFalsePositive(StudentUniqueField.EMAIL);
+        }
+        return exists;
+    }
+
+    @Override
+    public Set<StudentUniqueField> findUniqueConflicts(String cpf, String email, String excludingId) {
+        if (cpf == null && email == null) {
+            return Set.of();
+        }
+        // Vazio nunca coincide com um CPF, email ou id gravado
+        String lowerEmail = email == null ? "" : email.toLowerCase(Locale.ROOT);
+        Set<StudentUniqueField> conflicts = EnumSet.noneOf(StudentUniqueField.class);
+        for (StudentUniqueKeyRow row : repository.findUniqueKeyConflicts(
+                cpf == null ? "" : cpf, lowerEmail, excludingId == null ? "" : excludingId)) {
+            if (row.getCpf().equals(cpf)) {
+                conflicts.add(StudentUniqueField.CPF);
+            }
+            if (row.getEmail().equals(lowerEmail)) {
+                conflicts.add(StudentUniqueField.EMAIL);
+            }
+        }
+        return conflicts;
+    }
+
+    @Override
+    public StudentConflicts findConflicts(Collection<String> cpfs, Collection<String> emails) {
+        if (cpfs.isEmpty() && emails.isEmpty()) {
+            return new StudentConflicts(Set.of(), Set.of());
+        }
+        List<String> lowerEmails = emails.stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+        Set<String> cpfSet = new HashSet<>(cpfs);
+        Set<String> emailSet = new HashSet<>(lowerEmails);
+        Set<String> conflictingCpfs = new HashSet<>();
+        Set<String> conflictingEmails = new HashSet<>();
+        for (StudentUniqueKeyRow row : repository.findUniqueKeyConflicts(cpfs, lowerEmails)) {
+            if (cpfSet.contains(row.getCpf())) {
+                conflictingCpfs.add(row.getCpf());
+            }
+            if (emailSet.contains(row.getEmail())) {
+                conflictingEmails.add(row.getEmail());
+            }
+        }
+        return new StudentConflicts(conflictingCpfs, conflictingEmails);
+    }
+
+    /**
+     * Monta o SET só com as colunas alteradas: as demais não são escritas nem comparadas
+     */
+    @SuppressWarnings("unchecked")
+    private List<StudentJpaEntity> runUpdate(String id, StudentChanges changes, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("UPDATE students SET ");
+        for (StudentUpdatableField field : changes.getValues().keySet()) {
+            String column = column(field);
+            sql.append(column).append(" = :").append(column).append(", ");
+        }
+        sql.append("updated_at = :updated_at, version = version + 1 WHERE id = :id AND deleted_at IS NULL");
+        if (expectedVersion != null) {
+            sql.append(" AND version = :version");
+        }
+        sql.append(UPDATE_RETURNING);
+
+        NativeQuery<StudentJpaEntity> query = entityManager.createNativeQuery(sql.toString(), StudentJpaEntity.class)
+                .unwrap(NativeQuery.class);
+        changes.getValues().forEach((field, value) -> query.setParameter(column(field), value, StandardBasicTypes.STRING));
+        query.setParameter("updated_at", changes.getUpdatedAt());
+        query.setParameter("id", id);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        return query.getResultList();
+    }
+
+    private static String column(StudentUpdatableField field) {
+        switch (field) {
+            case NAME:
+                return "name";
+            case CPF:
+                return "cpf";
+            case EMAIL:
+                return "email";
+            case PHONE:
+                return "phone";
+            case PHOTO_REF:
+                return "photo_ref";
+            case STATUS:
+            default:
+                return "status";
+        }
+    }
+
+    private Page<StudentSummary> searchInDatabase(StudentSearchField field, String pattern, Pageable pageable) {
+        switch (field) {
+            case CPF:
+                return repository.findSummariesByCpfLike(pattern, pageable);
+            case EMAIL:
+                return repository.findSummariesByEmailLike(pattern, pageable);
+            case MATRICULA:
+                return repository.findSummariesByMatriculaLike(pattern, pageable);
+            case NAME:
+            default:
+                return repository.findSummariesByNameLike(pattern, pageable);
+        }
+    }
+
+    private Slice<StudentSummary> sliceInDatabase(StudentSearchField field, String pattern, Pageable pageable) {
+        switch (field) {
+            case CPF:
+                return repository.findSummarySliceByCpfLike(pattern, pageable);
+            case EMAIL:
+                return repository.findSummarySliceByEmailLike(pattern, pageable);
+            case MATRICULA:
+                return repository.findSummarySliceByMatriculaLike(pattern, pageable);
+            case NAME:
+            default:
+                return repository.findSummarySliceByNameLike(pattern, pageable);
+        }
+    }
+
+    private long countInDatabaseUpTo(StudentSearchField field, String pattern, long cap) {
+        switch (field) {
+            case CPF:
+                return repository.countByCpfLikeUpTo(pattern, cap);
+            case EMAIL:
+                return repository.countByEmailLikeUpTo(pattern, cap);
+            case MATRICULA:
+                return repository.countByMatriculaLikeUpTo(pattern, cap);
+            case NAME:
+            default:
+                return repository.countByNameLikeUpTo(pattern, cap);
+        }
+    }
+
+    /**
+     * Carrega os resumos de uma página de ids vinda do índice, preservando a ordem
+     */
+    private Page<StudentSummary> loadSummaryPage(Page<String> ids) {
+        Map<String, StudentSummary> summaries = repository.findSummariesByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(StudentSummary::getId, Function.identity()));
+        List<StudentSummary> content = ids.getContent().stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+
+    private static String likePattern(String term) {
+        return "%" + escapeLike(term.toLowerCase(Locale.ROOT)) + "%";
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Executa a ação após o commit da transação corrente (ou imediatamente, se não houver)
+     */
+    private void afterCommit(Runnable action) {
+        Runnable safeAction = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.error("Falha ao notificar alteração de aluno", e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safeAction.run();
+                }
+            });
+        } else {
+            safeAction.run();
+        }
     }
 
     private StudentJpaEntity toEntity(Student student) {
@@ -87,13 +455,25 @@ public class StudentPersistenceAdapter implements StudentRepositoryPort {
                 student.getCpf(),
                 student.getEmail(),
                 student.getPhone(),
-                student.getPhoto(),
+                student.getPhotoRef(),
                 student.getStatus(),
                 student.getCreatedAt(),
-                student.getUpdatedAt()
+                student.getUpdatedAt(),
+                student.getVersion(),
+                null
         );
     }
 
+    /**
+     * Entidade para persist: sem versão, senão o Hibernate trata o id já atribuído como uma linha
+     * existente (entidade desanexada); a versão inicial 0 é atribuída por ele no INSERT
+     */
+    private StudentJpaEntity toNewEntity(Student student) {
+        StudentJpaEntity entity = toEntity(student);
+        entity.setVersion(null);
+        return entity;
+    }
+
     private Student toDomain(StudentJpaEntity entity) {
         return new Student(
                 entity.getId(),
@@ -102,10 +482,12 @@ public class StudentPersistenceAdapter implements StudentRepositoryPort {
                 entity.getCpf(),
                 entity.getEmail(),
                 entity.getPhone(),
-                entity.getPhoto(),
+                null,
+                entity.getPhotoRef(),
                 entity.getStatus(),
                 entity.getCreatedAt(),
-                entity.getUpdatedAt()
+                entity.getUpdatedAt(),
+                entity.getVersion()
         );
     }
 }
@@ -0,0 +1,21 @@
+package start.students.adapters.outbound.persistence.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "matricula_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatriculaSequenceJpaEntity {
+
+    @Id
+    @Column(name = "sequence_year")
+    private Integer year;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
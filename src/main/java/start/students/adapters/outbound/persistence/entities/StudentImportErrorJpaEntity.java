@@ -0,0 +1,29 @@
+package start.students.adapters.outbound.persistence.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "student_import_errors", indexes = {
+        @Index(name = "idx_student_import_errors_job_row", columnList = "job_id, row_number")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportErrorJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private String jobId;
+
+    @Column(name = "row_number", nullable = false)
+    private long rowNumber;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+}
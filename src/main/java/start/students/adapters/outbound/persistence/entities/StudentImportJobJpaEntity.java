@@ -0,0 +1,63 @@
+package start.students.adapters.outbound.persistence.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import start.students.core.domain.valueobjects.StudentImportStatus;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "student_import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportJobJpaEntity {
+
+    @Id
+    private String id;
+
+    @Column(name = "file_reference", nullable = false, length = 64)
+    private String fileReference;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StudentImportStatus status;
+
+    @Column(name = "committed_offset", nullable = false)
+    private long committedOffset;
+
+    @Column(name = "processed_rows", nullable = false)
+    private long processedRows;
+
+    @Column(name = "created_rows", nullable = false)
+    private long createdRows;
+
+    @Column(name = "failed_rows", nullable = false)
+    private long failedRows;
+
+    @Column(length = 500)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Posse e lease só mudam pelas atualizações condicionais do repositório (claim, heartbeat, requeue)
+    @Column(length = 64, insertable = false, updatable = false)
+    private String owner;
+
+    @Column(name = "lease_until", insertable = false, updatable = false)
+    private LocalDateTime leaseUntil;
+
+    // Um claim de outro nó incrementa a versão: gravações do dono anterior passam a falhar
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private Long version;
+}
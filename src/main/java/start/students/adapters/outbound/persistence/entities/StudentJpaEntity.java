@@ -4,11 +4,15 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
+// Alunos excluídos ficam como tombstone (deleted_at preenchido) até o expurgo e somem das consultas JPQL;
+// os índices parciais só dos ativos (ordem da listagem, CPF e email únicos) estão em schema.sql
 @Entity
 @Table(name = "students")
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,17 +27,18 @@ public class StudentJpaEntity {
     @Column(nullable = false, length = 100)
     private String name;
 
-    @Column(nullable = false, unique = true, length = 14)
+    @Column(nullable = false, length = 14)
     private String cpf;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(length = 20)
     private String phone;
 
-    @Column(columnDefinition = "TEXT")
-    private String photo;
+    // A foto fica no PhotoStoragePort; a linha guarda apenas o hash do conteúdo
+    @Column(name = "photo_ref", length = 64)
+    private String photoRef;
 
     @Column(name = "status", length = 20)
     private String status;
@@ -43,4 +48,12 @@ public class StudentJpaEntity {
 
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+
+    // Controle de concorrência otimista: incrementada a cada alteração gravada
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 }
@@ -0,0 +1,96 @@
+package start.students.adapters.outbound.persistence.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Total de alunos mantido em memória, para a listagem sem filtro com count=cached não precisar de COUNT(*)
+ * Inserções e exclusões confirmadas ajustam o valor; a ressincronização periódica com o banco
+ * corrige o que este nó não viu (escritas de outros nós ou feitas fora da aplicação)
+ */
+@Slf4j
+@Component
+public class StudentCounter {
+
+    private static final long UNKNOWN = -1;
+
+    private final StudentJpaRepository repository;
+    private final boolean enabled;
+    private final AtomicLong total = new AtomicLong(UNKNOWN);
+
+    public StudentCounter(StudentJpaRepository repository,
+                          @Value("${students.count.cached.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Total exato: sempre faz o COUNT(*), e aproveita o resultado para corrigir o valor mantido
+     */
+    public long exactTotal() {
+        long counted = repository.count();
+        if (enabled) {
+            total.set(counted);
+        }
+        return counted;
+    }
+
+    /**
+     * Total mantido em memória, sem ir ao banco; pode não refletir escritas de outros nós até a
+     * próxima ressincronização. A primeira chamada (ou com o cache desligado) faz o COUNT(*)
+     */
+    public long cachedTotal() {
+        if (!enabled) {
+            return repository.count();
+        }
+        long current = total.get();
+        if (current != UNKNOWN) {
+            return current;
+        }
+        long counted = repository.count();
+        total.compareAndSet(UNKNOWN, counted);
+        return counted;
+    }
+
+    /**
+     * Total mantido, se já conhecido; senão a estimativa das estatísticas do Postgres, sem varrer a tabela
+     */
+    public long estimatedTotal() {
+        long current = total.get();
+        if (enabled && current != UNKNOWN) {
+            return current;
+        }
+        Long estimate = repository.estimateRowCount();
+        return estimate != null ? estimate : cachedTotal();
+    }
+
+    public void onInserted(int count) {
+        total.updateAndGet(current -> current == UNKNOWN ? UNKNOWN : current + count);
+    }
+
+    public void onDeleted() {
+        total.updateAndGet(current -> current == UNKNOWN ? UNKNOWN : Math.max(0, current - 1));
+    }
+
+    @Scheduled(fixedDelayString = "${students.count.cached.resync-interval:PT5M}",
+            initialDelayString = "${students.count.cached.resync-interval:PT5M}")
+    public void resync() {
+        if (!enabled || total.get() == UNKNOWN) {
+            return;
+        }
+        try {
+            long counted = repository.count();
+            long previous = total.getAndSet(counted);
+            if (previous != counted) {
+                log.debug("Total de alunos ressincronizado: {} -> {}", previous, counted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao ressincronizar total de alunos", e);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package start.students.adapters.outbound.persistence.index;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+import start.students.adapters.outbound.repositories.StudentSearchChangeRow;
+import start.students.adapters.outbound.repositories.StudentSearchRow;
+import start.students.core.domain.entities.Student;
+import start.students.core.domain.valueobjects.StudentUniqueField;
+import start.students.core.ports.StudentChangeListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * Filtros de Bloom locais ao nó sobre CPFs (só dígitos) e emails (minúsculos) cadastrados
+ * Respondem "com certeza não existe" sem ir ao banco; um "talvez" segue para a consulta
+ * Alterações e exclusões deixam bits antigos ligados, o que só gera falsos positivos:
+ * a reconstrução periódica os elimina e redimensiona o filtro conforme a tabela cresce
+ * Os ouvintes só recebem as escritas deste nó: CPFs e emails gravados por outros nós entram pela sincronização
+ * periódica (students.validation.filter.sync-interval); até lá o filtro pode dizer "não existe" para eles
+ * Por isso atende só as consultas de /validate, informativas: o cadastro confere conflitos no banco
+ */
+@Slf4j
+@Component
+public class StudentKeyFilter implements StudentChangeListener {
+
+    private final StudentJpaRepository repository;
+    private final PlatformTransactionManager transactionManager;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration syncOverlap;
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    private final Counter[] absentLookups = new Counter[StudentUniqueField.values().length];
+    private final Counter[] maybeLookups = new Counter[StudentUniqueField.values().length];
+    private final Counter[] falsePositives = new Counter[StudentUniqueField.values().length];
+
+    // Nulo até a primeira construção; trocado inteiro a cada reconstrução
+    private volatile BloomFilter[] filters;
+    // Filtros em construção, que também recebem as escritas concorrentes à varredura
+    private volatile BloomFilter[] building;
+    // Início da última construção ou sincronização concluída
+    private volatile LocalDateTime syncedFrom;
+
+    public StudentKeyFilter(StudentJpaRepository repository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${students.validation.filter.enabled:true}") boolean enabled,
+                            @Value("${students.validation.filter.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${students.validation.filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${students.validation.filter.sync-overlap:PT1M}") Duration syncOverlap) {
+        this.repository = repository;
+        this.transactionManager = transactionManager;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlap = syncOverlap;
+
+        for (StudentUniqueField field : StudentUniqueField.values()) {
+            String tag = field.name().toLowerCase(Locale.ROOT);
+            int i = field.ordinal();
+            absentLookups[i] = Counter.builder("students.validation.filter.lookups")
+                    .tag("field", tag).tag("result", "absent").register(meterRegistry);
+            maybeLookups[i] = Counter.builder("students.validation.filter.lookups")
+                    .tag("field", tag).tag("result", "maybe").register(meterRegistry);
+            falsePositives[i] = Counter.builder("students.validation.filter.false.positives")
+                    .tag("field", tag).register(meterRegistry);
+            Gauge.builder("students.validation.filter.memory", this, filter -> filter.measure(i, BloomFilter::memoryBytes))
+                    .tag("field", tag).baseUnit("bytes").register(meterRegistry);
+            Gauge.builder("students.validation.filter.expected.fpp", this, filter -> filter.measure(i, BloomFilter::expectedFpp))
+                    .tag("field", tag).register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            log.info("Filtro de validação de CPF/email desabilitado");
+            return;
+        }
+        Thread builder = new Thread(this::build, "student-key-filter-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    @Scheduled(fixedDelayString = "${students.validation.filter.rebuild-interval:PT6H}",
+            initialDelayString = "${students.validation.filter.rebuild-interval:PT6H}")
+    public void rebuild() {
+        if (enabled) {
+            build();
+        }
+    }
+
+    /**
+     * Acrescenta os CPFs e emails gravados (por qualquer nó) desde a última sincronização, com uma margem
+     * para relógios desalinhados entre nós e commits posteriores ao updated_at
+     * Exclusões não são aplicadas: bits não podem ser desligados, e um bit a mais só gera falso positivo
+     */
+    @Scheduled(fixedDelayString = "${students.validation.filter.sync-interval:PT30S}",
+            initialDelayString = "${students.validation.filter.sync-interval:PT30S}")
+    public void sync() {
+        if (!enabled || filters == null || !buildLock.tryLock()) {
+            return;
+        }
+        try {
+            LocalDateTime start = LocalDateTime.now();
+            List<StudentSearchChangeRow> changes = repository.findSearchChangesSince(syncedFrom.minus(syncOverlap));
+            BloomFilter[] target = filters;
+            for (StudentSearchChangeRow row : changes) {
+                if (!row.getDeleted()) {
+                    put(target, row.getCpf(), row.getEmail());
+                }
+            }
+            syncedFrom = start;
+        } catch (RuntimeException e) {
+            // A próxima sincronização parte do mesmo instante e cobre este intervalo
+            log.warn("Falha ao sincronizar filtro de validação; nova tentativa no próximo ciclo", e);
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * true quando o valor com certeza não está cadastrado; false quando é preciso consultar o banco
+     */
+    public boolean definitelyAbsent(StudentUniqueField field, String value) {
+        BloomFilter[] current = filters;
+        if (current == null || value == null) {
+            return false;
+        }
+        boolean absent = !current[field.ordinal()].mightContain(normalize(field, value));
+        (absent ? absentLookups : maybeLookups)[field.ordinal()].increment();
+        return absent;
+    }
+
+    /**
+     * Registra que um "talvez" do filtro não existia no banco
+     */
+    public void recordFalsePositive(StudentUniqueField field) {
+        if (filters != null) {
+            falsePositives[field.ordinal()].increment();
+        }
+    }
+
+    @Override
+    public void onStudentSaved(Student student) {
+        // Lê "building" antes de "filters": a troca publica "filters" antes de limpar "building"
+        BloomFilter[] target = building;
+        if (target != null) {
+            put(target, student.getCpf(), student.getEmail());
+        }
+        target = filters;
+        if (target != null) {
+            put(target, student.getCpf(), student.getEmail());
+        }
+    }
+
+    void build() {
+        if (!buildLock.tryLock()) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            LocalDateTime snapshotFrom = LocalDateTime.now();
+            long rows = repository.count();
+            long capacity = Math.max(expectedInsertions, rows * 2);
+            BloomFilter[] fresh = new BloomFilter[StudentUniqueField.values().length];
+            for (int i = 0; i < fresh.length; i++) {
+                fresh[i] = new BloomFilter(capacity, falsePositiveRate);
+            }
+            building = fresh;
+
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> {
+                try (Stream<StudentSearchRow> stream = repository.streamSearchRows()) {
+                    stream.forEach(row -> put(fresh, row.getCpf(), row.getEmail()));
+                }
+            });
+
+            filters = fresh;
+            building = null;
+            syncedFrom = snapshotFrom;
+            log.info("Filtro de validação construído com {} alunos em {} ms",
+                    fresh[StudentUniqueField.CPF.ordinal()].insertions.get(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            building = null;
+            log.error("Falha ao construir filtro de validação; validações continuarão no banco", e);
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private static void put(BloomFilter[] target, String cpf, String email) {
+        if (cpf != null) {
+            target[StudentUniqueField.CPF.ordinal()].put(normalize(StudentUniqueField.CPF, cpf));
+        }
+        if (email != null) {
+            target[StudentUniqueField.EMAIL.ordinal()].put(normalize(StudentUniqueField.EMAIL, email));
+        }
+    }
+
+    private static String normalize(StudentUniqueField field, String value) {
+        return field == StudentUniqueField.CPF
+                ? value.replaceAll("[^0-9]", "")
+                : value.toLowerCase(Locale.ROOT);
+    }
+
+    private double measure(int field, ToDoubleFunction<BloomFilter> metric) {
+        BloomFilter[] current = filters;
+        return current == null ? 0 : metric.applyAsDouble(current[field]);
+    }
+
+    /**
+     * Filtro de Bloom sobre um array de bits atômico: inserções e consultas sem lock
+     */
+    private static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLong insertions = new AtomicLong();
+
+        private BloomFilter(long capacity, double falsePositiveRate) {
+            long words = Math.max(1, (long) Math.ceil(
+                    -capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)) / Long.SIZE));
+            this.bits = new AtomicLongArray(Math.toIntExact(words));
+            this.bitCount = words * Long.SIZE;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+
+        void put(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1 ^ 0xC4CEB9FE1A85EC53L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = bits.get(word);
+                while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                    current = bits.get(word);
+                }
+            }
+            insertions.incrementAndGet();
+        }
+
+        boolean mightContain(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1 ^ 0xC4CEB9FE1A85EC53L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double memoryBytes() {
+            return bitCount / 8.0;
+        }
+
+        /**
+         * Taxa de falsos positivos esperada para o número de inserções feitas: (1 - e^(-kn/m))^k
+         */
+        double expectedFpp() {
+            return Math.pow(1 - Math.exp(-(double) hashCount * insertions.get() / bitCount), hashCount);
+        }
+
+        private static long hash(String value) {
+            long hash = 0x9E3779B97F4A7C15L ^ value.length();
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash = Long.rotateLeft(hash * 0xFF51AFD7ED558CCDL, 31);
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xFF51AFD7ED558CCDL;
+            value ^= value >>> 33;
+            value *= 0xC4CEB9FE1A85EC53L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
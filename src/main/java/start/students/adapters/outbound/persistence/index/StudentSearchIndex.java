@@ -0,0 +1,428 @@
+package start.students.adapters.outbound.persistence.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+import start.students.adapters.outbound.repositories.StudentSearchChangeRow;
+import start.students.adapters.outbound.repositories.StudentSearchRow;
+import start.students.core.domain.entities.Student;
+import start.students.core.domain.valueobjects.StudentSearchField;
+import start.students.core.ports.StudentChangeListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido de trigramas, local ao nó, sobre nome, email, CPF e matrícula
+ * Responde buscas "contém" sem o LIKE '%x%' no banco: intersecta as listas de postagem
+ * dos trigramas do termo e confirma os candidatos contra o valor indexado
+ * Os ouvintes só recebem as escritas deste nó: as dos demais chegam pela sincronização periódica
+ * (students.search.index.sync-interval), que relê as linhas alteradas desde a anterior; entre uma e outra
+ * a busca pode não refletir alterações feitas por outros nós
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudentSearchIndex implements StudentChangeListener {
+
+    private static final int GRAM = 3;
+    private static final int BUILD_BATCH_SIZE = 1000;
+    private static final int MIN_DELETED_TO_COMPACT = 1024;
+
+    private final StudentJpaRepository repository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${students.search.index.enabled:true}")
+    private boolean enabled;
+
+    // Margem relida a cada sincronização: relógios desalinhados entre nós e commits posteriores ao updated_at
+    @Value("${students.search.index.sync-overlap:PT1M}")
+    private Duration syncOverlap;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Estado abaixo protegido por "lock"
+    private final Map<String, Integer> docsByStudentId = new HashMap<>();
+    private final List<Map<Long, PostingList>> postings = new ArrayList<>();
+    private String[] studentIds = new String[BUILD_BATCH_SIZE];
+    private String[][] documents = new String[BUILD_BATCH_SIZE][];
+    private int nextDoc;
+    private int deletedDocs;
+    private Set<String> touchedDuringBuild;
+
+    private volatile boolean ready;
+    // Início da última construção ou sincronização concluída
+    private volatile LocalDateTime syncedFrom;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            log.info("Índice de busca de alunos desabilitado");
+            return;
+        }
+        Thread builder = new Thread(this::build, "student-search-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Aplica as alterações gravadas (por qualquer nó) desde a última sincronização; reaplicar as deste nó não muda nada
+     */
+    @Scheduled(fixedDelayString = "${students.search.index.sync-interval:PT30S}",
+            initialDelayString = "${students.search.index.sync-interval:PT30S}")
+    public void sync() {
+        if (!enabled || !ready) {
+            return;
+        }
+        LocalDateTime start = LocalDateTime.now();
+        List<StudentSearchChangeRow> changes;
+        try {
+            changes = repository.findSearchChangesSince(syncedFrom.minus(syncOverlap));
+        } catch (RuntimeException e) {
+            // A próxima sincronização parte do mesmo instante e cobre este intervalo
+            log.warn("Falha ao sincronizar índice de busca; nova tentativa no próximo ciclo", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (StudentSearchChangeRow row : changes) {
+                if (row.getDeleted()) {
+                    remove(row.getId());
+                } else {
+                    upsert(row.getId(), row.getName(), row.getEmail(), row.getCpf(), row.getMatricula());
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        syncedFrom = start;
+        if (!changes.isEmpty()) {
+            log.debug("Índice de busca sincronizado com {} alterações", changes.size());
+        }
+    }
+
+    /**
+     * Busca os ids que contêm o termo no campo, na ordem do índice
+     * Vazio quando o índice não pode responder (desabilitado, em construção ou ordenação pedida)
+     */
+    public Optional<Page<String>> search(StudentSearchField field, String term, Pageable pageable) {
+        if (!enabled || !ready || term == null || pageable.getSort().isSorted()) {
+            return Optional.empty();
+        }
+
+        String query = normalize(term);
+        lock.readLock().lock();
+        try {
+            int[] matches = query.length() < GRAM ? scan(field, query) : lookup(field, query);
+
+            int from = (int) Math.min(pageable.getOffset(), matches.length);
+            int to = Math.min(from + pageable.getPageSize(), matches.length);
+            List<String> ids = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                ids.add(studentIds[matches[i]]);
+            }
+            return Optional.of(new PageImpl<>(ids, pageable, matches.length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStudentSaved(Student student) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (touchedDuringBuild != null) {
+                touchedDuringBuild.add(student.getId());
+            }
+            upsert(student.getId(), student.getName(), student.getEmail(), student.getCpf(), student.getMatricula());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStudentDeleted(String id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (touchedDuringBuild != null) {
+                touchedDuringBuild.add(id);
+            }
+            remove(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void build() {
+        long start = System.currentTimeMillis();
+        LocalDateTime snapshotFrom = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            clear();
+            // Escritas concorrentes à varredura prevalecem sobre a linha lida do snapshot
+            touchedDuringBuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> {
+                try (Stream<StudentSearchRow> rows = repository.streamSearchRows()) {
+                    List<StudentSearchRow> batch = new ArrayList<>(BUILD_BATCH_SIZE);
+                    rows.forEach(row -> {
+                        batch.add(row);
+                        if (batch.size() == BUILD_BATCH_SIZE) {
+                            indexBatch(batch);
+                            batch.clear();
+                        }
+                    });
+                    indexBatch(batch);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao construir índice de busca; buscas continuarão no banco", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            touchedDuringBuild = null;
+            syncedFrom = snapshotFrom;
+            ready = true;
+            log.info("Índice de busca construído com {} alunos em {} ms",
+                    docsByStudentId.size(), System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexBatch(List<StudentSearchRow> batch) {
+        lock.writeLock().lock();
+        try {
+            for (StudentSearchRow row : batch) {
+                if (!touchedDuringBuild.contains(row.getId())) {
+                    upsert(row.getId(), row.getName(), row.getEmail(), row.getCpf(), row.getMatricula());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void clear() {
+        docsByStudentId.clear();
+        postings.clear();
+        for (int i = 0; i < StudentSearchField.values().length; i++) {
+            postings.add(new HashMap<>());
+        }
+        studentIds = new String[BUILD_BATCH_SIZE];
+        documents = new String[BUILD_BATCH_SIZE][];
+        nextDoc = 0;
+        deletedDocs = 0;
+    }
+
+    private void upsert(String id, String name, String email, String cpf, String matricula) {
+        String[] values = new String[StudentSearchField.values().length];
+        values[StudentSearchField.NAME.ordinal()] = normalize(name);
+        values[StudentSearchField.EMAIL.ordinal()] = normalize(email);
+        values[StudentSearchField.CPF.ordinal()] = normalize(cpf);
+        values[StudentSearchField.MATRICULA.ordinal()] = normalize(matricula);
+        Integer current = docsByStudentId.get(id);
+        if (current != null && Arrays.equals(documents[current], values)) {
+            // Sem mudança nos campos pesquisáveis (telefone, status, releitura da sincronização): nada a refazer
+            return;
+        }
+        remove(id);
+        addDocument(id, values);
+        compactIfNeeded();
+    }
+
+    private void addDocument(String id, String[] values) {
+        if (nextDoc == documents.length) {
+            studentIds = Arrays.copyOf(studentIds, nextDoc * 2);
+            documents = Arrays.copyOf(documents, nextDoc * 2);
+        }
+        int doc = nextDoc++;
+        studentIds[doc] = id;
+        documents[doc] = values;
+        docsByStudentId.put(id, doc);
+
+        for (StudentSearchField field : StudentSearchField.values()) {
+            String value = values[field.ordinal()];
+            if (value == null) {
+                continue;
+            }
+            Map<Long, PostingList> fieldPostings = postings.get(field.ordinal());
+            for (int i = 0; i + GRAM <= value.length(); i++) {
+                fieldPostings.computeIfAbsent(trigram(value, i), key -> new PostingList()).add(doc);
+            }
+        }
+    }
+
+    private void remove(String id) {
+        Integer doc = docsByStudentId.remove(id);
+        if (doc != null) {
+            // As postagens antigas ficam órfãs até a próxima compactação
+            documents[doc] = null;
+            studentIds[doc] = null;
+            deletedDocs++;
+        }
+    }
+
+    /**
+     * Reconstrói as listas de postagem quando a maioria dos documentos já foi removida
+     */
+    private void compactIfNeeded() {
+        if (deletedDocs < MIN_DELETED_TO_COMPACT || deletedDocs * 2 < nextDoc) {
+            return;
+        }
+        String[] oldIds = studentIds;
+        String[][] oldDocuments = documents;
+        int oldNextDoc = nextDoc;
+
+        clear();
+        for (int doc = 0; doc < oldNextDoc; doc++) {
+            if (oldDocuments[doc] != null) {
+                addDocument(oldIds[doc], oldDocuments[doc]);
+            }
+        }
+    }
+
+    private int[] lookup(StudentSearchField field, String query) {
+        Map<Long, PostingList> fieldPostings = postings.get(field.ordinal());
+
+        int gramCount = query.length() - GRAM + 1;
+        PostingList[] lists = new PostingList[gramCount];
+        for (int i = 0; i < gramCount; i++) {
+            lists[i] = fieldPostings.get(trigram(query, i));
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+
+        // Começar pela lista mais curta reduz o trabalho das interseções seguintes
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        int[] candidates = Arrays.copyOf(lists[0].docs, lists[0].size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.length && count > 0; i++) {
+            if (lists[i] != lists[i - 1]) {
+                count = intersect(candidates, count, lists[i]);
+            }
+        }
+
+        // Trigramas em comum não garantem a substring: confirmar contra o valor indexado
+        int matched = 0;
+        for (int i = 0; i < count; i++) {
+            String value = valueOf(candidates[i], field);
+            if (value != null && value.contains(query)) {
+                candidates[matched++] = candidates[i];
+            }
+        }
+        return Arrays.copyOf(candidates, matched);
+    }
+
+    /**
+     * Termos menores que um trigrama são respondidos varrendo os valores em memória
+     */
+    private int[] scan(StudentSearchField field, String query) {
+        int[] matches = new int[docsByStudentId.size()];
+        int matched = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            String value = valueOf(doc, field);
+            if (value != null && value.contains(query)) {
+                matches[matched++] = doc;
+            }
+        }
+        return Arrays.copyOf(matches, matched);
+    }
+
+    private String valueOf(int doc, StudentSearchField field) {
+        String[] values = documents[doc];
+        return values == null ? null : values[field.ordinal()];
+    }
+
+    /**
+     * Interseção in-place de listas ordenadas; retorna o novo tamanho de "candidates"
+     */
+    private static int intersect(int[] candidates, int count, PostingList list) {
+        int kept = 0;
+        int i = 0;
+        int j = 0;
+        while (i < count && j < list.size) {
+            int a = candidates[i];
+            int b = list.docs[j];
+            if (a == b) {
+                candidates[kept++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return kept;
+    }
+
+    private static long trigram(String value, int offset) {
+        return ((long) value.charAt(offset) << 32)
+                | ((long) value.charAt(offset + 1) << 16)
+                | value.charAt(offset + 2);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Lista de documentos em ordem crescente, armazenada em array primitivo
+     */
+    private static final class PostingList {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            // Documentos são numerados em ordem crescente; trigramas repetidos no mesmo valor são ignorados
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
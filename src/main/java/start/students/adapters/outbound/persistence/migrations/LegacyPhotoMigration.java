@@ -0,0 +1,75 @@
+package start.students.adapters.outbound.persistence.migrations;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import start.students.adapters.outbound.repositories.LegacyPhotoRow;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+import start.students.core.ports.PhotoStoragePort;
+
+import java.util.List;
+
+/**
+ * Move as fotos em base64 da antiga coluna students.photo para o PhotoStoragePort
+ * Roda em segundo plano na inicialização, em lotes com transação própria, e é idempotente:
+ * uma linha só perde a foto depois que a referência foi gravada
+ * Após a migração a coluna fica vazia e pode ser removida manualmente (ALTER TABLE students DROP COLUMN photo)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LegacyPhotoMigration {
+
+    private final StudentJpaRepository repository;
+    private final PhotoStoragePort photoStorage;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${students.photos.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${students.photos.migration.batch-size:100}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread migration = new Thread(this::migrate, "legacy-photo-migration");
+        migration.setDaemon(true);
+        migration.start();
+    }
+
+    void migrate() {
+        try {
+            if (repository.countLegacyPhotoColumn() == 0) {
+                return;
+            }
+
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            long migrated = 0;
+            int moved;
+            do {
+                moved = transaction.execute(status -> {
+                    List<LegacyPhotoRow> rows = repository.findLegacyPhotos(batchSize);
+                    for (LegacyPhotoRow row : rows) {
+                        repository.moveLegacyPhoto(row.getId(), photoStorage.store(row.getPhoto()));
+                    }
+                    return rows.size();
+                });
+                migrated += moved;
+            } while (moved == batchSize);
+
+            if (migrated > 0) {
+                log.info("Migração de fotos concluída: {} alunos movidos para o armazenamento de fotos", migrated);
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha na migração de fotos; será retomada na próxima inicialização", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package start.students.adapters.outbound.persistence.purge;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Remove definitivamente os alunos excluídos (tombstones) há mais tempo que a retenção
+ * Roda no horário de menor uso, em lotes com transação própria e pausa entre eles, para não
+ * segurar locks nem gerar rajadas de WAL; cada execução tem um teto de lotes e o restante
+ * fica para a próxima
+ */
+@Slf4j
+@Component
+public class StudentTombstonePurge {
+
+    private final StudentJpaRepository repository;
+    private final TransactionTemplate transaction;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration pause;
+
+    @Autowired
+    public StudentTombstonePurge(StudentJpaRepository repository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${students.purge.enabled:true}") boolean enabled,
+                                 @Value("${students.purge.retention:P30D}") Duration retention,
+                                 @Value("${students.purge.batch-size:500}") int batchSize,
+                                 @Value("${students.purge.max-batches:200}") int maxBatches,
+                                 @Value("${students.purge.batch-pause:PT0.2S}") Duration pause) {
+        this(repository, transactionManager, Clock.systemDefaultZone(), enabled, retention, batchSize, maxBatches, pause);
+    }
+
+    StudentTombstonePurge(StudentJpaRepository repository,
+                          PlatformTransactionManager transactionManager,
+                          Clock clock,
+                          boolean enabled,
+                          Duration retention,
+                          int batchSize,
+                          int maxBatches,
+                          Duration pause) {
+        this.repository = repository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.enabled = enabled;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pause = pause;
+    }
+
+    @Scheduled(cron = "${students.purge.cron:0 0 3 * * *}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime deletedBefore = LocalDateTime.now(clock).minus(retention);
+        long start = clock.millis();
+        long purged = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                Integer removed = transaction.execute(status -> repository.purgeDeletedBefore(deletedBefore, batchSize));
+                purged += removed;
+                if (removed < batchSize) {
+                    break;
+                }
+                Thread.sleep(pause.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Falha no expurgo de alunos excluídos; será retomado na próxima execução", e);
+        }
+        if (purged > 0) {
+            log.info("Expurgo de alunos excluídos: {} removidos em {} ms", purged, clock.millis() - start);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package start.students.adapters.outbound.persistence.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import start.students.core.domain.entities.Student;
+import start.students.core.domain.entities.StudentSummary;
+import start.students.core.domain.valueobjects.StudentCountMode;
+import start.students.core.domain.valueobjects.StudentCursor;
+import start.students.core.domain.valueobjects.StudentListQuery;
+import start.students.core.domain.valueobjects.StudentSearchField;
+import start.students.core.domain.valueobjects.StudentSummaryPage;
+import start.students.core.ports.ReactiveStudentReadPort;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Leituras de alunos via R2DBC, com um pool próprio de conexões não bloqueantes
+ * O pool não é exposto como bean ConnectionFactory: isso desligaria o DataSource do JPA,
+ * que continua atendendo as escritas e os componentes em memória (índice, filtros, contadores)
+ */
+@Component
+@Profile("reactive")
+public class R2dbcStudentReadAdapter implements ReactiveStudentReadPort {
+
+    private static final String SUMMARY_COLUMNS = "id, matricula, name, email, cpf, status, created_at";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+    private final long estimateCap;
+
+    public R2dbcStudentReadAdapter(@Value("${students.reactive.r2dbc.url}") String url,
+                                   @Value("${students.reactive.r2dbc.username}") String username,
+                                   @Value("${students.reactive.r2dbc.password}") String password,
+                                   @Value("${students.reactive.r2dbc.pool-size:10}") int poolSize,
+                                   @Value("${students.count.estimate-cap:1000}") long estimateCap) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(1)
+                .maxSize(poolSize)
+                .maxIdleTime(Duration.ofMinutes(30))
+                .build());
+        this.client = DatabaseClient.create(pool);
+        this.estimateCap = estimateCap;
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.dispose();
+    }
+
+    @Override
+    public Mono<Student> findById(String id) {
+        return client.sql("SELECT id, matricula, name, cpf, email, phone, photo_ref, status, created_at, updated_at, version " +
+                        "FROM students WHERE id = :id AND deleted_at IS NULL")
+                .bind("id", id)
+                .map(row -> new Student(
+                        row.get("id", String.class),
+                        row.get("matricula", String.class),
+                        row.get("name", String.class),
+                        row.get("cpf", String.class),
+                        row.get("email", String.class),
+                        row.get("phone", String.class),
+                        null,
+                        row.get("photo_ref", String.class),
+                        row.get("status", String.class),
+                        row.get("created_at", LocalDateTime.class),
+                        row.get("updated_at", LocalDateTime.class),
+                        row.get("version", Long.class)))
+                .one();
+    }
+
+    @Override
+    public Mono<StudentSummaryPage> findSummaries(StudentListQuery query) {
+        long offset = (long) query.getPage() * query.getSize();
+        // Tombstones (alunos excluídos) ficam fora; o filtro casa com os índices parciais
+        String where = " WHERE deleted_at IS NULL" + (query.isFiltered() ? " AND " + condition(query.getField()) : "");
+
+        // Um registro a mais indica se existe próxima página, sem COUNT
+        DatabaseClient.GenericExecuteSpec select = client.sql("SELECT " + SUMMARY_COLUMNS + " FROM students" + where +
+                        " ORDER BY created_at, id LIMIT :limit OFFSET :offset")
+                .bind("limit", query.getSize() + 1)
+                .bind("offset", offset);
+        if (query.isFiltered()) {
+            select = select.bind("pattern", likePattern(query.getTerm()));
+        }
+
+        return select.map(R2dbcStudentReadAdapter::toSummary).all().collectList().flatMap(rows -> {
+            boolean hasNext = rows.size() > query.getSize();
+            List<StudentSummary> content = hasNext ? rows.subList(0, query.getSize()) : rows;
+            long seen = offset + content.size();
+            if (!hasNext && (!content.isEmpty() || offset == 0)) {
+                // Última página: o total sai de graça
+                return Mono.just(new StudentSummaryPage(content, false, seen, StudentCountMode.EXACT));
+            }
+            return total(query, where, seen).map(total ->
+                            new StudentSummaryPage(content, hasNext, total.value, total.mode))
+                    .defaultIfEmpty(new StudentSummaryPage(content, hasNext, null, StudentCountMode.NONE));
+        });
+    }
+
+    @Override
+    public Flux<StudentSummary> findSummariesAfter(StudentCursor cursor, int limit) {
+        if (cursor == null) {
+            return client.sql("SELECT " + SUMMARY_COLUMNS + " FROM students WHERE deleted_at IS NULL ORDER BY created_at, id LIMIT :limit")
+                    .bind("limit", limit)
+                    .map(R2dbcStudentReadAdapter::toSummary)
+                    .all();
+        }
+        return client.sql("SELECT " + SUMMARY_COLUMNS + " FROM students WHERE deleted_at IS NULL AND (created_at, id) > (:createdAt, :id) " +
+                        "ORDER BY created_at, id LIMIT :limit")
+                .bind("createdAt", cursor.getCreatedAt())
+                .bind("id", cursor.getId())
+                .bind("limit", limit)
+                .map(R2dbcStudentReadAdapter::toSummary)
+                .all();
+    }
+
+    /**
+     * Total conforme o modo pedido; vazio para NONE
+     */
+    private Mono<Total> total(StudentListQuery query, String where, long seen) {
+        switch (query.getCountMode()) {
+            case NONE:
+                return Mono.empty();
+            case ESTIMATE:
+                if (query.isFiltered()) {
+                    // Conta até o limite: abaixo dele o total é exato, no limite é um piso
+                    long cap = Math.max(estimateCap, seen + 1);
+                    return client.sql("SELECT COUNT(*) FROM (SELECT 1 FROM students" + where + " LIMIT :cap) t")
+                            .bind("pattern", likePattern(query.getTerm()))
+                            .bind("cap", cap)
+                            .map(row -> row.get(0, Long.class))
+                            .one()
+                            .map(count -> new Total(count, count < cap ? StudentCountMode.EXACT : StudentCountMode.ESTIMATE));
+                }
+                return client.sql("SELECT CAST(reltuples / relpages * (pg_relation_size(oid) / " +
+                                "CAST(current_setting('block_size') AS integer)) AS bigint) " +
+                                "FROM pg_class WHERE oid = to_regclass('students') AND relpages > 0 AND reltuples >= 0")
+                        .map(row -> row.get(0, Long.class))
+                        .one()
+                        .map(estimate -> new Total(Math.max(estimate, seen + 1), StudentCountMode.ESTIMATE))
+                        .switchIfEmpty(Mono.defer(() -> exactTotal(query, where)));
+            case CACHED:
+                // Sem contador em memória no modo reativo: o total é contado e informado como exato
+            case EXACT:
+            default:
+                return exactTotal(query, where);
+        }
+    }
+
+    private Mono<Total> exactTotal(StudentListQuery query, String where) {
+        DatabaseClient.GenericExecuteSpec count = client.sql("SELECT COUNT(*) FROM students" + where);
+        if (query.isFiltered()) {
+            count = count.bind("pattern", likePattern(query.getTerm()));
+        }
+        return count.map(row -> row.get(0, Long.class)).one()
+                .map(total -> new Total(total, StudentCountMode.EXACT));
+    }
+
+    private static String condition(StudentSearchField field) {
+        switch (field) {
+            case CPF:
+                return "cpf LIKE :pattern ESCAPE '\\'";
+            case EMAIL:
+                return "LOWER(email) LIKE :pattern ESCAPE '\\'";
+            case MATRICULA:
+                return "matricula LIKE :pattern ESCAPE '\\'";
+            case NAME:
+                return "LOWER(name) LIKE :pattern ESCAPE '\\'";
+            default:
+                // ALL é desdobrado em consultas por campo no caso de uso
+                throw new IllegalArgumentException("Campo de busca sem coluna: " + field);
+        }
+    }
+
+    private static String likePattern(String term) {
+        String escaped = term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static StudentSummary toSummary(Readable row) {
+        return new StudentSummary(
+                row.get("id", String.class),
+                row.get("matricula", String.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("cpf", String.class),
+                row.get("status", String.class),
+                row.get("created_at", LocalDateTime.class));
+    }
+
+    private static final class Total {
+        private final long value;
+        private final StudentCountMode mode;
+
+        private Total(long value, StudentCountMode mode) {
+            this.value = value;
+            this.mode = mode;
+        }
+    }
+}
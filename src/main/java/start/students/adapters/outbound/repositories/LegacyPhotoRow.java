@@ -0,0 +1,10 @@
+package start.students.adapters.outbound.repositories;
+
+/**
+ * Linha com a foto ainda gravada na antiga coluna students.photo
+ */
+public interface LegacyPhotoRow {
+    String getId();
+
+    String getPhoto();
+}
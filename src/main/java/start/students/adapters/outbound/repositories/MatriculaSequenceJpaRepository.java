@@ -0,0 +1,25 @@
+package start.students.adapters.outbound.repositories;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import start.students.adapters.outbound.persistence.entities.MatriculaSequenceJpaEntity;
+
+import java.util.Optional;
+
+@Repository
+public interface MatriculaSequenceJpaRepository extends JpaRepository<MatriculaSequenceJpaEntity, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM MatriculaSequenceJpaEntity m WHERE m.year = :year")
+    Optional<MatriculaSequenceJpaEntity> findForUpdate(@Param("year") Integer year);
+
+    @Modifying
+    @Query(value = "INSERT INTO matricula_sequences (sequence_year, next_value) VALUES (:year, :nextValue) " +
+            "ON CONFLICT (sequence_year) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("year") Integer year, @Param("nextValue") Long nextValue);
+}
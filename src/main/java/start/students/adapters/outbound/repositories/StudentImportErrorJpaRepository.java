@@ -0,0 +1,14 @@
+package start.students.adapters.outbound.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import start.students.adapters.outbound.persistence.entities.StudentImportErrorJpaEntity;
+
+import java.util.List;
+
+@Repository
+public interface StudentImportErrorJpaRepository extends JpaRepository<StudentImportErrorJpaEntity, Long> {
+
+    List<StudentImportErrorJpaEntity> findByJobIdOrderByRowNumber(String jobId, Pageable pageable);
+}
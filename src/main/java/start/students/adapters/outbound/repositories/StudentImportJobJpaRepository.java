@@ -0,0 +1,52 @@
+package start.students.adapters.outbound.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import start.students.adapters.outbound.persistence.entities.StudentImportJobJpaEntity;
+import start.students.core.domain.valueobjects.StudentImportStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StudentImportJobJpaRepository extends JpaRepository<StudentImportJobJpaEntity, String> {
+
+    List<StudentImportJobJpaEntity> findByStatusInOrderByCreatedAt(Collection<StudentImportStatus> statuses);
+
+    /**
+     * Toma posse de uma importação na fila ou com lease vencido; só um nó consegue, pois a troca é condicional
+     * O lease usa o relógio do banco, e não o dos nós
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE student_import_jobs SET status = 'RUNNING', owner = :owner, message = NULL, " +
+            "lease_until = LOCALTIMESTAMP + make_interval(secs => :leaseSeconds), " +
+            "updated_at = LOCALTIMESTAMP, version = version + 1 " +
+            "WHERE id = :id AND (status = 'QUEUED' OR (status = 'RUNNING' AND " +
+            "(lease_until IS NULL OR lease_until < LOCALTIMESTAMP)))", nativeQuery = true)
+    int claim(@Param("id") String id, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Heartbeat: estende o lease enquanto o nó ainda é o dono; não altera a versão
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE student_import_jobs SET lease_until = LOCALTIMESTAMP + make_interval(secs => :leaseSeconds) " +
+            "WHERE id = :id AND owner = :owner AND status = 'RUNNING'", nativeQuery = true)
+    int renewLease(@Param("id") String id, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Devolve à fila uma importação com falha ou cujo dono parou de mandar heartbeat
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE student_import_jobs SET status = 'QUEUED', owner = NULL, lease_until = NULL, " +
+            "updated_at = LOCALTIMESTAMP, version = version + 1 " +
+            "WHERE id = :id AND (status = 'FAILED' OR (status = 'RUNNING' AND " +
+            "(lease_until IS NULL OR lease_until < LOCALTIMESTAMP)))", nativeQuery = true)
+    int requeue(@Param("id") String id);
+}
@@ -1,26 +1,108 @@
 package start.students.adapters.outbound.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import start.students.adapters.outbound.persistence.entities.StudentJpaEntity;
+import start.students.core.domain.entities.StudentSummary;
+import start.students.core.domain.valueobjects.StudentVersion;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentJpaRepository extends JpaRepository<StudentJpaEntity, String> {
 
-    Page<StudentJpaEntity> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    String SUMMARY_SELECT = "SELECT new start.students.core.domain.entities.StudentSummary(" +
+            "s.id, s.matricula, s.name, s.email, s.cpf, s.status, s.createdAt) FROM StudentJpaEntity s";
+
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(s) FROM StudentJpaEntity s")
+    Page<StudentSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE LOWER(s.name) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT COUNT(s) FROM StudentJpaEntity s WHERE LOWER(s.name) LIKE :pattern ESCAPE '\\'")
+    Page<StudentSummary> findSummariesByNameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE s.cpf LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT COUNT(s) FROM StudentJpaEntity s WHERE s.cpf LIKE :pattern ESCAPE '\\'")
+    Page<StudentSummary> findSummariesByCpfLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE LOWER(s.email) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT COUNT(s) FROM StudentJpaEntity s WHERE LOWER(s.email) LIKE :pattern ESCAPE '\\'")
+    Page<StudentSummary> findSummariesByEmailLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE s.matricula LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT COUNT(s) FROM StudentJpaEntity s WHERE s.matricula LIKE :pattern ESCAPE '\\'")
+    Page<StudentSummary> findSummariesByMatriculaLike(@Param("pattern") String pattern, Pageable pageable);
+
+    // Variantes sem COUNT: o Spring Data busca size + 1 linhas para saber se há próxima página
+    @Query(SUMMARY_SELECT)
+    Slice<StudentSummary> findSummarySlice(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE LOWER(s.name) LIKE :pattern ESCAPE '\\'")
+    Slice<StudentSummary> findSummarySliceByNameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE s.cpf LIKE :pattern ESCAPE '\\'")
+    Slice<StudentSummary> findSummarySliceByCpfLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE LOWER(s.email) LIKE :pattern ESCAPE '\\'")
+    Slice<StudentSummary> findSummarySliceByEmailLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE s.matricula LIKE :pattern ESCAPE '\\'")
+    Slice<StudentSummary> findSummarySliceByMatriculaLike(@Param("pattern") String pattern, Pageable pageable);
+
+    // Contagens limitadas: a varredura para ao atingir :cap linhas
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM students WHERE deleted_at IS NULL AND LOWER(name) LIKE :pattern ESCAPE '\\' LIMIT :cap) t",
+            nativeQuery = true)
+    long countByNameLikeUpTo(@Param("pattern") String pattern, @Param("cap") long cap);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM students WHERE deleted_at IS NULL AND cpf LIKE :pattern ESCAPE '\\' LIMIT :cap) t",
+            nativeQuery = true)
+    long countByCpfLikeUpTo(@Param("pattern") String pattern, @Param("cap") long cap);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM students WHERE deleted_at IS NULL AND LOWER(email) LIKE :pattern ESCAPE '\\' LIMIT :cap) t",
+            nativeQuery = true)
+    long countByEmailLikeUpTo(@Param("pattern") String pattern, @Param("cap") long cap);
 
-    Page<StudentJpaEntity> findByCpfContaining(String cpf, Pageable pageable);
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM students WHERE deleted_at IS NULL AND matricula LIKE :pattern ESCAPE '\\' LIMIT :cap) t",
+            nativeQuery = true)
+    long countByMatriculaLikeUpTo(@Param("pattern") String pattern, @Param("cap") long cap);
 
-    Page<StudentJpaEntity> findByEmailContainingIgnoreCase(String email, Pageable pageable);
+    /**
+     * Estimativa do planejador: densidade de reltuples/relpages aplicada ao tamanho atual da tabela
+     * Nulo quando a tabela ainda não foi analisada
+     */
+    @Query(value = "SELECT CAST(reltuples / relpages * (pg_relation_size(oid) / CAST(current_setting('block_size') AS integer)) AS bigint) " +
+            "FROM pg_class WHERE oid = to_regclass('students') AND relpages > 0 AND reltuples >= 0",
+            nativeQuery = true)
+    Long estimateRowCount();
 
-    @Query("SELECT s FROM StudentJpaEntity s WHERE CAST(s.matricula AS string) LIKE :matricula")
-    Page<StudentJpaEntity> findByIdContaining(@Param("matricula") String matricula, Pageable pageable);
+    /**
+     * Marca de escrita da tabela: maiores updated_at e deleted_at (inclusive tombstones), em microssegundos
+     * Cada MAX é uma leitura na ponta de um índice (idx_students_updated_at e idx_students_deleted_at)
+     */
+    @Query(value = "SELECT COALESCE(CAST(EXTRACT(EPOCH FROM MAX(updated_at)) * 1000000 AS bigint), 0) || '-' || " +
+            "COALESCE(CAST(EXTRACT(EPOCH FROM MAX(deleted_at)) * 1000000 AS bigint), 0) FROM students",
+            nativeQuery = true)
+    String findWriteMark();
 
-    Page<StudentJpaEntity> findByMatriculaContaining(String matricula, Pageable pageable);
+    @Query(SUMMARY_SELECT + " WHERE s.id IN :ids")
+    List<StudentSummary> findSummariesByIdIn(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT new start.students.core.domain.valueobjects.StudentVersion(s.version, s.updatedAt) " +
+            "FROM StudentJpaEntity s WHERE s.id = :id")
+    Optional<StudentVersion> findVersionById(@Param("id") String id);
 
     boolean existsByCpf(String cpf);
 
@@ -29,6 +111,80 @@ public interface StudentJpaRepository extends JpaRepository<StudentJpaEntity, St
     @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM StudentJpaEntity s WHERE LOWER(s.email) = LOWER(:email)")
     boolean existsByEmailIgnoreCase(@Param("email") String email);
 
-    @Query(value = "SELECT MAX(CAST(matricula AS INTEGER)) FROM students", nativeQuery = true)
-    Long findMaxMatricula();
+    // LOWER(s.email) corresponde ao índice único parcial ux_students_email_lower_live (schema.sql)
+    @Query("SELECT s.cpf AS cpf, LOWER(s.email) AS email FROM StudentJpaEntity s " +
+            "WHERE (s.cpf = :cpf OR LOWER(s.email) = :email) AND s.id <> :excludingId")
+    List<StudentUniqueKeyRow> findUniqueKeyConflicts(@Param("cpf") String cpf,
+                                                     @Param("email") String email,
+                                                     @Param("excludingId") String excludingId);
+
+    @Query("SELECT s.cpf AS cpf, LOWER(s.email) AS email FROM StudentJpaEntity s " +
+            "WHERE s.cpf IN :cpfs OR LOWER(s.email) IN :emails")
+    List<StudentUniqueKeyRow> findUniqueKeyConflicts(@Param("cpfs") Collection<String> cpfs,
+                                                     @Param("emails") Collection<String> emails);
+
+    // Inclui os excluídos: a matrícula continua única entre todas as linhas, até o expurgo
+    @Query(value = "SELECT MAX(matricula) FROM students WHERE matricula LIKE :prefix AND LENGTH(matricula) = 9",
+            nativeQuery = true)
+    String findMaxMatriculaWithPrefix(@Param("prefix") String prefix);
+
+    @Query(SUMMARY_SELECT + " ORDER BY s.createdAt, s.id")
+    List<StudentSummary> findSummariesByCreationOrder(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE (s.createdAt, s.id) > (:createdAt, :id) ORDER BY s.createdAt, s.id")
+    List<StudentSummary> findSummariesAfterByCreationOrder(@Param("createdAt") LocalDateTime createdAt,
+                                                           @Param("id") String id,
+                                                           Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.id AS id, s.name AS name, s.email AS email, s.cpf AS cpf, s.matricula AS matricula " +
+            "FROM StudentJpaEntity s")
+    Stream<StudentSearchRow> streamSearchRows();
+
+    /**
+     * Alunos gravados ou excluídos a partir de :since, por qualquer nó (nativa: inclui os tombstones)
+     * Atendida pelos índices idx_students_updated_at e idx_students_deleted_at
+     */
+    @Query(value = "SELECT id, name, email, cpf, matricula, deleted_at IS NOT NULL AS deleted FROM students " +
+            "WHERE updated_at >= :since OR deleted_at >= :since",
+            nativeQuery = true)
+    List<StudentSearchChangeRow> findSearchChangesSince(@Param("since") LocalDateTime since);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM StudentJpaEntity s ORDER BY s.createdAt, s.id")
+    Stream<StudentJpaEntity> streamAllByCreationOrder();
+
+    @Modifying
+    @Query(value = "UPDATE students SET deleted_at = :deletedAt, version = version + 1 " +
+            "WHERE id = :id AND deleted_at IS NULL", nativeQuery = true)
+    int softDeleteById(@Param("id") String id, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Expurga um lote de tombstones, dos mais antigos para os mais novos (índice parcial idx_students_deleted_at)
+     * SKIP LOCKED deixa nós rodando o expurgo ao mesmo tempo pegarem lotes diferentes
+     */
+    @Modifying
+    @Query(value = "DELETE FROM students WHERE id IN (SELECT id FROM students " +
+            "WHERE deleted_at IS NOT NULL AND deleted_at < :deletedBefore ORDER BY deleted_at LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int purgeDeletedBefore(@Param("deletedBefore") LocalDateTime deletedBefore, @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM information_schema.columns " +
+            "WHERE table_schema = current_schema() AND table_name = 'students' AND column_name = 'photo'",
+            nativeQuery = true)
+    long countLegacyPhotoColumn();
+
+    @Query(value = "SELECT id, photo FROM students WHERE photo IS NOT NULL LIMIT :limit", nativeQuery = true)
+    List<LegacyPhotoRow> findLegacyPhotos(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE students SET photo_ref = :photoRef, photo = NULL WHERE id = :id", nativeQuery = true)
+    int moveLegacyPhoto(@Param("id") String id, @Param("photoRef") String photoRef);
 }
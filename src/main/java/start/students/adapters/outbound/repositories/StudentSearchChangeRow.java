@@ -0,0 +1,8 @@
+package start.students.adapters.outbound.repositories;
+
+/**
+ * Linha alterada desde a última sincronização do índice de busca, inclusive tombstones
+ */
+public interface StudentSearchChangeRow extends StudentSearchRow {
+    boolean getDeleted();
+}
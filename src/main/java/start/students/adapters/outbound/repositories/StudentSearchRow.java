@@ -0,0 +1,16 @@
+package start.students.adapters.outbound.repositories;
+
+/**
+ * Projeção com apenas os campos pesquisáveis do aluno
+ */
+public interface StudentSearchRow {
+    String getId();
+
+    String getName();
+
+    String getEmail();
+
+    String getCpf();
+
+    String getMatricula();
+}
@@ -0,0 +1,10 @@
+package start.students.adapters.outbound.repositories;
+
+/**
+ * Projeção das chaves únicas de um aluno, usada na checagem de conflitos em lote
+ */
+public interface StudentUniqueKeyRow {
+    String getCpf();
+
+    String getEmail();
+}
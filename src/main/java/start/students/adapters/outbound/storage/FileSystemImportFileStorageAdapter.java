@@ -0,0 +1,85 @@
+package start.students.adapters.outbound.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import start.students.core.ports.ImportFileStoragePort;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Guarda em disco os arquivos enviados para importação até que ela termine
+ * Manter o arquivo permite retomar a importação a partir do último bloco gravado
+ * Com vários nós, o diretório deve ser compartilhado para que qualquer nó retome a importação;
+ * num diretório local, só o nó que recebeu o arquivo consegue retomá-la
+ */
+@Component
+public class FileSystemImportFileStorageAdapter implements ImportFileStoragePort {
+
+    private final Path directory;
+
+    public FileSystemImportFileStorageAdapter(@Value("${students.imports.directory:./data/imports}") String directory) {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String store(InputStream content) {
+        String reference = UUID.randomUUID().toString();
+        try {
+            Files.createDirectories(directory);
+            Files.copy(content, pathOf(reference), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao armazenar arquivo de importação", e);
+        }
+        return reference;
+    }
+
+    @Override
+    public long size(String reference) {
+        try {
+            return Files.size(pathOf(reference));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler arquivo de importação " + reference, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String reference) {
+        return Files.isRegularFile(pathOf(reference));
+    }
+
+    @Override
+    public InputStream open(String reference, long offset) {
+        try {
+            SeekableByteChannel channel = Files.newByteChannel(pathOf(reference), StandardOpenOption.READ);
+            channel.position(offset);
+            return new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir arquivo de importação " + reference, e);
+        }
+    }
+
+    @Override
+    public void delete(String reference) {
+        try {
+            Files.deleteIfExists(pathOf(reference));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao remover arquivo de importação " + reference, e);
+        }
+    }
+
+    private Path pathOf(String reference) {
+        // A referência é sempre um UUID gerado aqui; qualquer outra coisa é rejeitada
+        return directory.resolve(UUID.fromString(reference) + ".csv");
+    }
+}
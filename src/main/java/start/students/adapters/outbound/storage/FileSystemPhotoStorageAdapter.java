@@ -0,0 +1,90 @@
+package start.students.adapters.outbound.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import start.students.core.domain.exceptions.DomainException;
+import start.students.core.ports.PhotoStoragePort;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Armazena fotos no sistema de arquivos, endereçadas pelo SHA-256 do conteúdo
+ * Fotos idênticas compartilham o mesmo arquivo; a referência é o hash em hexadecimal
+ */
+@Component
+public class FileSystemPhotoStorageAdapter implements PhotoStoragePort {
+
+    private final Path directory;
+
+    public FileSystemPhotoStorageAdapter(@Value("${students.photos.directory:./data/photos}") String directory) {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String store(String photo) {
+        byte[] content = photo.getBytes(StandardCharsets.UTF_8);
+        String reference = sha256(content);
+        Path target = pathOf(reference);
+        if (Files.exists(target)) {
+            return reference;
+        }
+
+        try {
+            Files.createDirectories(target.getParent());
+            // Escrever em arquivo temporário e mover, para nunca expor uma foto pela metade
+            Path temp = Files.createTempFile(target.getParent(), reference, ".tmp");
+            try {
+                Files.write(temp, content);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Mesma foto gravada em paralelo: o conteúdo é idêntico
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao armazenar foto " + reference, e);
+        }
+        return reference;
+    }
+
+    @Override
+    public Optional<String> load(String reference) {
+        if (reference == null || !reference.matches("[0-9a-f]{64}")) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readString(pathOf(reference), StandardCharsets.UTF_8));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler foto " + reference, e);
+        }
+    }
+
+    /**
+     * Dois níveis de diretório pelo prefixo do hash, para não concentrar tudo numa pasta
+     */
+    private Path pathOf(String reference) {
+        return directory.resolve(reference.substring(0, 2)).resolve(reference.substring(2, 4)).resolve(reference);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new DomainException("SHA-256 indisponível", e);
+        }
+    }
+}
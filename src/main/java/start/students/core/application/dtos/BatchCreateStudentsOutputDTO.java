@@ -0,0 +1,15 @@
+package start.students.core.application.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BatchCreateStudentsOutputDTO {
+    private int total;
+    private int created;
+    private int failed;
+    private List<BatchItemErrorDTO> errors;
+}
@@ -0,0 +1,14 @@
+package start.students.core.application.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchItemErrorDTO {
+    // Posição do item na lista enviada (base 0)
+    private int index;
+    private String message;
+}
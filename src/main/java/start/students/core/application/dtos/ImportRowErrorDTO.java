@@ -0,0 +1,14 @@
+package start.students.core.application.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRowErrorDTO {
+    // Linha de dados do arquivo (a partir de 1, sem contar o cabeçalho)
+    private long row;
+    private String message;
+}
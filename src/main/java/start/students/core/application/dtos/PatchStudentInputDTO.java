@@ -0,0 +1,74 @@
+package start.students.core.application.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import start.students.core.application.dtos.validators.ValidEmail;
+import start.students.core.application.dtos.validators.ValidPhone;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Corpo do PATCH em JSON Merge Patch (RFC 7396): campo ausente não muda, campo com null é removido
+ * O Jackson só chama os setters dos campos presentes no corpo, o que registra quais foram enviados
+ */
+@Data
+public class PatchStudentInputDTO {
+    @Size(min = 2, max = 100, message = "Nome deve ter entre 2 e 100 caracteres")
+    private String name;
+
+    @Size(min = 11, max = 14, message = "CPF deve ter formato válido")
+    private String cpf;
+
+    @ValidEmail(message = "Email deve conter apenas caracteres ASCII válidos (sem acentos ou cedilha)")
+    private String email;
+
+    @ValidPhone(message = "Telefone deve ter 10 dígitos (fixo) ou 11 dígitos (celular)")
+    private String phone;
+
+    @Size(max = 2097152, message = "Foto não pode ser maior que 2MB") // 2MB em base64
+    private String photo;
+
+    private String status;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final Set<String> present = new HashSet<>();
+
+    public void setName(String name) {
+        this.name = name;
+        present.add("name");
+    }
+
+    public void setCpf(String cpf) {
+        this.cpf = cpf;
+        present.add("cpf");
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+        present.add("email");
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+        present.add("phone");
+    }
+
+    public void setPhoto(String photo) {
+        this.photo = photo;
+        present.add("photo");
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+        present.add("status");
+    }
+
+    public boolean has(String field) {
+        return present.contains(field);
+    }
+}
@@ -0,0 +1,15 @@
+package start.students.core.application.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class StudentCursorPagedOutputDTO {
+    private List<StudentSummaryOutputDTO> content;
+    private int size;
+    private String nextCursor;
+    private boolean last;
+}
@@ -0,0 +1,23 @@
+package start.students.core.application.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class StudentImportOutputDTO {
+    private String id;
+    private String status;
+    // Percentual do arquivo já gravado (0 a 100)
+    private double progress;
+    private long processedRows;
+    private long createdRows;
+    private long failedRows;
+    private String message;
+    private List<ImportRowErrorDTO> errors;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -18,4 +18,5 @@ public class StudentOutputDTO {
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
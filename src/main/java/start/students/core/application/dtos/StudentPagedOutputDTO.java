@@ -8,11 +8,14 @@ import java.util.List;
 @Data
 @Builder
 public class StudentPagedOutputDTO {
-    private List<StudentOutputDTO> content;
+    private List<StudentSummaryOutputDTO> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    // Nulos quando countMode é "none"
+    private Long totalElements;
+    private Integer totalPages;
     private boolean first;
     private boolean last;
+    // Como o total foi obtido: exact, estimate, cached ou none
+    private String countMode;
 }
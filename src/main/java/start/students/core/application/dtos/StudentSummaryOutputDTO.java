@@ -0,0 +1,15 @@
+package start.students.core.application.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class StudentSummaryOutputDTO {
+    private String id;
+    private String matricula;
+    private String name;
+    private String email;
+    private String cpf;
+    private String status;
+}
@@ -0,0 +1,165 @@
+package start.students.core.application.imports;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) em streaming, que lê um registro por vez
+ * Trabalha sobre bytes UTF-8 para saber a posição exata de cada registro no arquivo:
+ * vírgula, aspas e quebras de linha são ASCII e nunca aparecem dentro de um caractere multibyte
+ */
+public class CsvRecordReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RECORD_BYTES = 8 * 1024 * 1024;
+
+    private final InputStream input;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final ByteArrayOutputStream field = new ByteArrayOutputStream();
+    private int position;
+    private int limit;
+    private long offset;
+    private int recordBytes;
+
+    public CsvRecordReader(InputStream input, long startOffset) {
+        this.input = input;
+        this.offset = startOffset;
+    }
+
+    /**
+     * Próximo registro não vazio, ou null no fim do arquivo
+     */
+    public List<String> next() throws IOException {
+        if (offset == 0) {
+            skipByteOrderMark();
+        }
+        while (true) {
+            List<String> record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            boolean blank = record.size() == 1 && record.get(0).isEmpty();
+            if (!blank) {
+                return record;
+            }
+        }
+    }
+
+    /**
+     * Posição em bytes logo após o último registro retornado
+     */
+    public long offset() {
+        return offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        field.reset();
+        recordBytes = 0;
+        boolean quoted = false;
+        boolean started = false;
+
+        while (true) {
+            int b = read();
+            if (b < 0) {
+                if (quoted) {
+                    throw new IOException("Aspas não fechadas no fim do arquivo");
+                }
+                if (!started) {
+                    return null;
+                }
+                fields.add(takeField());
+                return fields;
+            }
+            started = true;
+
+            if (quoted) {
+                if (b == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.write('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.write(b);
+                }
+            } else if (b == '"' && field.size() == 0) {
+                quoted = true;
+            } else if (b == ',') {
+                fields.add(takeField());
+            } else if (b == '\n' || b == '\r') {
+                if (b == '\r' && peek() == '\n') {
+                    read();
+                }
+                fields.add(takeField());
+                return fields;
+            } else {
+                field.write(b);
+            }
+        }
+    }
+
+    private String takeField() {
+        String value = field.toString(StandardCharsets.UTF_8);
+        field.reset();
+        return value;
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        if (peek() == 0xEF) {
+            fill();
+            if (limit - position >= 3 && (buffer[position + 1] & 0xFF) == 0xBB && (buffer[position + 2] & 0xFF) == 0xBF) {
+                position += 3;
+                offset += 3;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        if (++recordBytes > MAX_RECORD_BYTES) {
+            throw new IOException("Linha excede o tamanho máximo de " + MAX_RECORD_BYTES + " bytes");
+        }
+        offset++;
+        return buffer[position++] & 0xFF;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    /**
+     * Garante bytes disponíveis no buffer, preservando os ainda não consumidos
+     */
+    private boolean fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        while (limit < 3) {
+            int read = input.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                break;
+            }
+            limit += read;
+        }
+        return position < limit;
+    }
+}
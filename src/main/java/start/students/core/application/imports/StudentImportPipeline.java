@@ -0,0 +1,427 @@
+package start.students.core.application.imports;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import start.students.core.application.dtos.CreateStudentInputDTO;
+import start.students.core.application.mappers.StudentMapper;
+import start.students.core.domain.entities.Student;
+import start.students.core.domain.entities.StudentImportError;
+import start.students.core.domain.entities.StudentImportJob;
+import start.students.core.domain.exceptions.DomainException;
+import start.students.core.domain.valueobjects.StudentConflicts;
+import start.students.core.domain.valueobjects.StudentImportStatus;
+import start.students.core.ports.ImportFileStoragePort;
+import start.students.core.ports.MatriculaGeneratorPort;
+import start.students.core.ports.StudentImportJobRepositoryPort;
+import start.students.core.ports.StudentRepositoryPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Executa importações de CSV em dois estágios ligados por uma fila limitada:
+ * leitura + validação em uma thread e, na outra, deduplicação e gravação em blocos transacionais
+ * Cada bloco grava os alunos, os erros e a nova posição do arquivo na mesma transação,
+ * de modo que uma importação interrompida é retomada exatamente após o último bloco gravado
+ * Antes de rodar, o nó toma posse do job com uma troca condicional no banco e mantém um lease por heartbeat;
+ * se outro nó assumir o job (lease vencido), a versão do job muda e os blocos deste nó deixam de ser gravados
+ */
+@Slf4j
+@Component
+public class StudentImportPipeline {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "cpf", "email", "phone");
+
+    private final StudentImportJobRepositoryPort jobRepository;
+    private final StudentRepositoryPort studentRepository;
+    private final ImportFileStoragePort fileStorage;
+    private final MatriculaGeneratorPort matriculaGenerator;
+    private final StudentMapper studentMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final Duration lease;
+    private final String nodeId;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService heartbeats;
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public StudentImportPipeline(StudentImportJobRepositoryPort jobRepository,
+                                 StudentRepositoryPort studentRepository,
+                                 ImportFileStoragePort fileStorage,
+                                 MatriculaGeneratorPort matriculaGenerator,
+                                 StudentMapper studentMapper,
+                                 Validator validator,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${students.imports.chunk-size:500}") int chunkSize,
+                                 @Value("${students.imports.queue-capacity:4}") int queueCapacity,
+                                 @Value("${students.imports.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                                 @Value("${students.imports.lease:PT30S}") Duration lease,
+                                 @Value("${students.imports.node-id:}") String nodeId) {
+        this.jobRepository = jobRepository;
+        this.studentRepository = studentRepository;
+        this.fileStorage = fileStorage;
+        this.matriculaGenerator = matriculaGenerator;
+        this.studentMapper = studentMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.lease = lease;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrentJobs, runnable -> {
+            Thread thread = new Thread(runnable, "student-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "student-import-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Agenda a execução da importação; ignorada se ela já estiver rodando neste nó
+     * A execução só começa se o nó enxergar o arquivo e conseguir tomar posse do job
+     */
+    public void submit(String jobId) {
+        if (runningJobs.add(jobId)) {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    runningJobs.remove(jobId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Lê o cabeçalho do arquivo e retorna a posição da primeira linha de dados
+     * Lança DomainException se faltar alguma coluna obrigatória
+     */
+    public long readHeaderEnd(String fileReference) {
+        try (CsvRecordReader reader = new CsvRecordReader(fileStorage.open(fileReference, 0), 0)) {
+            columnsOf(reader.next());
+            return reader.offset();
+        } catch (IOException e) {
+            throw new DomainException("Arquivo CSV inválido: " + e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void run(String jobId) {
+        StudentImportJob pending = jobRepository.findById(jobId).orElse(null);
+        if (pending == null || !fileStorage.exists(pending.getFileReference())) {
+            log.debug("Importação {} ignorada: arquivo não está acessível neste nó", jobId);
+            return;
+        }
+        if (!jobRepository.claim(jobId, nodeId, lease)) {
+            log.debug("Importação {} já está com outro nó", jobId);
+            return;
+        }
+        StudentImportJob job = jobRepository.findById(jobId).orElseThrow();
+        log.info("Importação {} iniciada pelo nó {} na posição {} de {} bytes",
+                jobId, nodeId, job.getCommittedOffset(), job.getFileSize());
+
+        AtomicBoolean leaseLost = new AtomicBoolean();
+        long heartbeatMillis = Math.max(1, lease.toMillis() / 3);
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleWithFixedDelay(
+                () -> renewLease(jobId, leaseLost), heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+
+        BlockingQueue<ImportChunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+        StudentImportJob start = job;
+        Thread parser = new Thread(() -> parse(start, queue), "student-import-parser-" + jobId);
+        parser.setDaemon(true);
+        parser.start();
+
+        try {
+            while (true) {
+                ImportChunk chunk = queue.take();
+                if (chunk.failure != null) {
+                    throw chunk.failure;
+                }
+                if (chunk.rows.isEmpty()) {
+                    break;
+                }
+                if (leaseLost.get()) {
+                    throw new IllegalStateException("Importação assumida por outro nó");
+                }
+                job = write(job, chunk);
+            }
+            job.setStatus(StudentImportStatus.COMPLETED);
+            job = touch(job);
+            fileStorage.delete(job.getFileReference());
+            log.info("Importação {} concluída: {} criados, {} com erro", jobId, job.getCreatedRows(), job.getFailedRows());
+        } catch (Exception e) {
+            parser.interrupt();
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("Importação {} interrompida na posição {}", jobId, job.getCommittedOffset(), e);
+            markFailed(jobId, e);
+        } finally {
+            heartbeat.cancel(false);
+        }
+    }
+
+    /**
+     * O job é relido: a cópia em memória pode conter o avanço de um bloco desfeito
+     * Só o dono atual marca a falha; se outro nó assumiu, o job segue com ele
+     */
+    private void markFailed(String jobId, Exception cause) {
+        try {
+            jobRepository.findById(jobId)
+                    .filter(failed -> failed.getStatus() == StudentImportStatus.RUNNING && nodeId.equals(failed.getOwner()))
+                    .ifPresent(failed -> {
+                        failed.setStatus(StudentImportStatus.FAILED);
+                        failed.setMessage(cause.getMessage());
+                        touch(failed);
+                    });
+        } catch (RuntimeException e) {
+            log.warn("Falha ao registrar o erro da importação {}", jobId, e);
+        }
+    }
+
+    private void renewLease(String jobId, AtomicBoolean leaseLost) {
+        try {
+            if (!jobRepository.renewLease(jobId, nodeId, lease)) {
+                log.warn("Importação {} perdeu o lease neste nó", jobId);
+                leaseLost.set(true);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao renovar o lease da importação {}", jobId, e);
+        }
+    }
+
+    /**
+     * Estágio de leitura e validação; termina com um bloco vazio (fim) ou com a falha
+     */
+    private void parse(StudentImportJob job, BlockingQueue<ImportChunk> queue) {
+        try {
+            Map<String, Integer> columns;
+            try (CsvRecordReader header = new CsvRecordReader(fileStorage.open(job.getFileReference(), 0), 0)) {
+                columns = columnsOf(header.next());
+            }
+
+            InputStream input = fileStorage.open(job.getFileReference(), job.getCommittedOffset());
+            try (CsvRecordReader reader = new CsvRecordReader(input, job.getCommittedOffset())) {
+                long row = job.getProcessedRows();
+                List<ImportRow> rows = new ArrayList<>(chunkSize);
+                List<String> record;
+                while ((record = reader.next()) != null) {
+                    rows.add(validate(++row, toInput(record, columns)));
+                    if (rows.size() == chunkSize) {
+                        queue.put(new ImportChunk(rows, reader.offset(), null));
+                        rows = new ArrayList<>(chunkSize);
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    queue.put(new ImportChunk(rows, reader.offset(), null));
+                }
+            }
+            queue.put(new ImportChunk(List.of(), job.getFileSize(), null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            try {
+                queue.put(new ImportChunk(List.of(), 0, e));
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private ImportRow validate(long row, CreateStudentInputDTO input) {
+        Set<ConstraintViolation<CreateStudentInputDTO>> violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return new ImportRow(row, input, null);
+        }
+        return new ImportRow(row, input, violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; ")));
+    }
+
+    /**
+     * Estágio de gravação: deduplica o bloco e grava alunos, erros e posição numa única transação
+     * Uma violação de unicidade (cadastro concorrente) refaz o bloco uma vez, com a checagem atualizada;
+     * depende de insertAll lançar DataIntegrityViolationException, e não a exceção nativa do Hibernate
+     */
+    private StudentImportJob write(StudentImportJob job, ImportChunk chunk) {
+        try {
+            return writeOnce(job, chunk);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Bloco da importação {} conflitou com cadastro concorrente; repetindo", job.getId());
+            StudentImportJob current = jobRepository.findById(job.getId()).orElseThrow();
+            return writeOnce(current, chunk);
+        }
+    }
+
+    private StudentImportJob writeOnce(StudentImportJob job, ImportChunk chunk) {
+        List<StudentImportError> errors = new ArrayList<>();
+        List<ImportRow> candidates = new ArrayList<>(chunk.rows.size());
+        Map<String, Long> cpfs = new HashMap<>();
+        Map<String, Long> emails = new HashMap<>();
+        for (ImportRow row : chunk.rows) {
+            if (row.error != null) {
+                errors.add(new StudentImportError(row.number, row.error));
+                continue;
+            }
+            Long sameCpf = cpfs.putIfAbsent(row.input.getCpf(), row.number);
+            Long sameEmail = emails.putIfAbsent(row.input.getEmail().toLowerCase(Locale.ROOT), row.number);
+            if (sameCpf != null) {
+                errors.add(new StudentImportError(row.number, "CPF repetido no arquivo (linha " + sameCpf + ")"));
+            } else if (sameEmail != null) {
+                errors.add(new StudentImportError(row.number, "Email repetido no arquivo (linha " + sameEmail + ")"));
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        // Linhas de blocos anteriores já estão gravadas, então a checagem no banco cobre o arquivo todo
+        StudentConflicts conflicts = studentRepository.findConflicts(
+                candidates.stream().map(row -> row.input.getCpf()).collect(Collectors.toList()),
+                candidates.stream().map(row -> row.input.getEmail()).collect(Collectors.toList()));
+        List<ImportRow> writable = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (conflicts.hasCpf(row.input.getCpf())) {
+                errors.add(new StudentImportError(row.number, "CPF já está cadastrado"));
+            } else if (conflicts.hasEmail(row.input.getEmail())) {
+                errors.add(new StudentImportError(row.number, "Email já está cadastrado"));
+            } else {
+                writable.add(row);
+            }
+        }
+
+        List<String> matriculas = matriculaGenerator.nextMatriculas(writable.size());
+        List<Student> students = new ArrayList<>(writable.size());
+        for (int i = 0; i < writable.size(); i++) {
+            students.add(studentMapper.toEntity(writable.get(i).input, matriculas.get(i)));
+        }
+
+        StudentImportJob advanced = copyOf(job);
+        advanced.setCommittedOffset(chunk.endOffset);
+        advanced.setProcessedRows(job.getProcessedRows() + chunk.rows.size());
+        advanced.setCreatedRows(job.getCreatedRows() + students.size());
+        advanced.setFailedRows(job.getFailedRows() + errors.size());
+        advanced.setUpdatedAt(LocalDateTime.now());
+        return transactionTemplate.execute(status -> {
+            studentRepository.insertAll(students);
+            if (!errors.isEmpty()) {
+                jobRepository.saveErrors(job.getId(), errors);
+            }
+            return jobRepository.save(advanced);
+        });
+    }
+
+    private StudentImportJob touch(StudentImportJob job) {
+        job.setUpdatedAt(LocalDateTime.now());
+        return jobRepository.save(job);
+    }
+
+    private static StudentImportJob copyOf(StudentImportJob job) {
+        return new StudentImportJob(job.getId(), job.getFileReference(), job.getFileSize(), job.getStatus(),
+                job.getCommittedOffset(), job.getProcessedRows(), job.getCreatedRows(), job.getFailedRows(),
+                job.getMessage(), job.getCreatedAt(), job.getUpdatedAt(), job.getOwner(), job.getLeaseUntil(),
+                job.getVersion());
+    }
+
+    private static Map<String, Integer> columnsOf(List<String> header) {
+        if (header == null) {
+            throw new DomainException("Arquivo CSV vazio");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new DomainException("Colunas obrigatórias ausentes no CSV: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static CreateStudentInputDTO toInput(List<String> record, Map<String, Integer> columns) {
+        CreateStudentInputDTO input = new CreateStudentInputDTO();
+        input.setName(valueOf(record, columns.get("name")));
+        input.setCpf(valueOf(record, columns.get("cpf")));
+        input.setEmail(valueOf(record, columns.get("email")));
+        input.setPhone(valueOf(record, columns.get("phone")));
+        input.setPhoto(valueOf(record, columns.get("photo")));
+        return input;
+    }
+
+    private static String valueOf(List<String> record, Integer column) {
+        if (column == null || column >= record.size()) {
+            return null;
+        }
+        String value = record.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static final class ImportRow {
+        private final long number;
+        private final CreateStudentInputDTO input;
+        private final String error;
+
+        private ImportRow(long number, CreateStudentInputDTO input, String error) {
+            this.number = number;
+            this.input = input;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Bloco de linhas consecutivas; endOffset é a posição do arquivo logo após a última delas
+     * Um bloco sem linhas marca o fim da leitura (ou a falha, se houver)
+     */
+    private static final class ImportChunk {
+        private final List<ImportRow> rows;
+        private final long endOffset;
+        private final Exception failure;
+
+        private ImportChunk(List<ImportRow> rows, long endOffset, Exception failure) {
+            this.rows = rows;
+            this.endOffset = endOffset;
+            this.failure = failure;
+        }
+    }
+}
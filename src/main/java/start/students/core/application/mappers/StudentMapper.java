@@ -2,38 +2,66 @@ package start.students.core.application.mappers;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
-import start.students.adapters.outbound.repositories.StudentJpaRepository;
 import start.students.core.application.dtos.CreateStudentInputDTO;
+import start.students.core.application.dtos.PatchStudentInputDTO;
+import start.students.core.application.dtos.StudentCursorPagedOutputDTO;
 import start.students.core.application.dtos.StudentOutputDTO;
+import start.students.core.application.dtos.StudentPagedOutputDTO;
+import start.students.core.application.dtos.StudentSummaryOutputDTO;
 import start.students.core.application.dtos.UpdateStudentInputDTO;
 import start.students.core.domain.entities.Student;
+import start.students.core.domain.entities.StudentSummary;
+import start.students.core.domain.exceptions.DomainException;
+import start.students.core.domain.valueobjects.StudentChanges;
+import start.students.core.domain.valueobjects.StudentCursor;
+import start.students.core.domain.valueobjects.StudentSummaryPage;
+import start.students.core.domain.valueobjects.StudentUpdatableField;
+import start.students.core.ports.MatriculaGeneratorPort;
+import start.students.core.ports.PhotoStoragePort;
 
 import java.time.LocalDateTime;
-import java.time.Year;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class StudentMapper {
 
-    private final StudentJpaRepository studentJpaRepository;
+    private final MatriculaGeneratorPort matriculaGenerator;
+    private final PhotoStoragePort photoStorage;
 
     public Student toEntity(CreateStudentInputDTO dto) {
+        return toEntity(dto, matriculaGenerator.nextMatricula());
+    }
+
+    /**
+     * Variante com matrícula já reservada, usada no cadastro em lote
+     */
+    public Student toEntity(CreateStudentInputDTO dto, String matricula) {
         Student student = new Student();
         student.setId(UUID.randomUUID().toString());
-        student.setMatricula(generateMatricula());
+        student.setMatricula(matricula);
         student.setName(dto.getName());
         student.setCpf(dto.getCpf());
         student.setEmail(dto.getEmail());
         student.setPhone(dto.getPhone());
-        student.setPhoto(dto.getPhoto());
+        setPhoto(student, dto.getPhoto());
         student.setStatus("Ativo");
         student.setCreatedAt(LocalDateTime.now());
         student.setUpdatedAt(LocalDateTime.now());
+        student.setVersion(0L);
         return student;
     }
 
     public StudentOutputDTO toOutputDTO(Student student) {
+        return toOutputDTO(student, true);
+    }
+
+    /**
+     * Sem a foto, evita a leitura do armazenamento (usado na exportação)
+     */
+    public StudentOutputDTO toOutputDTO(Student student, boolean includePhoto) {
         return StudentOutputDTO.builder()
                 .id(student.getId())
                 .matricula(student.getMatricula())
@@ -41,59 +69,152 @@ public class StudentMapper {
                 .cpf(student.getCpf())
                 .email(student.getEmail())
                 .phone(student.getPhone())
-                .photo(student.getPhoto())
+                .photo(includePhoto ? resolvePhoto(student) : null)
                 .status(student.getStatus())
                 .createdAt(student.getCreatedAt())
                 .updatedAt(student.getUpdatedAt())
+                .version(student.getVersion())
+                .build();
+    }
+
+    public StudentSummaryOutputDTO toSummaryOutputDTO(StudentSummary summary) {
+        return StudentSummaryOutputDTO.builder()
+                .id(summary.getId())
+                .matricula(summary.getMatricula())
+                .name(summary.getName())
+                .email(summary.getEmail())
+                .cpf(summary.getCpf())
+                .status(summary.getStatus())
+                .build();
+    }
+
+    public StudentPagedOutputDTO toPagedOutputDTO(StudentSummaryPage studentsPage, int page, int size) {
+        Long total = studentsPage.getTotalElements();
+        return StudentPagedOutputDTO.builder()
+                .content(studentsPage.getContent().stream()
+                        .map(this::toSummaryOutputDTO)
+                        .collect(Collectors.toList()))
+                .page(page)
+                .size(size)
+                .totalElements(total)
+                .totalPages(total == null ? null : (int) ((total + size - 1) / size))
+                .first(page == 0)
+                .last(!studentsPage.isHasNext())
+                .countMode(studentsPage.getCountMode().getValue())
+                .build();
+    }
+
+    /**
+     * Monta a página por cursor a partir de até size + 1 registros; o excedente indica que há próxima página
+     */
+    public StudentCursorPagedOutputDTO toCursorPagedOutputDTO(List<StudentSummary> students, int size) {
+        boolean last = students.size() <= size;
+        if (!last) {
+            students = students.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (!last) {
+            StudentSummary lastStudent = students.get(students.size() - 1);
+            nextCursor = new StudentCursor(lastStudent.getCreatedAt(), lastStudent.getId()).encode();
+        }
+
+        return StudentCursorPagedOutputDTO.builder()
+                .content(students.stream()
+                        .map(this::toSummaryOutputDTO)
+                        .collect(Collectors.toList()))
+                .size(size)
+                .nextCursor(nextCursor)
+                .last(last)
                 .build();
     }
 
-    public void updateEntityFromDTO(UpdateStudentInputDTO dto, Student student) {
-        if (dto.getName() != null && !dto.getName().trim().isEmpty()) {
-            student.setName(dto.getName());
+    /**
+     * Alterações do PUT: só os campos informados (não vazios) entram no UPDATE
+     */
+    public StudentChanges toChanges(UpdateStudentInputDTO dto) {
+        StudentChanges changes = new StudentChanges(LocalDateTime.now());
+        setIfPresent(changes, StudentUpdatableField.NAME, dto.getName());
+        setIfPresent(changes, StudentUpdatableField.CPF, dto.getCpf());
+        setIfPresent(changes, StudentUpdatableField.EMAIL, dto.getEmail());
+        setIfPresent(changes, StudentUpdatableField.PHONE, dto.getPhone());
+        if (!isBlank(dto.getPhoto())) {
+            changes.set(StudentUpdatableField.PHOTO_REF, photoStorage.store(dto.getPhoto()));
+        }
+        setIfPresent(changes, StudentUpdatableField.STATUS, dto.getStatus());
+        return changes;
+    }
+
+    /**
+     * Alterações do PATCH (JSON Merge Patch): campos enviados entram no UPDATE, null remove
+     * Telefone e foto podem ser removidos; os demais campos são obrigatórios no cadastro
+     */
+    public StudentChanges toChanges(PatchStudentInputDTO dto) {
+        StudentChanges changes = new StudentChanges(LocalDateTime.now());
+        if (dto.has("name")) {
+            changes.set(StudentUpdatableField.NAME, required(dto.getName(), "Nome"));
         }
-        if (dto.getCpf() != null && !dto.getCpf().trim().isEmpty()) {
-            student.setCpf(dto.getCpf());
+        if (dto.has("cpf")) {
+            changes.set(StudentUpdatableField.CPF, required(dto.getCpf(), "CPF"));
         }
-        if (dto.getEmail() != null && !dto.getEmail().trim().isEmpty()) {
-            student.setEmail(dto.getEmail());
+        if (dto.has("email")) {
+            changes.set(StudentUpdatableField.EMAIL, required(dto.getEmail(), "Email"));
         }
-        if (dto.getPhone() != null && !dto.getPhone().trim().isEmpty()) {
-            student.setPhone(dto.getPhone());
+        if (dto.has("phone")) {
+            changes.set(StudentUpdatableField.PHONE, isBlank(dto.getPhone()) ? null : dto.getPhone());
         }
-        if (dto.getPhoto() != null && !dto.getPhoto().trim().isEmpty()) {
-            student.setPhoto(dto.getPhoto());
+        if (dto.has("photo")) {
+            changes.set(StudentUpdatableField.PHOTO_REF, isBlank(dto.getPhoto()) ? null : photoStorage.store(dto.getPhoto()));
         }
-        if (dto.getStatus() != null && !dto.getStatus().trim().isEmpty()) {
-            student.setStatus(dto.getStatus());
+        if (dto.has("status")) {
+            changes.set(StudentUpdatableField.STATUS, required(dto.getStatus(), "Status"));
         }
-        student.setUpdatedAt(LocalDateTime.now());
+        return changes;
+    }
+
+    private static void setIfPresent(StudentChanges changes, StudentUpdatableField field, String value) {
+        if (!isBlank(value)) {
+            changes.set(field, value);
+        }
+    }
+
+    private static String required(String value, String label) {
+        if (isBlank(value)) {
+            throw new DomainException(label + " não pode ser removido");
+        }
+        return value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * Grava a foto no armazenamento e mantém o conteúdo no aluno apenas para a resposta
+     */
+    private void setPhoto(Student student, String photo) {
+        if (photo == null || photo.trim().isEmpty()) {
+            return;
+        }
+        student.setPhotoRef(photoStorage.store(photo));
+        student.setPhoto(photo);
     }
 
     /**
-     * Gera matrícula no formato YYYY + sequência (ex: 2026000001)
-     * Consulta o banco de dados para obter o próximo número sequencial
+     * Carrega a foto do armazenamento no próprio aluno, para que ela acompanhe o objeto em cache
      */
-    private String generateMatricula() {
-        int currentYear = Year.now().getValue();
-        Long maxMatricula = studentJpaRepository.findMaxMatricula();
-        
-        long sequence;
-        if (maxMatricula == null) {
-            // Primeira matrícula do ano
-            sequence = 1;
-        } else {
-            // Extrair sequência da matrícula anterior e incrementar
-            String maxMatriculaStr = String.valueOf(maxMatricula);
-            if (maxMatriculaStr.startsWith(String.valueOf(currentYear))) {
-                // Matrícula do ano atual, incrementar sequência
-                sequence = maxMatricula % 100000 + 1;
-            } else {
-                // Matrícula de ano anterior, começar nova sequência
-                sequence = 1;
-            }
+    public Student withPhoto(Student student) {
+        student.setPhoto(resolvePhoto(student));
+        return student;
+    }
+
+    private String resolvePhoto(Student student) {
+        if (student.getPhoto() != null) {
+            return student.getPhoto();
+        }
+        if (student.getPhotoRef() == null) {
+            return null;
         }
-        
-        return String.format("%d%05d", currentYear, sequence);
+        return photoStorage.load(student.getPhotoRef()).orElse(null);
     }
 }
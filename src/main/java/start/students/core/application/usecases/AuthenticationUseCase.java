@@ -1,7 +1,7 @@
 package start.students.core.application.usecases;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import start.students.core.application.dtos.LoginInputDTO;
 import start.students.core.application.dtos.TokenResponseDTO;
@@ -11,14 +11,29 @@ import start.students.core.ports.JwtTokenPort;
 import start.students.core.ports.PasswordEncoderPort;
 import start.students.core.ports.UserRepositoryPort;
 
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AuthenticationUseCase {
 
     private final UserRepositoryPort userRepository;
     private final PasswordEncoderPort passwordEncoder;
     private final JwtTokenPort jwtTokenPort;
+    // Gravação do novo hash: fora do pool do BCrypt, que fica só com o cálculo dos hashes
+    private final Executor ioExecutor;
+
+    public AuthenticationUseCase(UserRepositoryPort userRepository,
+                                 PasswordEncoderPort passwordEncoder,
+                                 JwtTokenPort jwtTokenPort,
+                                 @Qualifier("applicationTaskExecutor") Executor ioExecutor) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtTokenPort = jwtTokenPort;
+        this.ioExecutor = ioExecutor;
+    }
 
     public TokenResponseDTO authenticate(LoginInputDTO input) {
         log.info("Tentativa de login para usuário: {}", input.getUsername());
@@ -49,6 +64,12 @@ public class AuthenticationUseCase {
         }
 
         log.info("Login bem-sucedido para usuário: {}", user.getUsername());
+
+        // Atualizar o hash gerado com outro custo, aproveitando a senha em texto puro do login;
+        // o hash roda no pool do BCrypt e a gravação no executor de IO, sem atrasar a resposta do login
+        if (passwordEncoder.needsRehash(user.getPassword())) {
+            rehashPassword(user.getUsername(), user.getPassword(), input.getPassword());
+        }
         
         // Gerar token
         String token = jwtTokenPort.generateToken(user.getUsername());
@@ -60,6 +81,35 @@ public class AuthenticationUseCase {
                 .build();
     }
 
+    private void rehashPassword(String username, String oldHash, String rawPassword) {
+        passwordEncoder.encodeAsync(rawPassword)
+                .thenAcceptAsync(newHash -> storeRehash(username, oldHash, newHash), ioExecutor)
+                .exceptionally(error -> {
+                    // Sem capacidade agora: o hash será atualizado em um próximo login
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    log.warn("Não foi possível atualizar o hash de senha de {}: {}", username, cause.getMessage());
+                    return null;
+                });
+    }
+
+    private void storeRehash(String username, String oldHash, String newHash) {
+        try {
+            // Relê o usuário: a senha pode ter sido trocada enquanto o hash era gerado
+            userRepository.findByUsername(username)
+                    .filter(current -> oldHash.equals(current.getPassword()))
+                    .ifPresent(current -> {
+                        current.setPassword(newHash);
+                        current.setUpdatedAt(LocalDateTime.now());
+                        userRepository.save(current);
+                        log.info("Hash de senha atualizado para o custo configurado: {}", username);
+                    });
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível gravar o novo hash de senha de {}: {}", username, e.getMessage());
+        }
+    }
+
     /**
      * Valida se o valor contém apenas letras (a-z, A-Z) e números (0-9)
      * E exige PRESENÇA OBRIGATÓRIA de ambos (letras E números)
@@ -0,0 +1,165 @@
+package start.students.core.application.usecases;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import start.students.core.application.dtos.BatchCreateStudentsOutputDTO;
+import start.students.core.application.dtos.BatchItemErrorDTO;
+import start.students.core.application.dtos.CreateStudentInputDTO;
+import start.students.core.application.mappers.StudentMapper;
+import start.students.core.domain.entities.Student;
+import start.students.core.domain.exceptions.DomainException;
+import start.students.core.domain.valueobjects.StudentConflicts;
+import start.students.core.ports.MatriculaGeneratorPort;
+import start.students.core.ports.StudentRepositoryPort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cadastro de alunos em lote: valida todos os itens, confere CPF/email uma vez por bloco,
+ * reserva as matrículas de uma vez e grava cada bloco em uma transação com inserts em lote
+ * Itens com erro são reportados individualmente sem impedir a gravação dos demais
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchCreateStudentsUseCase {
+
+    private final StudentRepositoryPort studentRepository;
+    private final StudentMapper studentMapper;
+    private final MatriculaGeneratorPort matriculaGenerator;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${students.batch.max-items:50000}")
+    private int maxItems;
+
+    @Value("${students.batch.chunk-size:500}")
+    private int chunkSize;
+
+    public BatchCreateStudentsOutputDTO execute(List<CreateStudentInputDTO> inputs) {
+        if (inputs == null || inputs.isEmpty()) {
+            throw new DomainException("Lote vazio");
+        }
+        if (inputs.size() > maxItems) {
+            throw new DomainException("Lote excede o limite de " + maxItems + " alunos");
+        }
+
+        List<BatchItemErrorDTO> errors = new ArrayList<>();
+        List<Integer> accepted = validate(inputs, errors);
+
+        int created = 0;
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            created += createChunk(inputs, chunk, errors);
+        }
+
+        errors.sort(Comparator.comparingInt(BatchItemErrorDTO::getIndex));
+        return BatchCreateStudentsOutputDTO.builder()
+                .total(inputs.size())
+                .created(created)
+                .failed(inputs.size() - created)
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Bean Validation de cada item e detecção de CPF/email repetidos dentro do próprio lote
+     */
+    private List<Integer> validate(List<CreateStudentInputDTO> inputs, List<BatchItemErrorDTO> errors) {
+        Map<String, Integer> cpfs = new HashMap<>();
+        Map<String, Integer> emails = new HashMap<>();
+        List<Integer> accepted = new ArrayList<>(inputs.size());
+
+        for (int index = 0; index < inputs.size(); index++) {
+            CreateStudentInputDTO input = inputs.get(index);
+            if (input == null) {
+                errors.add(new BatchItemErrorDTO(index, "Item vazio"));
+                continue;
+            }
+            Set<ConstraintViolation<CreateStudentInputDTO>> violations = validator.validate(input);
+            if (!violations.isEmpty()) {
+                errors.add(new BatchItemErrorDTO(index, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+                continue;
+            }
+            Integer sameCpf = cpfs.putIfAbsent(input.getCpf(), index);
+            if (sameCpf != null) {
+                errors.add(new BatchItemErrorDTO(index, "CPF repetido no lote (item " + sameCpf + ")"));
+                continue;
+            }
+            Integer sameEmail = emails.putIfAbsent(input.getEmail().toLowerCase(Locale.ROOT), index);
+            if (sameEmail != null) {
+                errors.add(new BatchItemErrorDTO(index, "Email repetido no lote (item " + sameEmail + ")"));
+                continue;
+            }
+            accepted.add(index);
+        }
+        return accepted;
+    }
+
+    private int createChunk(List<CreateStudentInputDTO> inputs, List<Integer> chunk, List<BatchItemErrorDTO> errors) {
+        StudentConflicts conflicts = studentRepository.findConflicts(
+                chunk.stream().map(index -> inputs.get(index).getCpf()).collect(Collectors.toList()),
+                chunk.stream().map(index -> inputs.get(index).getEmail()).collect(Collectors.toList()));
+
+        List<Integer> writable = new ArrayList<>(chunk.size());
+        for (Integer index : chunk) {
+            CreateStudentInputDTO input = inputs.get(index);
+            if (conflicts.hasCpf(input.getCpf())) {
+                errors.add(new BatchItemErrorDTO(index, "CPF já está cadastrado"));
+            } else if (conflicts.hasEmail(input.getEmail())) {
+                errors.add(new BatchItemErrorDTO(index, "Email já está cadastrado"));
+            } else {
+                writable.add(index);
+            }
+        }
+        if (writable.isEmpty()) {
+            return 0;
+        }
+
+        List<String> matriculas = matriculaGenerator.nextMatriculas(writable.size());
+        List<Student> students = new ArrayList<>(writable.size());
+        for (int i = 0; i < writable.size(); i++) {
+            students.add(studentMapper.toEntity(inputs.get(writable.get(i)), matriculas.get(i)));
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            transaction.executeWithoutResult(status -> studentRepository.insertAll(students));
+            return students.size();
+        } catch (DataIntegrityViolationException e) {
+            // Cadastro concorrente entre a checagem e o insert: o bloco foi desfeito, então
+            // grava item a item para rejeitar só os que de fato conflitam
+            log.warn("Bloco de {} alunos rejeitado por violação de unicidade; gravando item a item", students.size(), e);
+        }
+
+        int created = 0;
+        for (int i = 0; i < students.size(); i++) {
+            List<Student> single = List.of(students.get(i));
+            try {
+                transaction.executeWithoutResult(status -> studentRepository.insertAll(single));
+                created++;
+            } catch (DataIntegrityViolationException e) {
+                errors.add(new BatchItemErrorDTO(writable.get(i),
+                        "CPF ou email cadastrado durante o processamento do lote"));
+            }
+        }
+        return created;
+    }
+}
@@ -7,7 +7,6 @@ import start.students.core.application.dtos.CreateStudentInputDTO;
 import start.students.core.application.dtos.StudentOutputDTO;
 import start.students.core.application.mappers.StudentMapper;
 import start.students.core.domain.entities.Student;
-import start.students.core.domain.exceptions.DomainException;
 import start.students.core.ports.StudentRepositoryPort;
 
 @Service
@@ -19,21 +18,14 @@ public class CreateStudentUseCase {
 
     @Transactional
     public StudentOutputDTO execute(CreateStudentInputDTO input) {
-        // Validar se CPF já existe
-        if (studentRepository.existsByCpf(input.getCpf())) {
-            throw new DomainException("CPF já está cadastrado");
-        }
-
-        // Validar se email já existe (case-insensitive)
-        if (studentRepository.existsByEmailIgnoreCase(input.getEmail())) {
-            throw new DomainException("Email já está cadastrado");
-        }
+        // Validar CPF e email (case-insensitive) em uma única consulta
+        UniqueConflicts.check(studentRepository.findUniqueConflicts(input.getCpf(), input.getEmail(), null));
 
         // Converter DTO para entidade
         Student student = studentMapper.toEntity(input);
 
-        // Salvar no repositório
-        Student savedStudent = studentRepository.save(student);
+        // Inserir no repositório (id novo, sem leitura prévia)
+        Student savedStudent = studentRepository.insert(student);
 
         // Converter entidade para DTO de saída
         return studentMapper.toOutputDTO(savedStudent);
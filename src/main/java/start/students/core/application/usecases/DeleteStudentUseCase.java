@@ -2,6 +2,7 @@ package start.students.core.application.usecases;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import start.students.core.domain.exceptions.StudentNotFoundException;
 import start.students.core.ports.StudentRepositoryPort;
 
@@ -11,11 +12,11 @@ public class DeleteStudentUseCase {
 
     private final StudentRepositoryPort studentRepository;
 
+    @Transactional
     public void execute(String id) {
-        if (!studentRepository.findById(id).isPresent()) {
+        // A própria exclusão informa se o aluno existia: sem leitura prévia da linha
+        if (!studentRepository.deleteById(id)) {
             throw new StudentNotFoundException("Estudante não encontrado");
         }
-
-        studentRepository.deleteById(id);
     }
 }
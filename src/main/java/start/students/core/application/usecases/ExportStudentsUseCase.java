@@ -0,0 +1,115 @@
+package start.students.core.application.usecases;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import start.students.core.application.dtos.StudentOutputDTO;
+import start.students.core.application.mappers.StudentMapper;
+import start.students.core.domain.entities.Student;
+import start.students.core.domain.valueobjects.StudentExportFormat;
+import start.students.core.ports.StudentRepositoryPort;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exporta a tabela de alunos inteira linha a linha, sem materializar o resultado
+ * A memória usada independe do tamanho da tabela: cada aluno é lido, escrito e descartado
+ */
+@Service
+public class ExportStudentsUseCase {
+
+    private static final String[] CSV_HEADER = {
+            "id", "matricula", "name", "cpf", "email", "phone", "status", "createdAt", "updatedAt"
+    };
+
+    private final StudentRepositoryPort studentRepository;
+    private final StudentMapper studentMapper;
+    private final ObjectWriter jsonWriter;
+
+    public ExportStudentsUseCase(StudentRepositoryPort studentRepository,
+                                 StudentMapper studentMapper,
+                                 ObjectMapper objectMapper) {
+        this.studentRepository = studentRepository;
+        this.studentMapper = studentMapper;
+        // Campos nulos (como a foto, quando não solicitada) ficam fora de cada linha
+        this.jsonWriter = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writerFor(StudentOutputDTO.class);
+    }
+
+    @Transactional(readOnly = true)
+    public void execute(StudentExportFormat format, boolean includePhoto, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == StudentExportFormat.CSV) {
+            writeCsvHeader(writer, includePhoto);
+        }
+
+        try (Stream<Student> students = studentRepository.streamAll()) {
+            Iterator<Student> iterator = students.iterator();
+            while (iterator.hasNext()) {
+                StudentOutputDTO student = studentMapper.toOutputDTO(iterator.next(), includePhoto);
+                if (format == StudentExportFormat.CSV) {
+                    writeCsvRow(writer, student, includePhoto);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(student));
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsvHeader(Writer writer, boolean includePhoto) throws IOException {
+        writer.write(String.join(",", CSV_HEADER));
+        if (includePhoto) {
+            writer.write(",photo");
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCsvRow(Writer writer, StudentOutputDTO student, boolean includePhoto) throws IOException {
+        writer.write(csvField(student.getId()));
+        writer.write(',');
+        writer.write(csvField(student.getMatricula()));
+        writer.write(',');
+        writer.write(csvField(student.getName()));
+        writer.write(',');
+        writer.write(csvField(student.getCpf()));
+        writer.write(',');
+        writer.write(csvField(student.getEmail()));
+        writer.write(',');
+        writer.write(csvField(student.getPhone()));
+        writer.write(',');
+        writer.write(csvField(student.getStatus()));
+        writer.write(',');
+        writer.write(csvField(student.getCreatedAt() == null ? null : student.getCreatedAt().toString()));
+        writer.write(',');
+        writer.write(csvField(student.getUpdatedAt() == null ? null : student.getUpdatedAt().toString()));
+        if (includePhoto) {
+            writer.write(',');
+            writer.write(csvField(student.getPhoto()));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Escapa o valor conforme a RFC 4180 (aspas apenas quando necessário)
+     */
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+}
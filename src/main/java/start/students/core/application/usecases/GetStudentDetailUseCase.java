@@ -6,7 +6,12 @@ import start.students.core.application.dtos.StudentOutputDTO;
 import start.students.core.application.mappers.StudentMapper;
 import start.students.core.domain.entities.Student;
 import start.students.core.domain.exceptions.StudentNotFoundException;
+import start.students.core.domain.valueobjects.StudentVersion;
+import start.students.core.ports.StudentDetailCachePort;
 import start.students.core.ports.StudentRepositoryPort;
+import start.students.core.ports.WorkloadLimiterPort;
+import start.students.core.ports.WorkloadLimiterPort.Workload;
+
 
 @Service
 @RequiredArgsConstructor
@@ -14,11 +19,36 @@ public class GetStudentDetailUseCase {
 
     private final StudentRepositoryPort studentRepository;
     private final StudentMapper studentMapper;
+    private final StudentDetailCachePort studentDetailCache;
+    private final WorkloadLimiterPort workloadLimiter;
 
     public StudentOutputDTO execute(String id) {
-        Student student = studentRepository.findById(id)
+        return execute(id, currentVersion(id));
+    }
+
+    /**
+     * Detalhe com a versão já lida do banco: a entrada em cache só é usada se estiver nessa versão,
+     * pois escritas de outros nós não invalidam o cache deste nó
+     */
+    public StudentOutputDTO execute(String id, StudentVersion current) {
+        studentDetailCache.getIfPresent(id)
+                .filter(cached -> !current.getVersion().equals(cached.getVersion()))
+                .ifPresent(stale -> studentDetailCache.invalidate(id));
+
+        // Só a carga no banco (falta no cache) ocupa vaga no compartimento de detalhe
+        Student student = studentDetailCache.get(id, key -> workloadLimiter.call(Workload.DETAIL,
+                        () -> studentRepository.findById(key).map(studentMapper::withPhoto)))
                 .orElseThrow(() -> new StudentNotFoundException("Estudante não encontrado"));
 
         return studentMapper.toOutputDTO(student);
     }
+
+    /**
+     * Versão gravada, para requisições condicionais: sempre do banco (o cache deste nó pode estar atrás
+     * de escritas de outros nós), em uma consulta só pelas colunas version e updated_at, sem a linha nem a foto
+     */
+    public StudentVersion currentVersion(String id) {
+        return workloadLimiter.call(Workload.DETAIL, () -> studentRepository.findVersion(id))
+                .orElseThrow(() -> new StudentNotFoundException("Estudante não encontrado"));
+    }
 }
@@ -0,0 +1,124 @@
+package start.students.core.application.usecases;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import start.students.core.application.dtos.ImportRowErrorDTO;
+import start.students.core.application.dtos.StudentImportOutputDTO;
+import start.students.core.application.imports.StudentImportPipeline;
+import start.students.core.domain.entities.StudentImportJob;
+import start.students.core.domain.exceptions.DomainException;
+import start.students.core.domain.valueobjects.StudentImportStatus;
+import start.students.core.ports.ImportFileStoragePort;
+import start.students.core.ports.StudentImportJobRepositoryPort;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportStudentsUseCase {
+
+    private final StudentImportJobRepositoryPort jobRepository;
+    private final ImportFileStoragePort fileStorage;
+    private final StudentImportPipeline pipeline;
+
+    @Value("${students.imports.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    @Value("${students.imports.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    /**
+     * Guarda o arquivo, confere o cabeçalho e agenda a importação
+     */
+    public StudentImportOutputDTO start(InputStream content) {
+        String fileReference = fileStorage.store(content);
+        long headerEnd;
+        try {
+            headerEnd = pipeline.readHeaderEnd(fileReference);
+        } catch (DomainException e) {
+            fileStorage.delete(fileReference);
+            throw e;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        StudentImportJob job = jobRepository.save(new StudentImportJob(
+                UUID.randomUUID().toString(), fileReference, fileStorage.size(fileReference),
+                StudentImportStatus.QUEUED, headerEnd, 0, 0, 0, null, now, now, null, null, null));
+        pipeline.submit(job.getId());
+        return toOutputDTO(job, List.of());
+    }
+
+    public StudentImportOutputDTO getStatus(String id) {
+        StudentImportJob job = findJob(id);
+        List<ImportRowErrorDTO> errors = jobRepository.findErrors(id, maxReportedErrors).stream()
+                .map(error -> new ImportRowErrorDTO(error.getRow(), error.getMessage()))
+                .collect(Collectors.toList());
+        return toOutputDTO(job, errors);
+    }
+
+    /**
+     * Retoma, a partir do último bloco gravado, uma importação que falhou ou cujo nó parou de renovar o lease
+     */
+    public StudentImportOutputDTO resume(String id) {
+        findJob(id);
+        if (!jobRepository.requeue(id)) {
+            throw new DomainException("Apenas importações com falha ou interrompidas podem ser retomadas");
+        }
+        pipeline.submit(id);
+        return toOutputDTO(findJob(id), List.of());
+    }
+
+    /**
+     * Importações na fila ou com lease vencido (nó parado) voltam a rodar na inicialização e periodicamente
+     * Jobs com lease válido seguem com o dono; quem de fato assume é decidido pelo claim no banco
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${students.imports.resume-interval:PT1M}",
+            initialDelayString = "${students.imports.resume-interval:PT1M}")
+    public void resumeInterrupted() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jobRepository.findByStatusIn(List.of(StudentImportStatus.QUEUED, StudentImportStatus.RUNNING)).stream()
+                .filter(job -> job.getStatus() == StudentImportStatus.QUEUED
+                        || job.getLeaseUntil() == null || job.getLeaseUntil().isBefore(now))
+                .forEach(job -> {
+                    log.info("Retomando importação {} a partir da linha {}", job.getId(), job.getProcessedRows() + 1);
+                    pipeline.submit(job.getId());
+                });
+    }
+
+    private StudentImportJob findJob(String id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new DomainException("Importação não encontrada"));
+    }
+
+    private StudentImportOutputDTO toOutputDTO(StudentImportJob job, List<ImportRowErrorDTO> errors) {
+        double progress = job.getStatus() == StudentImportStatus.COMPLETED || job.getFileSize() == 0
+                ? 100.0
+                : Math.floor(job.getCommittedOffset() * 1000.0 / job.getFileSize()) / 10.0;
+        return StudentImportOutputDTO.builder()
+                .id(job.getId())
+                .status(job.getStatus().name())
+                .progress(progress)
+                .processedRows(job.getProcessedRows())
+                .createdRows(job.getCreatedRows())
+                .failedRows(job.getFailedRows())
+                .message(job.getMessage())
+                .errors(errors)
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
@@ -1,59 +1,74 @@
 package start.students.core.application.usecases;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import start.students.core.application.dtos.StudentCursorPagedOutputDTO;
 import start.students.core.application.dtos.StudentPagedOutputDTO;
 import start.students.core.application.mappers.StudentMapper;
-import start.students.core.domain.entities.Student;
+import start.students.core.domain.entities.StudentSummary;
+import start.students.core.domain.exceptions.DomainException;
+import start.students.core.domain.valueobjects.StudentCountMode;
+import start.students.core.domain.valueobjects.StudentCursor;
+import start.students.core.domain.valueobjects.StudentListQuery;
+import start.students.core.domain.valueobjects.StudentSearchField;
+import start.students.core.domain.valueobjects.StudentSummaryPage;
+import start.students.core.ports.StudentListCachePort;
 import start.students.core.ports.StudentRepositoryPort;
+import start.students.core.ports.StudentWriteVersionPort;
+import start.students.core.ports.WorkloadLimiterPort;
+import start.students.core.ports.WorkloadLimiterPort.Workload;
 
-import java.util.stream.Collectors;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class ListStudentsUseCase {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final StudentRepositoryPort studentRepository;
     private final StudentMapper studentMapper;
+    private final StudentWriteVersionPort studentWriteVersion;
+    private final StudentListCachePort studentListCache;
+    private final SearchAllFieldsUseCase searchAllFieldsUseCase;
+    private final WorkloadLimiterPort workloadLimiter;
 
-    public StudentPagedOutputDTO execute(int page, int size, String search, String searchType) {
+    public StudentPagedOutputDTO execute(int page, int size, String search, String searchType, String count) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Student> studentsPage;
+        StudentListQuery query = StudentListQuery.of(
+                StudentSearchField.from(searchType), search, page, size, StudentCountMode.from(count));
+        // Só a carga no banco (falta no cache) ocupa vaga no compartimento de listagem
+        StudentSummaryPage studentsPage = studentListCache.get(query, key -> workloadLimiter.call(Workload.LIST,
+                () -> key.getField() == StudentSearchField.ALL
+                        ? searchAllFieldsUseCase.execute(key)
+                        : studentRepository.findSummaries(key.getField(), key.getTerm(), pageable, key.getCountMode())));
+
+        return studentMapper.toPagedOutputDTO(studentsPage, page, size);
+    }
 
-        if (search == null || search.trim().isEmpty()) {
-            studentsPage = studentRepository.findAll(pageable);
-        } else {
-            switch (searchType.toLowerCase()) {
-                case "cpf":
-                    studentsPage = studentRepository.findByCpfContaining(search, pageable);
-                    break;
-                case "email":
-                    studentsPage = studentRepository.findByEmailContainingIgnoreCase(search, pageable);
-                    break;
-                case "matricula":
-                    studentsPage = studentRepository.findByMatriculaContaining(search, pageable);
-                    break;
-                case "name":
-                default:
-                    studentsPage = studentRepository.findByNameContainingIgnoreCase(search, pageable);
-                    break;
-            }
+    /**
+     * Versão atual da tabela; deve ser lida antes da listagem, para a resposta nunca ser mais antiga que ela
+     */
+    public String listVersion() {
+        return studentWriteVersion.current();
+    }
+
+    /**
+     * Paginação por cursor (keyset): sem OFFSET nem COUNT, latência constante em qualquer profundidade
+     */
+    public StudentCursorPagedOutputDTO executeAfter(String after, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new DomainException("Tamanho de página deve estar entre 1 e " + MAX_CURSOR_PAGE_SIZE);
         }
 
-        return StudentPagedOutputDTO.builder()
-                .content(studentsPage.getContent().stream()
-                        .map(studentMapper::toOutputDTO)
-                        .collect(Collectors.toList()))
-                .page(studentsPage.getNumber())
-                .size(studentsPage.getSize())
-                .totalElements(studentsPage.getTotalElements())
-                .totalPages(studentsPage.getTotalPages())
-                .first(studentsPage.isFirst())
-                .last(studentsPage.isLast())
-                .build();
+        StudentCursor cursor = (after == null || after.trim().isEmpty()) ? null : StudentCursor.decode(after.trim());
+
+        // Buscar um registro a mais para saber se existe próxima página
+        List<StudentSummary> students = workloadLimiter.call(Workload.LIST,
+                () -> studentRepository.findSummariesAfter(cursor, size + 1));
+        return studentMapper.toCursorPagedOutputDTO(students, size);
     }
 
     public boolean validateCpfExists(String cpf) {
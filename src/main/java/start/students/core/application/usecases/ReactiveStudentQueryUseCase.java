@@ -0,0 +1,88 @@
+package start.students.core.application.usecases;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import start.students.core.application.dtos.StudentCursorPagedOutputDTO;
+import start.students.core.application.dtos.StudentOutputDTO;
+import start.students.core.application.dtos.StudentPagedOutputDTO;
+import start.students.core.application.mappers.StudentMapper;
+import start.students.core.domain.exceptions.DomainException;
+import start.students.core.domain.exceptions.StudentNotFoundException;
+import start.students.core.domain.valueobjects.StudentCountMode;
+import start.students.core.domain.valueobjects.StudentCursor;
+import start.students.core.domain.valueobjects.StudentListQuery;
+import start.students.core.domain.valueobjects.StudentSearchField;
+import start.students.core.domain.valueobjects.StudentSummaryPage;
+import start.students.core.ports.ReactiveStudentReadPort;
+
+import java.util.List;
+
+/**
+ * Leituras de alunos (listagem, cursor e detalhe) sem bloquear as threads do event loop
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveStudentQueryUseCase {
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private final ReactiveStudentReadPort studentReadPort;
+    private final StudentMapper studentMapper;
+
+    @Value("${students.search.all.max-results:1000}")
+    private int maxResults;
+
+    public Mono<StudentPagedOutputDTO> list(int page, int size, String search, String searchType, String count) {
+        return Mono.defer(() -> {
+            if (page < 0 || size < 1) {
+                throw new DomainException("Página deve ser maior ou igual a 0 e tamanho maior que 0");
+            }
+            StudentListQuery query = StudentListQuery.of(
+                    StudentSearchField.from(searchType), search, page, size, StudentCountMode.from(count));
+            Mono<StudentSummaryPage> studentsPage = query.getField() == StudentSearchField.ALL
+                    ? searchAllFields(query)
+                    : studentReadPort.findSummaries(query);
+            return studentsPage.map(summaries -> studentMapper.toPagedOutputDTO(summaries, page, size));
+        });
+    }
+
+    /**
+     * searchType=all com a mesma classificação e ordenação da API servlet; os campos plausíveis
+     * são consultados ao mesmo tempo e juntados quando todos respondem
+     */
+    private Mono<StudentSummaryPage> searchAllFields(StudentListQuery query) {
+        int window = SearchAllFieldsUseCase.window(query, maxResults);
+        List<StudentSearchField> fields = SearchAllFieldsUseCase.plausibleFields(query.getTerm());
+        return Flux.fromIterable(fields)
+                .flatMapSequential(field -> studentReadPort.findSummaries(
+                        StudentListQuery.of(field, query.getTerm(), 0, window, StudentCountMode.NONE)))
+                .collectList()
+                .map(results -> SearchAllFieldsUseCase.merge(query, fields, results));
+    }
+
+    public Mono<StudentCursorPagedOutputDTO> listAfter(String after, int size) {
+        return Mono.defer(() -> {
+            if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+                throw new DomainException("Tamanho de página deve estar entre 1 e " + MAX_CURSOR_PAGE_SIZE);
+            }
+            StudentCursor cursor = (after == null || after.trim().isEmpty()) ? null : StudentCursor.decode(after.trim());
+            return studentReadPort.findSummariesAfter(cursor, size + 1)
+                    .collectList()
+                    .map(students -> studentMapper.toCursorPagedOutputDTO(students, size));
+        });
+    }
+
+    public Mono<StudentOutputDTO> detail(String id) {
+        return studentReadPort.findById(id)
+                .switchIfEmpty(Mono.error(() -> new StudentNotFoundException("Estudante não encontrado")))
+                // A foto vem do armazenamento em arquivo (bloqueante): lida fora do event loop
+                .publishOn(Schedulers.boundedElastic())
+                .map(student -> studentMapper.toOutputDTO(student));
+    }
+}
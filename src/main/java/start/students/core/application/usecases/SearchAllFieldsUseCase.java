@@ -0,0 +1,194 @@
+package start.students.core.application.usecases;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import start.students.core.domain.entities.StudentSummary;
+import start.students.core.domain.exceptions.DomainException;
+import start.students.core.domain.valueobjects.StudentCountMode;
+import start.students.core.domain.valueobjects.StudentListQuery;
+import start.students.core.domain.valueobjects.StudentSearchField;
+import start.students.core.domain.valueobjects.StudentSummaryPage;
+import start.students.core.ports.StudentRepositoryPort;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Busca "em todos os campos" (searchType=all): classifica o termo, consulta em paralelo os
+ * campos plausíveis e junta os resultados sem repetir alunos
+ * A latência fica próxima da consulta mais lenta; com o pool ocupado a consulta roda na
+ * própria thread da requisição, degradando para sequencial em vez de falhar
+ */
+@Service
+public class SearchAllFieldsUseCase {
+
+    // Qualidade da correspondência, depois a ordem dos campos plausíveis, depois a posição no campo
+    private static final Comparator<Ranked> RANKING = Comparator
+            .comparingInt((Ranked r) -> r.quality)
+            .thenComparingInt(r -> r.field)
+            .thenComparingInt(r -> r.position);
+
+    private final StudentRepositoryPort studentRepository;
+    private final ThreadPoolExecutor executor;
+    private final int maxResults;
+
+    public SearchAllFieldsUseCase(StudentRepositoryPort studentRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${students.search.all.pool-size:8}") int poolSize,
+                                  @Value("${students.search.all.queue-capacity:64}") int queueCapacity,
+                                  @Value("${students.search.all.max-results:1000}") int maxResults) {
+        this.studentRepository = studentRepository;
+        this.maxResults = maxResults;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "student-search-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "students.search.all");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public StudentSummaryPage execute(StudentListQuery query) {
+        PageRequest firstRows = PageRequest.of(0, window(query, maxResults));
+
+        List<StudentSearchField> fields = plausibleFields(query.getTerm());
+        List<CompletableFuture<StudentSummaryPage>> searches = fields.stream()
+                .map(field -> CompletableFuture.supplyAsync(() -> studentRepository.findSummaries(
+                        field, query.getTerm(), firstRows, StudentCountMode.NONE), executor))
+                .collect(Collectors.toList());
+
+        return merge(query, fields, searches.stream()
+                .map(SearchAllFieldsUseCase::join)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Linhas pedidas a cada campo: as primeiras até o fim da página pedida, mais uma
+     */
+    static int window(StudentListQuery query, int maxResults) {
+        long window = (long) (query.getPage() + 1) * query.getSize() + 1;
+        if (window > maxResults + 1L) {
+            throw new DomainException("Busca em todos os campos limitada aos " + maxResults + " primeiros resultados");
+        }
+        return (int) window;
+    }
+
+    /**
+     * Junta as primeiras linhas de cada campo (na ordem de fields) sem repetir alunos e recorta a página pedida
+     */
+    static StudentSummaryPage merge(StudentListQuery query, List<StudentSearchField> fields,
+                                    List<StudentSummaryPage> results) {
+        Map<String, Ranked> merged = new HashMap<>();
+        boolean truncated = false;
+        for (int f = 0; f < fields.size(); f++) {
+            StudentSummaryPage result = results.get(f);
+            truncated |= result.isHasNext();
+            List<StudentSummary> rows = result.getContent();
+            for (int position = 0; position < rows.size(); position++) {
+                Ranked candidate = new Ranked(rows.get(position),
+                        matchQuality(fields.get(f), rows.get(position), query.getTerm()), f, position);
+                merged.merge(candidate.summary.getId(), candidate, (a, b) -> RANKING.compare(a, b) <= 0 ? a : b);
+            }
+        }
+
+        List<StudentSummary> ranked = merged.values().stream()
+                .sorted(RANKING)
+                .map(r -> r.summary)
+                .collect(Collectors.toList());
+        int from = (int) Math.min((long) query.getPage() * query.getSize(), ranked.size());
+        int to = Math.min(from + query.getSize(), ranked.size());
+        boolean hasNext = ranked.size() > to || truncated;
+
+        // Sem nenhum campo truncado, a junção é o resultado completo: o total é exato e gratuito
+        if (!truncated) {
+            return new StudentSummaryPage(ranked.subList(from, to), hasNext, (long) ranked.size(), StudentCountMode.EXACT);
+        }
+        return query.getCountMode() == StudentCountMode.NONE
+                ? new StudentSummaryPage(ranked.subList(from, to), true, null, StudentCountMode.NONE)
+                : new StudentSummaryPage(ranked.subList(from, to), true, (long) ranked.size(), StudentCountMode.ESTIMATE);
+    }
+
+    /**
+     * '@' indica email; só dígitos e pontuação de documento indicam CPF ou matrícula; o resto, nome ou email
+     */
+    static List<StudentSearchField> plausibleFields(String term) {
+        if (term.indexOf('@') >= 0) {
+            return List.of(StudentSearchField.EMAIL);
+        }
+        if (term.matches("[0-9.\\-/ ]+") && term.chars().anyMatch(Character::isDigit)) {
+            return List.of(StudentSearchField.CPF, StudentSearchField.MATRICULA);
+        }
+        return List.of(StudentSearchField.NAME, StudentSearchField.EMAIL);
+    }
+
+    /**
+     * 0 = igual ao termo, 1 = começa com o termo, 2 = contém o termo
+     */
+    private static int matchQuality(StudentSearchField field, StudentSummary summary, String term) {
+        String value;
+        switch (field) {
+            case CPF:
+                value = summary.getCpf();
+                break;
+            case EMAIL:
+                value = summary.getEmail();
+                break;
+            case MATRICULA:
+                value = summary.getMatricula();
+                break;
+            case NAME:
+            default:
+                value = summary.getName();
+                break;
+        }
+        String normalized = value == null ? "" : value.toLowerCase(Locale.ROOT);
+        if (normalized.equals(term)) {
+            return 0;
+        }
+        return normalized.startsWith(term) ? 1 : 2;
+    }
+
+    private static StudentSummaryPage join(CompletableFuture<StudentSummaryPage> search) {
+        try {
+            return search.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private static final class Ranked {
+        private final StudentSummary summary;
+        private final int quality;
+        private final int field;
+        private final int position;
+
+        private Ranked(StudentSummary summary, int quality, int field, int position) {
+            this.summary = summary;
+            this.quality = quality;
+            this.field = field;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package start.students.core.application.usecases;
+
+import start.students.core.domain.exceptions.DomainException;
+import start.students.core.domain.valueobjects.StudentUniqueField;
+
+import java.util.Set;
+
+/**
+ * Converte os conflitos de unicidade encontrados na mensagem de erro do cadastro
+ */
+final class UniqueConflicts {
+
+    private UniqueConflicts() {
+    }
+
+    static void check(Set<StudentUniqueField> conflicts) {
+        boolean cpf = conflicts.contains(StudentUniqueField.CPF);
+        boolean email = conflicts.contains(StudentUniqueField.EMAIL);
+        if (cpf && email) {
+            throw new DomainException("CPF e email já estão cadastrados");
+        }
+        if (cpf) {
+            throw new DomainException("CPF já está cadastrado");
+        }
+        if (email) {
+            throw new DomainException("Email já está cadastrado");
+        }
+    }
+}
@@ -2,12 +2,16 @@ package start.students.core.application.usecases;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import start.students.core.application.dtos.PatchStudentInputDTO;
 import start.students.core.application.dtos.StudentOutputDTO;
 import start.students.core.application.dtos.UpdateStudentInputDTO;
 import start.students.core.application.mappers.StudentMapper;
 import start.students.core.domain.entities.Student;
-import start.students.core.domain.exceptions.DomainException;
 import start.students.core.domain.exceptions.StudentNotFoundException;
+import start.students.core.domain.exceptions.StudentVersionConflictException;
+import start.students.core.domain.valueobjects.StudentChanges;
+import start.students.core.domain.valueobjects.StudentUpdatableField;
 import start.students.core.ports.StudentRepositoryPort;
 
 @Service
@@ -17,27 +21,44 @@ public class UpdateStudentUseCase {
     private final StudentRepositoryPort studentRepository;
     private final StudentMapper studentMapper;
 
-    public StudentOutputDTO execute(String id, UpdateStudentInputDTO input) {
-        Student existingStudent = studentRepository.findById(id)
-                .orElseThrow(() -> new StudentNotFoundException("Estudante não encontrado"));
+    /**
+     * Atualiza os campos informados; com expectedVersion (If-Match), só grava se ninguém
+     * alterou o aluno desde a versão lida pelo cliente (nulo grava sobre qualquer versão)
+     */
+    @Transactional
+    public StudentOutputDTO execute(String id, UpdateStudentInputDTO input, Long expectedVersion) {
+        return apply(id, studentMapper.toChanges(input), expectedVersion);
+    }
 
-        // Validar CPF se foi alterado
-        if (input.getCpf() != null && !input.getCpf().equals(existingStudent.getCpf())
-            && studentRepository.existsByCpf(input.getCpf())) {
-            throw new DomainException("CPF já está cadastrado");
-        }
+    /**
+     * Aplica um JSON Merge Patch: o UPDATE escreve apenas as colunas enviadas
+     */
+    @Transactional
+    public StudentOutputDTO patch(String id, PatchStudentInputDTO input, Long expectedVersion) {
+        return apply(id, studentMapper.toChanges(input), expectedVersion);
+    }
 
-        // Validar email se foi alterado
-        if (input.getEmail() != null && !input.getEmail().equalsIgnoreCase(existingStudent.getEmail())
-            && studentRepository.existsByEmailIgnoreCase(input.getEmail())) {
-            throw new DomainException("Email já está cadastrado");
+    private StudentOutputDTO apply(String id, StudentChanges changes, Long expectedVersion) {
+        if (changes.isEmpty()) {
+            // Nada a gravar: devolve o aluno como está, sem mudar a versão
+            Student current = studentRepository.findById(id)
+                    .orElseThrow(() -> new StudentNotFoundException("Estudante não encontrado"));
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new StudentVersionConflictException(
+                        "Aluno foi alterado por outra requisição; recarregue os dados e tente novamente");
+            }
+            return studentMapper.toOutputDTO(current);
         }
 
-        // Atualizar campos não nulos
-        studentMapper.updateEntityFromDTO(input, existingStudent);
+        // CPF e email informados não podem pertencer a outro aluno (o próprio é ignorado na consulta)
+        String cpf = changes.get(StudentUpdatableField.CPF);
+        String email = changes.get(StudentUpdatableField.EMAIL);
+        if (cpf != null || email != null) {
+            UniqueConflicts.check(studentRepository.findUniqueConflicts(cpf, email, id));
+        }
 
-        // Salvar alterações
-        Student updatedStudent = studentRepository.save(existingStudent);
+        Student updatedStudent = studentRepository.update(id, changes, expectedVersion)
+                .orElseThrow(() -> new StudentNotFoundException("Estudante não encontrado"));
 
         return studentMapper.toOutputDTO(updatedStudent);
     }
@@ -17,7 +17,9 @@ public class Student {
     private String email;
     private String phone;
     private String photo;
+    private String photoRef;
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
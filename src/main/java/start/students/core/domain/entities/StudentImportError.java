@@ -0,0 +1,12 @@
+package start.students.core.domain.entities;
+
+import lombok.Value;
+
+/**
+ * Linha do arquivo rejeitada na importação (numeração das linhas de dados, a partir de 1)
+ */
+@Value
+public class StudentImportError {
+    long row;
+    String message;
+}
@@ -0,0 +1,33 @@
+package start.students.core.domain.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import start.students.core.domain.valueobjects.StudentImportStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Importação de alunos a partir de um arquivo CSV
+ * committedOffset é a posição (em bytes) logo após a última linha gravada: a retomada parte dela
+ * owner e leaseUntil identificam o nó que está rodando a importação e até quando a posse vale sem heartbeat
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportJob {
+    private String id;
+    private String fileReference;
+    private long fileSize;
+    private StudentImportStatus status;
+    private long committedOffset;
+    private long processedRows;
+    private long createdRows;
+    private long failedRows;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String owner;
+    private LocalDateTime leaseUntil;
+    private Long version;
+}
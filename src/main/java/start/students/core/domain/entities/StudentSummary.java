@@ -0,0 +1,20 @@
+package start.students.core.domain.entities;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Modelo de leitura do aluno para listagens: sem telefone nem foto
+ * createdAt é mantido apenas para montar o cursor da paginação keyset
+ */
+@Value
+public class StudentSummary {
+    String id;
+    String matricula;
+    String name;
+    String email;
+    String cpf;
+    String status;
+    LocalDateTime createdAt;
+}
@@ -0,0 +1,10 @@
+package start.students.core.domain.exceptions;
+
+/**
+ * Recurso limitado (pool, fila) sem capacidade no momento; a requisição pode ser repetida depois
+ */
+public class ServiceOverloadedException extends DomainException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
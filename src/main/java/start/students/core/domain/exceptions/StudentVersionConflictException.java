@@ -0,0 +1,10 @@
+package start.students.core.domain.exceptions;
+
+/**
+ * O aluno foi alterado por outra requisição depois da versão que o cliente leu
+ */
+public class StudentVersionConflictException extends DomainException {
+    public StudentVersionConflictException(String message) {
+        super(message);
+    }
+}
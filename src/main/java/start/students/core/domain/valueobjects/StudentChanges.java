@@ -0,0 +1,45 @@
+package start.students.core.domain.valueobjects;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Campos alterados em uma atualização: só os presentes entram no UPDATE, os demais ficam como estão
+ * Um campo presente com valor nulo limpa a coluna (ex.: remover a foto)
+ */
+public class StudentChanges {
+
+    private final Map<StudentUpdatableField, String> values = new EnumMap<>(StudentUpdatableField.class);
+
+    @Getter
+    private final LocalDateTime updatedAt;
+
+    public StudentChanges(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public StudentChanges set(StudentUpdatableField field, String value) {
+        values.put(field, value);
+        return this;
+    }
+
+    public boolean contains(StudentUpdatableField field) {
+        return values.containsKey(field);
+    }
+
+    public String get(StudentUpdatableField field) {
+        return values.get(field);
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    public Map<StudentUpdatableField, String> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+}
@@ -0,0 +1,23 @@
+package start.students.core.domain.valueobjects;
+
+import lombok.Value;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * CPFs e emails já cadastrados dentre os consultados (emails normalizados em minúsculas)
+ */
+@Value
+public class StudentConflicts {
+    Set<String> cpfs;
+    Set<String> emails;
+
+    public boolean hasCpf(String cpf) {
+        return cpfs.contains(cpf);
+    }
+
+    public boolean hasEmail(String email) {
+        return email != null && emails.contains(email.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,44 @@
+package start.students.core.domain.valueobjects;
+
+import start.students.core.domain.exceptions.DomainException;
+
+import java.util.Locale;
+
+/**
+ * Como o total de uma listagem paginada é obtido
+ */
+public enum StudentCountMode {
+    /** Sem total: só informa se existe próxima página */
+    NONE,
+    /** Total aproximado (estatísticas do banco ou contagem limitada) */
+    ESTIMATE,
+    /** Total exato (COUNT(*) no banco quando a página não o revela) */
+    EXACT,
+    /** Total sem filtro mantido em memória pelo nó: sem COUNT(*), mas pode divergir até a ressincronização */
+    CACHED;
+
+    /**
+     * Converte o parâmetro count da API; valores desconhecidos são rejeitados
+     */
+    public static StudentCountMode from(String count) {
+        if (count == null) {
+            return EXACT;
+        }
+        switch (count.toLowerCase(Locale.ROOT)) {
+            case "none":
+                return NONE;
+            case "estimate":
+                return ESTIMATE;
+            case "exact":
+                return EXACT;
+            case "cached":
+                return CACHED;
+            default:
+                throw new DomainException("Contagem inválida: use none, estimate, exact ou cached");
+        }
+    }
+
+    public String getValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,47 @@
+package start.students.core.domain.valueobjects;
+
+import lombok.Value;
+import start.students.core.domain.exceptions.DomainException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição opaca na listagem ordenada por (createdAt, id)
+ * Serializada em Base64 URL-safe para ser devolvida ao cliente como token "after"
+ */
+@Value
+public class StudentCursor {
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime createdAt;
+    String id;
+
+    public StudentCursor(LocalDateTime createdAt, String id) {
+        if (createdAt == null || id == null || id.trim().isEmpty()) {
+            throw new DomainException("Cursor inválido");
+        }
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static StudentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new DomainException("Cursor inválido");
+            }
+            return new StudentCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new DomainException("Cursor inválido", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package start.students.core.domain.valueobjects;
+
+import start.students.core.domain.exceptions.DomainException;
+
+public enum StudentExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    StudentExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Converte o parâmetro format da API; formatos desconhecidos são rejeitados
+     */
+    public static StudentExportFormat from(String format) {
+        if (format == null) {
+            return CSV;
+        }
+        switch (format.toLowerCase()) {
+            case "csv":
+                return CSV;
+            case "ndjson":
+                return NDJSON;
+            default:
+                throw new DomainException("Formato de exportação inválido: use csv ou ndjson");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package start.students.core.domain.valueobjects;
+
+public enum StudentImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
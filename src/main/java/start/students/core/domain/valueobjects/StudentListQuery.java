@@ -0,0 +1,29 @@
+package start.students.core.domain.valueobjects;
+
+import lombok.Value;
+
+import java.util.Locale;
+
+/**
+ * Parâmetros de uma listagem paginada, normalizados para servir de chave de cache
+ */
+@Value
+public class StudentListQuery {
+    StudentSearchField field;
+    String term;
+    int page;
+    int size;
+    StudentCountMode countMode;
+
+    public static StudentListQuery of(StudentSearchField field, String term, int page, int size,
+                                      StudentCountMode countMode) {
+        String normalized = term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+        // Sem termo o campo não importa: todas as listagens sem busca compartilham a entrada
+        return new StudentListQuery(normalized.isEmpty() ? StudentSearchField.NAME : field,
+                normalized, page, size, countMode);
+    }
+
+    public boolean isFiltered() {
+        return !term.isEmpty();
+    }
+}
@@ -0,0 +1,32 @@
+package start.students.core.domain.valueobjects;
+
+public enum StudentSearchField {
+    NAME,
+    CPF,
+    EMAIL,
+    MATRICULA,
+    /** Todos os campos plausíveis para o termo; desdobrado por campo nos casos de uso (servlet e reativo), os adaptadores o rejeitam */
+    ALL;
+
+    /**
+     * Converte o parâmetro searchType da API; valores desconhecidos buscam por nome
+     */
+    public static StudentSearchField from(String searchType) {
+        if (searchType == null) {
+            return NAME;
+        }
+        switch (searchType.toLowerCase()) {
+            case "cpf":
+                return CPF;
+            case "email":
+                return EMAIL;
+            case "matricula":
+                return MATRICULA;
+            case "all":
+                return ALL;
+            case "name":
+            default:
+                return NAME;
+        }
+    }
+}
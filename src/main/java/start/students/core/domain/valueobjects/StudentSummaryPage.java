@@ -0,0 +1,18 @@
+package start.students.core.domain.valueobjects;
+
+import lombok.Value;
+import start.students.core.domain.entities.StudentSummary;
+
+import java.util.List;
+
+/**
+ * Página de resumos com o total obtido conforme o modo de contagem efetivamente usado
+ * totalElements é nulo quando countMode é NONE
+ */
+@Value
+public class StudentSummaryPage {
+    List<StudentSummary> content;
+    boolean hasNext;
+    Long totalElements;
+    StudentCountMode countMode;
+}
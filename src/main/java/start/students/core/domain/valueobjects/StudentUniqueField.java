@@ -0,0 +1,9 @@
+package start.students.core.domain.valueobjects;
+
+/**
+ * Campos do aluno que não podem se repetir entre cadastros
+ */
+public enum StudentUniqueField {
+    CPF,
+    EMAIL
+}
@@ -0,0 +1,13 @@
+package start.students.core.domain.valueobjects;
+
+/**
+ * Campos do aluno que uma atualização pode alterar (matrícula e datas de cadastro são fixas)
+ */
+public enum StudentUpdatableField {
+    NAME,
+    CPF,
+    EMAIL,
+    PHONE,
+    PHOTO_REF,
+    STATUS
+}
@@ -0,0 +1,14 @@
+package start.students.core.domain.valueobjects;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versão gravada do aluno (incrementada a cada alteração) e a data dela, para requisições condicionais
+ */
+@Value
+public class StudentVersion {
+    Long version;
+    LocalDateTime updatedAt;
+}
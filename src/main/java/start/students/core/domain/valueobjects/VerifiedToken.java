@@ -0,0 +1,14 @@
+package start.students.core.domain.valueobjects;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Token JWT com assinatura e expiração já conferidas
+ */
+@Value
+public class VerifiedToken {
+    String username;
+    Instant expiresAt;
+}
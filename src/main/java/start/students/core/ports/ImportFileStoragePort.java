@@ -0,0 +1,24 @@
+package start.students.core.ports;
+
+import java.io.InputStream;
+
+public interface ImportFileStoragePort {
+    /**
+     * Copia o conteúdo enviado para o armazenamento e retorna a referência do arquivo
+     */
+    String store(InputStream content);
+
+    long size(String reference);
+
+    /**
+     * Indica se o arquivo é acessível por este nó; com armazenamento local, só o nó que o recebeu o enxerga
+     */
+    boolean exists(String reference);
+
+    /**
+     * Abre o arquivo posicionado no byte informado, para retomar uma importação
+     */
+    InputStream open(String reference, long offset);
+
+    void delete(String reference);
+}
@@ -1,7 +1,14 @@
 package start.students.core.ports;
 
+import start.students.core.domain.valueobjects.VerifiedToken;
+
+import java.util.Optional;
+
 public interface JwtTokenPort {
     String generateToken(String username);
-    String extractUsername(String token);
-    boolean isTokenValid(String token, String username);
+
+    /**
+     * Confere assinatura e expiração uma única vez; vazio se o token for inválido ou expirado
+     */
+    Optional<VerifiedToken> verify(String token);
 }
@@ -0,0 +1,12 @@
+package start.students.core.ports;
+
+import java.util.List;
+
+public interface MatriculaGeneratorPort {
+    String nextMatricula();
+
+    /**
+     * Reserva de uma vez matrículas consecutivas para cadastros em lote
+     */
+    List<String> nextMatriculas(int count);
+}
@@ -1,6 +1,19 @@
 package start.students.core.ports;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface PasswordEncoderPort {
     String encode(String rawPassword);
+
+    /**
+     * Gera o hash fora da thread chamadora; sem capacidade, o futuro falha com ServiceOverloadedException
+     */
+    CompletableFuture<String> encodeAsync(String rawPassword);
+
     boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * Indica se o hash foi gerado com um custo diferente do configurado (maior ou menor)
+     */
+    boolean needsRehash(String encodedPassword);
 }
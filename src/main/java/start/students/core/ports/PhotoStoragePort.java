@@ -0,0 +1,12 @@
+package start.students.core.ports;
+
+import java.util.Optional;
+
+public interface PhotoStoragePort {
+    /**
+     * Armazena a foto e retorna a referência a ser gravada no aluno
+     */
+    String store(String photo);
+
+    Optional<String> load(String reference);
+}
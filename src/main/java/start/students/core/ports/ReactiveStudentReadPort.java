@@ -0,0 +1,30 @@
+package start.students.core.ports;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import start.students.core.domain.entities.Student;
+import start.students.core.domain.entities.StudentSummary;
+import start.students.core.domain.valueobjects.StudentCursor;
+import start.students.core.domain.valueobjects.StudentListQuery;
+import start.students.core.domain.valueobjects.StudentSummaryPage;
+
+/**
+ * Leituras de alunos sem bloqueio, para o adaptador WebFlux (perfil reactive)
+ */
+public interface ReactiveStudentReadPort {
+
+    /**
+     * Aluno sem a foto (apenas a referência); vazio se não existir
+     */
+    Mono<Student> findById(String id);
+
+    /**
+     * Mesma semântica de StudentRepositoryPort.findSummaries, incluindo o modo de contagem
+     */
+    Mono<StudentSummaryPage> findSummaries(StudentListQuery query);
+
+    /**
+     * Próximos resumos em ordem (createdAt, id) a partir do cursor; cursor nulo começa do início
+     */
+    Flux<StudentSummary> findSummariesAfter(StudentCursor cursor, int limit);
+}
@@ -0,0 +1,16 @@
+package start.students.core.ports;
+
+import start.students.core.domain.entities.Student;
+
+/**
+ * Notificado pelo adaptador de persistência depois que uma escrita de aluno é confirmada
+ * Usado para manter estruturas em memória (índices, caches) consistentes com o banco
+ */
+public interface StudentChangeListener {
+
+    default void onStudentSaved(Student student) {
+    }
+
+    default void onStudentDeleted(String id) {
+    }
+}
@@ -0,0 +1,24 @@
+package start.students.core.ports;
+
+import start.students.core.domain.entities.Student;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+public interface StudentDetailCachePort {
+    /**
+     * Retorna o aluno em cache ou o carrega com o loader, guardando o resultado
+     * Alunos não encontrados não são guardados
+     */
+    Optional<Student> get(String id, Function<String, Optional<Student>> loader);
+
+    /**
+     * Retorna o aluno somente se já estiver em cache, sem carregar
+     */
+    Optional<Student> getIfPresent(String id);
+
+    /**
+     * Descarta a entrada, por exemplo quando a versão em cache ficou para trás da gravada
+     */
+    void invalidate(String id);
+}
@@ -0,0 +1,41 @@
+package start.students.core.ports;
+
+import start.students.core.domain.entities.StudentImportError;
+import start.students.core.domain.entities.StudentImportJob;
+import start.students.core.domain.valueobjects.StudentImportStatus;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StudentImportJobRepositoryPort {
+    StudentImportJob save(StudentImportJob job);
+
+    Optional<StudentImportJob> findById(String id);
+
+    List<StudentImportJob> findByStatusIn(Collection<StudentImportStatus> statuses);
+
+    /**
+     * Toma posse de uma importação na fila (ou com lease vencido) para o nó informado
+     * Retorna false se outro nó já a tiver tomado; o claim incrementa a versão do job
+     */
+    boolean claim(String id, String owner, Duration lease);
+
+    /**
+     * Estende o lease; false indica que o nó deixou de ser o dono
+     */
+    boolean renewLease(String id, String owner, Duration lease);
+
+    /**
+     * Devolve à fila uma importação com falha ou com lease vencido; false se ela não estiver nesse estado
+     */
+    boolean requeue(String id);
+
+    void saveErrors(String jobId, List<StudentImportError> errors);
+
+    /**
+     * Primeiros erros da importação, em ordem de linha
+     */
+    List<StudentImportError> findErrors(String jobId, int limit);
+}
@@ -0,0 +1,13 @@
+package start.students.core.ports;
+
+import start.students.core.domain.valueobjects.StudentListQuery;
+import start.students.core.domain.valueobjects.StudentSummaryPage;
+
+import java.util.function.Function;
+
+public interface StudentListCachePort {
+    /**
+     * Retorna a página em cache se ela ainda for da versão de escrita atual; senão a carrega e guarda
+     */
+    StudentSummaryPage get(StudentListQuery query, Function<StudentListQuery, StudentSummaryPage> loader);
+}
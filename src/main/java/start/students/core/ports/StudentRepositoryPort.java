@@ -1,33 +1,89 @@
 package start.students.core.ports;
 
 import start.students.core.domain.entities.Student;
-import org.springframework.data.domain.Page;
+import start.students.core.domain.entities.StudentSummary;
+import start.students.core.domain.valueobjects.StudentChanges;
+import start.students.core.domain.valueobjects.StudentConflicts;
+import start.students.core.domain.valueobjects.StudentCountMode;
+import start.students.core.domain.valueobjects.StudentCursor;
+import start.students.core.domain.valueobjects.StudentSearchField;
+import start.students.core.domain.valueobjects.StudentSummaryPage;
+import start.students.core.domain.valueobjects.StudentUniqueField;
+import start.students.core.domain.valueobjects.StudentVersion;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface StudentRepositoryPort {
     Student save(Student student);
 
-    Optional<Student> findById(String id);
+    /**
+     * Insere um aluno novo (id já atribuído) sem a leitura prévia feita pelo save
+     */
+    Student insert(Student student);
+
+    /**
+     * Insere alunos novos em lote (ids já atribuídos), usando o batching do driver
+     * CPF ou email já cadastrado resulta em DataIntegrityViolationException, como no save
+     */
+    void insertAll(List<Student> students);
 
-    void deleteById(String id);
+    Optional<Student> findById(String id);
 
-    Page<Student> findAll(Pageable pageable);
+    /**
+     * Versão e data da última alteração do aluno, sem carregar a linha inteira
+     */
+    Optional<StudentVersion> findVersion(String id);
 
-    Page<Student> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    /**
+     * Atualiza o aluno em um único comando que escreve só as colunas presentes em changes
+     * Com expectedVersion, só grava se a versão atual for essa (StudentVersionConflictException se não for)
+     * Retorna o aluno já com a nova versão, ou vazio se ele não existe
+     */
+    Optional<Student> update(String id, StudentChanges changes, Long expectedVersion);
 
-    Page<Student> findByCpfContaining(String cpf, Pageable pageable);
+    /**
+     * Marca o aluno como excluído (tombstone) em um único comando; false se ele não existe ou já foi excluído
+     */
+    boolean deleteById(String id);
 
-    Page<Student> findByEmailContainingIgnoreCase(String email, Pageable pageable);
+    /**
+     * Lista resumos de alunos; termo vazio lista todos, caso contrário busca "contém" no campo
+     * O total segue o modo pedido, mas pode vir exato quando isso não custa nada a mais
+     */
+    StudentSummaryPage findSummaries(StudentSearchField field, String term, Pageable pageable,
+                                     StudentCountMode countMode);
 
-    Page<Student> findByIdContaining(String id, Pageable pageable);
+    /**
+     * Busca a próxima página em ordem (createdAt, id), a partir do cursor informado.
+     * Cursor nulo retorna a primeira página.
+     */
+    List<StudentSummary> findSummariesAfter(StudentCursor cursor, int limit);
 
-    Page<Student> findByMatriculaContaining(String matricula, Pageable pageable);
+    /**
+     * Percorre todos os alunos em ordem (createdAt, id) sem carregá-los em memória
+     * Exige transação ativa; o stream deve ser fechado pelo chamador
+     */
+    Stream<Student> streamAll();
 
     boolean existsByCpf(String cpf);
 
     boolean existsByEmail(String email);
 
     boolean existsByEmailIgnoreCase(String email);
+
+    /**
+     * Verifica CPF e email (sem diferenciar maiúsculas) em uma única consulta e retorna os campos em conflito
+     * Argumentos nulos não são verificados; excludingId ignora o próprio aluno em uma atualização
+     */
+    Set<StudentUniqueField> findUniqueConflicts(String cpf, String email, String excludingId);
+
+    /**
+     * Verifica em uma única consulta quais CPFs e emails (sem diferenciar maiúsculas) já existem
+     */
+    StudentConflicts findConflicts(Collection<String> cpfs, Collection<String> emails);
 }
@@ -0,0 +1,8 @@
+package start.students.core.ports;
+
+public interface StudentWriteVersionPort {
+    /**
+     * Versão opaca da tabela de alunos, que muda a cada inclusão, alteração ou exclusão confirmada
+     */
+    String current();
+}
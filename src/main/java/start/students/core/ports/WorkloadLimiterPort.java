@@ -0,0 +1,24 @@
+package start.students.core.ports;
+
+import java.util.function.Supplier;
+
+/**
+ * Limite de trabalho simultâneo no banco por tipo de carga (compartimentos)
+ * Só o que de fato vai ao banco passa por aqui: respostas servidas de cache e 304 ficam de fora
+ */
+public interface WorkloadLimiterPort {
+
+    enum Workload {
+        LIST,
+        DETAIL,
+        WRITE,
+        LOGIN,
+        BULK
+    }
+
+    /**
+     * Executa o trabalho dentro do compartimento da carga, esperando na fila se houver lugar
+     * Lança ServiceOverloadedException se o compartimento estiver saturado
+     */
+    <T> T call(Workload workload, Supplier<T> work);
+}
@@ -0,0 +1,25 @@
+-- Executado após o Hibernate criar/atualizar as tabelas (spring.jpa.defer-datasource-initialization)
+-- Índices que as anotações JPA não conseguem expressar
+
+-- Alunos excluídos ficam como tombstone (deleted_at) até o expurgo: os índices abaixo cobrem só os ativos,
+-- com o mesmo predicado (deleted_at IS NULL) que as consultas aplicam
+
+-- Ordem estável usada pela listagem e pela paginação por cursor (keyset)
+CREATE INDEX IF NOT EXISTS idx_students_live_created_at_id ON students (created_at, id) WHERE deleted_at IS NULL;
+DROP INDEX IF EXISTS idx_students_created_at_id;
+
+-- Unicidade de CPF e de email (sem diferenciar maiúsculas) entre os ativos: um CPF/email excluído pode ser
+-- cadastrado de novo; o índice de email atende LOWER(email) = :email nas checagens de conflito
+CREATE UNIQUE INDEX IF NOT EXISTS ux_students_cpf_live ON students (cpf) WHERE deleted_at IS NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS ux_students_email_lower_live ON students (lower(email)) WHERE deleted_at IS NULL;
+
+-- Restrições antigas, sobre todas as linhas, substituídas pelos índices parciais acima
+ALTER TABLE students DROP CONSTRAINT IF EXISTS students_cpf_key;
+ALTER TABLE students DROP CONSTRAINT IF EXISTS students_email_key;
+DROP INDEX IF EXISTS ux_students_email_lower;
+
+-- Expurgo dos tombstones em ordem de exclusão, sem varrer os ativos
+CREATE INDEX IF NOT EXISTS idx_students_deleted_at ON students (deleted_at) WHERE deleted_at IS NOT NULL;
+
+-- Sincronização dos índices em memória de cada nó com as escritas dos demais (alterações desde um instante)
+CREATE INDEX IF NOT EXISTS idx_students_updated_at ON students (updated_at);
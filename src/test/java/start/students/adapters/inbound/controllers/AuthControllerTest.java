@@ -0,0 +1,48 @@
+package start.students.adapters.inbound.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import start.students.adapters.inbound.security.LoginAttemptLimiter;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * O limite de login vale para o IP real do cliente, e não para o do proxy na frente da aplicação
+ * Roda com o Tomcat de verdade: é a válvula dele que lê o X-Forwarded-For vindo de um proxy interno
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AuthControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @MockitoSpyBean
+    private LoginAttemptLimiter loginAttemptLimiter;
+
+    @Test
+    void failedLoginCountsAgainstTheForwardedClientIp() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", "203.0.113.7");
+        Map<String, String> body = Map.of("username", "naoexiste01", "password", "senhaerrada1");
+
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "/api/auth/login", new HttpEntity<>(body, headers), String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(loginAttemptLimiter).tryAcquire(eq("naoexiste01"), eq("203.0.113.7"));
+        verify(loginAttemptLimiter).recordFailure("203.0.113.7");
+    }
+}
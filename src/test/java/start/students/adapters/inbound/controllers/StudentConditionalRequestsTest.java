@@ -0,0 +1,105 @@
+package start.students.adapters.inbound.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import start.students.core.application.dtos.StudentOutputDTO;
+import start.students.core.application.usecases.CreateStudentUseCase;
+import start.students.support.TestStudents;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Requisições condicionais contra o banco real; as escritas "de outro nó" vão direto à tabela,
+ * sem passar pelos ouvintes que invalidam os caches deste nó
+ */
+@SpringBootTest(properties = "students.cache.list.version-ttl=PT0S")
+@AutoConfigureMockMvc
+class StudentConditionalRequestsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CreateStudentUseCase createStudentUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void listAnswers304UntilAnotherNodeWrites() throws Exception {
+        String etag = mockMvc.perform(get("/api/students").with(user("professor01")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/students").with(user("professor01")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        insertDirectly();
+
+        MvcResult changed = mockMvc.perform(get("/api/students").with(user("professor01"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(etag, changed.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void detailAnswers304ForETagAndLastModified() throws Exception {
+        StudentOutputDTO created = createStudentUseCase.execute(TestStudents.newStudent());
+
+        MvcResult first = mockMvc.perform(get("/api/students/" + created.getId()).with(user("professor01")))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/api/students/" + created.getId()).with(user("professor01"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/students/" + created.getId()).with(user("professor01"))
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void detailWriteFromAnotherNodeBypassesTheCachedEntry() throws Exception {
+        StudentOutputDTO created = createStudentUseCase.execute(TestStudents.newStudent());
+        // Deixa o aluno no cache do detalhe deste nó
+        String etag = mockMvc.perform(get("/api/students/" + created.getId()).with(user("professor01")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        jdbcTemplate.update("UPDATE students SET name = ?, version = version + 1, updated_at = ? WHERE id = ?",
+                "Nome De Outro No", Timestamp.valueOf(LocalDateTime.now()), created.getId());
+
+        mockMvc.perform(get("/api/students/" + created.getId()).with(user("professor01"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Nome De Outro No"))
+                .andExpect(jsonPath("$.data.version").value(created.getVersion() + 1));
+    }
+
+    private void insertDirectly() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO students (id, matricula, name, cpf, email, phone, status, created_at, updated_at, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, 'Ativo', ?, ?, 0)",
+                UUID.randomUUID().toString(), "X" + System.nanoTime(), "Aluno Externo", TestStudents.cpf(),
+                TestStudents.email(), "11987654321", now, now);
+    }
+}
@@ -0,0 +1,148 @@
+package start.students.adapters.inbound.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import start.students.adapters.inbound.http.GlobalExceptionHandler;
+import start.students.core.application.dtos.PatchStudentInputDTO;
+import start.students.core.application.dtos.StudentOutputDTO;
+import start.students.core.application.dtos.UpdateStudentInputDTO;
+import start.students.core.application.usecases.*;
+import start.students.core.domain.exceptions.StudentVersionConflictException;
+import start.students.core.domain.valueobjects.StudentExportFormat;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Contrato HTTP das escritas: If-Match vira expectedVersion, conflito de versão vira 409,
+ * e no merge patch null explícito chega ao caso de uso como campo presente
+ */
+class StudentControllerTest {
+
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+    private static final String PUT_BODY = "{\"name\":\"Nome Atualizado\",\"phone\":\"11987654321\"}";
+
+    private final UpdateStudentUseCase updateStudentUseCase = mock(UpdateStudentUseCase.class);
+    private final ExportStudentsUseCase exportStudentsUseCase = mock(ExportStudentsUseCase.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StudentController(
+            mock(CreateStudentUseCase.class),
+            mock(GetStudentDetailUseCase.class),
+            updateStudentUseCase,
+            mock(DeleteStudentUseCase.class),
+            mock(ListStudentsUseCase.class),
+            mock(BatchCreateStudentsUseCase.class),
+            exportStudentsUseCase))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+    @Test
+    void exportDefaultsToCsvWithoutPhoto() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/students/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"));
+        verify(exportStudentsUseCase).execute(eq(StudentExportFormat.CSV), eq(false), any());
+    }
+
+    @Test
+    void exportRejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/students/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(exportStudentsUseCase);
+    }
+
+    @Test
+    void ifMatchIsPassedAsExpectedVersionAndNewETagIsReturned() throws Exception {
+        when(updateStudentUseCase.execute(eq("a1"), any(UpdateStudentInputDTO.class), eq(3L)))
+                .thenReturn(student(4L));
+
+        mockMvc.perform(put("/api/students/a1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"v3\"")
+                        .content(PUT_BODY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v4\""));
+    }
+
+    @Test
+    void missingOrWildcardIfMatchWritesOverAnyVersion() throws Exception {
+        when(updateStudentUseCase.patch(eq("a1"), any(PatchStudentInputDTO.class), isNull()))
+                .thenReturn(student(2L));
+
+        mockMvc.perform(patch("/api/students/a1").contentType(MERGE_PATCH).content("{\"status\":\"ACTIVE\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/students/a1").contentType(MERGE_PATCH).header(HttpHeaders.IF_MATCH, "*")
+                        .content("{\"status\":\"ACTIVE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v2\""));
+    }
+
+    @Test
+    void versionConflictAnswers409() throws Exception {
+        when(updateStudentUseCase.patch(eq("a1"), any(PatchStudentInputDTO.class), eq(1L)))
+                .thenThrow(new StudentVersionConflictException("Aluno foi alterado por outra requisição"));
+
+        mockMvc.perform(patch("/api/students/a1")
+                        .contentType(MERGE_PATCH)
+                        .header(HttpHeaders.IF_MATCH, "\"v1\"")
+                        .content("{\"name\":\"Nome Atualizado\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void malformedIfMatchIsBadRequestWithoutWriting() throws Exception {
+        for (String ifMatch : new String[]{"3", "\"3\"", "\"v\"", "\"vabc\"", "W/\"v3\""}) {
+            mockMvc.perform(put("/api/students/a1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header(HttpHeaders.IF_MATCH, ifMatch)
+                            .content(PUT_BODY))
+                    .andExpect(status().isBadRequest());
+        }
+        verify(updateStudentUseCase, never()).execute(any(), any(), any());
+    }
+
+    @Test
+    void mergePatchKeepsExplicitNullApartFromAbsentField() throws Exception {
+        ArgumentCaptor<PatchStudentInputDTO> captor = ArgumentCaptor.forClass(PatchStudentInputDTO.class);
+        when(updateStudentUseCase.patch(eq("a1"), captor.capture(), isNull())).thenReturn(student(2L));
+
+        mockMvc.perform(patch("/api/students/a1").contentType(MERGE_PATCH).content("{\"phone\":null}"))
+                .andExpect(status().isOk());
+
+        PatchStudentInputDTO input = captor.getValue();
+        assertTrue(input.has("phone"));
+        assertNull(input.getPhone());
+        assertFalse(input.has("photo"));
+        assertFalse(input.has("name"));
+    }
+
+    private static StudentOutputDTO student(long version) {
+        return StudentOutputDTO.builder().id("a1").name("Nome Atualizado").version(version).build();
+    }
+}
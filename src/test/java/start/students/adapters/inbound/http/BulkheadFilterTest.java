@@ -0,0 +1,116 @@
+package start.students.adapters.inbound.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import start.students.core.ports.WorkloadLimiterPort.Workload;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadFilterTest {
+
+    private final WorkloadBulkheads bulkheads = new WorkloadBulkheads(singleSlot(), new SimpleMeterRegistry());
+    private final BulkheadFilter filter = new BulkheadFilter(bulkheads, new ObjectMapper());
+
+    @Test
+    void writeHoldsTheSlotOnlyWhileTheChainRuns() throws Exception {
+        AtomicBoolean heldDuringChain = new AtomicBoolean();
+        FilterChain chain = (request, response) -> heldDuringChain.set(!bulkheads.tryAcquire(Workload.WRITE));
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/students"), new MockHttpServletResponse(), chain);
+
+        assertTrue(heldDuringChain.get());
+        assertTrue(bulkheads.tryAcquire(Workload.WRITE));
+    }
+
+    @Test
+    void saturatedCompartmentAnswers503WithRetryAfter() throws Exception {
+        assertTrue(bulkheads.tryAcquire(Workload.WRITE));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/students/1"), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void listAndDetailReadsSkipTheFilter() throws Exception {
+        // Todas as vagas de leitura ocupadas: listagem e detalhe passam mesmo assim, pois só ocupam vaga ao ir ao banco
+        assertTrue(bulkheads.tryAcquire(Workload.LIST));
+        assertTrue(bulkheads.tryAcquire(Workload.DETAIL));
+
+        for (String path : new String[]{"/api/students", "/api/students/1", "/api/students/validate/cpf"}) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", path), response, chain);
+
+            assertEquals(200, response.getStatus());
+            assertNotNull(chain.getRequest(), path);
+        }
+    }
+
+    @Test
+    void asyncExportReleasesTheSlotOnlyWhenProcessingCompletes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> req.startAsync();
+
+        filter.doFilter(request, response, chain);
+
+        // A resposta continua em outra thread: a vaga segue ocupada depois que o filtro retorna
+        assertFalse(bulkheads.tryAcquire(Workload.BULK));
+
+        AsyncContext asyncContext = request.getAsyncContext();
+        ((MockAsyncContext) asyncContext).complete();
+
+        assertTrue(bulkheads.tryAcquire(Workload.BULK));
+    }
+
+    @Test
+    void asyncTimeoutAlsoReleasesTheSlotOnlyOnce() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students/export");
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        asyncContext.getListeners().forEach(listener -> {
+            try {
+                listener.onTimeout(null);
+                listener.onComplete(null);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Timeout seguido de complete devolve a vaga uma única vez: o limite continua sendo 1
+        assertTrue(bulkheads.tryAcquire(Workload.BULK));
+        assertFalse(bulkheads.tryAcquire(Workload.BULK));
+    }
+
+    private static MockEnvironment singleSlot() {
+        MockEnvironment environment = new MockEnvironment();
+        for (Workload workload : Workload.values()) {
+            environment.withProperty("students.bulkhead." + workload.name().toLowerCase() + ".max-concurrent", "1");
+        }
+        return environment;
+    }
+}
@@ -0,0 +1,142 @@
+package start.students.adapters.inbound.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import start.students.core.domain.exceptions.ServiceOverloadedException;
+import start.students.core.ports.WorkloadLimiterPort.Workload;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadBulkheadsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void limitsAreDerivedFromThePoolBudgets() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "30")
+                .withProperty("students.bulkhead.reserved-connections", "4")
+                .withProperty("students.search.all.pool-size", "4")
+                .withProperty("security.bcrypt.pool-size", "4");
+
+        WorkloadBulkheads bulkheads = new WorkloadBulkheads(environment, meterRegistry);
+
+        // 30 - 4 (jobs) - 4 (busca em todos os campos) - 4 (login) = 18 conexões repartidas pelas cotas padrão
+        assertEquals(4, bulkheads.limit(Workload.LOGIN));
+        assertEquals(7, bulkheads.limit(Workload.LIST));
+        assertEquals(4, bulkheads.limit(Workload.DETAIL));
+        assertEquals(3, bulkheads.limit(Workload.WRITE));
+        assertEquals(2, bulkheads.limit(Workload.BULK));
+    }
+
+    @Test
+    void sharesAndExplicitLimitsOverrideTheDefaults() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "30")
+                .withProperty("students.search.all.pool-size", "4")
+                .withProperty("security.bcrypt.pool-size", "2")
+                .withProperty("students.bulkhead.list.pool-share", "50")
+                .withProperty("students.bulkhead.write.max-concurrent", "9");
+
+        WorkloadBulkheads bulkheads = new WorkloadBulkheads(environment, meterRegistry);
+
+        assertEquals(12, bulkheads.limit(Workload.LIST));
+        assertEquals(9, bulkheads.limit(Workload.WRITE));
+    }
+
+    @Test
+    void everyCompartmentGetsAtLeastOneSlotWhenThePoolIsTooSmall() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "4")
+                .withProperty("students.search.all.pool-size", "4")
+                .withProperty("security.bcrypt.pool-size", "1");
+
+        WorkloadBulkheads bulkheads = new WorkloadBulkheads(environment, meterRegistry);
+
+        for (Workload workload : Workload.values()) {
+            assertEquals(1, bulkheads.limit(workload));
+        }
+    }
+
+    @Test
+    void saturatedCompartmentRejectsWithoutAffectingTheOthers() {
+        WorkloadBulkheads bulkheads = new WorkloadBulkheads(limits(1, 0, "0s"), meterRegistry);
+
+        assertTrue(bulkheads.tryAcquire(Workload.BULK));
+        assertThrows(ServiceOverloadedException.class, () -> bulkheads.call(Workload.BULK, () -> "exportação"));
+        assertEquals("listagem", bulkheads.call(Workload.LIST, () -> "listagem"));
+        assertEquals(1.0, meterRegistry.get("students.bulkhead.rejected").tag("workload", "bulk").counter().count());
+
+        bulkheads.release(Workload.BULK);
+        assertEquals("exportação", bulkheads.call(Workload.BULK, () -> "exportação"));
+    }
+
+    @Test
+    void callReleasesTheSlotWhenTheWorkFails() {
+        WorkloadBulkheads bulkheads = new WorkloadBulkheads(limits(1, 0, "0s"), meterRegistry);
+
+        assertThrows(IllegalStateException.class, () -> bulkheads.call(Workload.DETAIL, () -> {
+            throw new IllegalStateException("falha no banco");
+        }));
+
+        assertTrue(bulkheads.tryAcquire(Workload.DETAIL));
+    }
+
+    @Test
+    void waiterGetsTheSlotReleasedWithinMaxWait() throws Exception {
+        WorkloadBulkheads bulkheads = new WorkloadBulkheads(limits(1, 1, "5s"), meterRegistry);
+        assertTrue(bulkheads.tryAcquire(Workload.WRITE));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            started.countDown();
+            return bulkheads.tryAcquire(Workload.WRITE);
+        });
+        started.await();
+        awaitWaiting(Workload.WRITE, 1);
+
+        // A fila tem um lugar só: o próximo é rejeitado na hora
+        assertFalse(bulkheads.tryAcquire(Workload.WRITE));
+
+        bulkheads.release(Workload.WRITE);
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void waiterGivesUpAfterMaxWait() {
+        WorkloadBulkheads bulkheads = new WorkloadBulkheads(limits(1, 1, "50ms"), meterRegistry);
+        assertTrue(bulkheads.tryAcquire(Workload.WRITE));
+
+        assertFalse(bulkheads.tryAcquire(Workload.WRITE));
+    }
+
+    private static MockEnvironment limits(int maxConcurrent, int maxWaiting, String maxWait) {
+        MockEnvironment environment = new MockEnvironment();
+        for (Workload workload : Workload.values()) {
+            String prefix = "students.bulkhead." + workload.name().toLowerCase() + ".";
+            environment.withProperty(prefix + "max-concurrent", String.valueOf(maxConcurrent))
+                    .withProperty(prefix + "max-waiting", String.valueOf(maxWaiting))
+                    .withProperty(prefix + "max-wait", maxWait);
+        }
+        return environment;
+    }
+
+    private void awaitWaiting(Workload workload, int expected) throws InterruptedException {
+        String tag = workload.name().toLowerCase();
+        for (int attempt = 0; attempt < 500; attempt++) {
+            if (meterRegistry.get("students.bulkhead.waiting").tag("workload", tag).gauge().value() >= expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Nenhuma requisição entrou na fila");
+    }
+}
@@ -0,0 +1,109 @@
+package start.students.adapters.inbound.security;
+
+import org.junit.jupiter.api.Test;
+import start.students.adapters.inbound.security.ClientRateLimiter.Budget;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientRateLimiterTest {
+
+    @Test
+    void burstUpToCapacityThenRejectsWithWaitOfOneInterval() {
+        // Leitura: 3 de rajada, 1 token por segundo
+        ClientRateLimiter limiter = new ClientRateLimiter(true, 3, 1, 1, 1, 1, 1);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(Budget.READ, "ana"), "token " + i);
+        }
+        long wait = limiter.tryAcquire(Budget.READ, "ana");
+
+        assertTrue(wait > 0);
+        assertTrue(wait <= TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void rejectedAttemptDoesNotConsumeTokens() {
+        ClientRateLimiter limiter = new ClientRateLimiter(true, 1, 1, 1, 1, 1, 1);
+        assertEquals(0, limiter.tryAcquire(Budget.READ, "ana"));
+
+        long first = limiter.tryAcquire(Budget.READ, "ana");
+        long second = limiter.tryAcquire(Budget.READ, "ana");
+
+        // A espera não cresce com as recusas: só o tempo a reduz
+        assertTrue(second <= first);
+    }
+
+    @Test
+    void tokensRefillOverTime() throws InterruptedException {
+        // 1000 tokens por segundo: um token volta a cada milissegundo
+        ClientRateLimiter limiter = new ClientRateLimiter(true, 2, 1000, 1, 1, 1, 1);
+        assertEquals(0, limiter.tryAcquire(Budget.READ, "ana"));
+        assertEquals(0, limiter.tryAcquire(Budget.READ, "ana"));
+        assertTrue(limiter.tryAcquire(Budget.READ, "ana") > 0);
+
+        Thread.sleep(20);
+
+        // Balde cheio de novo, mas nunca acima da capacidade
+        assertEquals(0, limiter.tryAcquire(Budget.READ, "ana"));
+        assertEquals(0, limiter.tryAcquire(Budget.READ, "ana"));
+        assertTrue(limiter.tryAcquire(Budget.READ, "ana") > 0);
+    }
+
+    @Test
+    void clientsHaveIndependentBuckets() {
+        ClientRateLimiter limiter = new ClientRateLimiter(true, 1, 1, 1, 1, 1, 1);
+        assertEquals(0, limiter.tryAcquire(Budget.READ, "ana"));
+        assertTrue(limiter.tryAcquire(Budget.READ, "ana") > 0);
+
+        assertEquals(0, limiter.tryAcquire(Budget.READ, "bia"));
+        assertEquals(0, limiter.tryAcquire(Budget.READ, "ip:10.0.0.1"));
+    }
+
+    @Test
+    void budgetsAreIndependentForTheSameClient() {
+        ClientRateLimiter limiter = new ClientRateLimiter(true, 1, 1, 1, 1, 1, 1);
+        assertEquals(0, limiter.tryAcquire(Budget.EXPORT, "ana"));
+        assertTrue(limiter.tryAcquire(Budget.EXPORT, "ana") > 0);
+
+        assertEquals(0, limiter.tryAcquire(Budget.READ, "ana"));
+        assertEquals(0, limiter.tryAcquire(Budget.WRITE, "ana"));
+    }
+
+    @Test
+    void disabledLimiterAlwaysAllows() {
+        ClientRateLimiter limiter = new ClientRateLimiter(false, 1, 1, 1, 1, 1, 1);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire(Budget.WRITE, "ana"));
+        }
+    }
+
+    @Test
+    void evictionKeepsBucketsThatAreStillDraining() {
+        ClientRateLimiter limiter = new ClientRateLimiter(true, 1, 1, 1, 1, 1, 1);
+        assertEquals(0, limiter.tryAcquire(Budget.READ, "ana"));
+
+        limiter.evictIdle();
+
+        // Remover o balde ainda em recarga daria um token a mais ao cliente
+        assertTrue(limiter.tryAcquire(Budget.READ, "ana") > 0);
+    }
+
+    @Test
+    void retryAfterRoundsUpToWholeSecondsWithMinimumOfOne() {
+        assertEquals(1, ClientRateLimiter.retryAfterSeconds(1));
+        assertEquals(1, ClientRateLimiter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1)));
+        assertEquals(2, ClientRateLimiter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1) + 1));
+        assertEquals(20, ClientRateLimiter.retryAfterSeconds(TimeUnit.MILLISECONDS.toNanos(19_500)));
+    }
+
+    @Test
+    void invalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientRateLimiter(true, 0, 1, 1, 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ClientRateLimiter(true, 1, 1, 1, 0, 1, 1));
+    }
+}
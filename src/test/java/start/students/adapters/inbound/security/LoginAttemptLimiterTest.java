@@ -0,0 +1,166 @@
+package start.students.adapters.inbound.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginAttemptLimiterTest {
+
+    private static final long WINDOW = 60_000;
+
+    // Início de uma janela de um minuto
+    private final MutableClock clock = new MutableClock(60_000_000);
+
+    @Test
+    void userLimitIsPerUserAndIp() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(clock, Duration.ofMillis(WINDOW), 3, 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("ana", "10.0.0.1"), "tentativa " + i);
+        }
+
+        assertTrue(limiter.tryAcquire("ana", "10.0.0.1") > 0);
+        assertTrue(limiter.tryAcquire("ANA", "10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("bia", "10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("ana", "10.0.0.2"));
+    }
+
+    @Test
+    void successfulLoginsDoNotCountAgainstTheIp() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(clock, Duration.ofMillis(WINDOW), 5, 2);
+
+        // Muitos usuários atrás do mesmo IP (NAT/proxy) entrando normalmente
+        for (int i = 0; i < 20; i++) {
+            assertEquals(0, limiter.tryAcquire("aluno" + i, "10.0.0.1"));
+        }
+
+        limiter.recordFailure("10.0.0.1");
+        limiter.recordFailure("10.0.0.1");
+
+        assertTrue(limiter.tryAcquire("outro", "10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("outro", "10.0.0.2"));
+    }
+
+    @Test
+    void resetClearsOnlyTheUserAttempts() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(clock, Duration.ofMillis(WINDOW), 1, 1);
+        assertEquals(0, limiter.tryAcquire("ana", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("ana", "10.0.0.1") > 0);
+
+        limiter.reset("ana", "10.0.0.1");
+        assertEquals(0, limiter.tryAcquire("ana", "10.0.0.1"));
+
+        limiter.recordFailure("10.0.0.1");
+        limiter.reset("ana", "10.0.0.1");
+        assertTrue(limiter.tryAcquire("ana", "10.0.0.1") > 0);
+    }
+
+    @Test
+    void previousWindowIsWeightedByTheTimeLeftInIt() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(clock, Duration.ofMillis(WINDOW), 5, 2);
+        for (int i = 0; i < 4; i++) {
+            limiter.recordFailure("10.0.0.1");
+        }
+
+        // Próxima janela: as 4 falhas ainda pesam inteiras e só abaixo de 2 (peso < 1/2) o IP é liberado
+        clock.advance(WINDOW);
+        long wait = limiter.tryAcquire("ana", "10.0.0.1");
+        assertEquals(WINDOW / 2 + 1, wait);
+
+        clock.advance(wait - 1);
+        assertTrue(limiter.tryAcquire("ana", "10.0.0.1") > 0);
+        clock.advance(1);
+        assertEquals(0, limiter.tryAcquire("ana", "10.0.0.1"));
+    }
+
+    @Test
+    void waitCrossesIntoTheNextWindowWhenTheCurrentOneIsFull() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(clock, Duration.ofMillis(WINDOW), 5, 2);
+        clock.advance(10_000);
+        for (int i = 0; i < 4; i++) {
+            limiter.recordFailure("10.0.0.1");
+        }
+
+        // Resto desta janela (50s) mais o tempo até as 4 falhas pesarem menos que 2 na próxima (30s)
+        long wait = limiter.tryAcquire("ana", "10.0.0.1");
+        assertEquals(80_001, wait);
+        assertEquals(81, LoginAttemptLimiter.retryAfterSeconds(wait));
+
+        clock.advance(wait - 1);
+        assertTrue(limiter.tryAcquire("ana", "10.0.0.1") > 0);
+        clock.advance(1);
+        assertEquals(0, limiter.tryAcquire("ana", "10.0.0.1"));
+    }
+
+    @Test
+    void userWaitEndsJustAfterTheWindowRollsOver() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(clock, Duration.ofMillis(WINDOW), 2, 100);
+        clock.advance(45_000);
+        assertEquals(0, limiter.tryAcquire("ana", "10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("ana", "10.0.0.1"));
+
+        long wait = limiter.tryAcquire("ana", "10.0.0.1");
+        assertEquals(15_001, wait);
+
+        clock.advance(wait);
+        assertEquals(0, limiter.tryAcquire("ana", "10.0.0.1"));
+        // Uma tentativa a mais e a anterior ainda pesa quase inteira
+        assertTrue(limiter.tryAcquire("ana", "10.0.0.1") > 0);
+    }
+
+    @Test
+    void evictsKeysOnlyAfterBothWindowsExpire() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(clock, Duration.ofMillis(WINDOW), 5, 5);
+        limiter.tryAcquire("ana", "10.0.0.1");
+        limiter.recordFailure("10.0.0.1");
+        assertEquals(2, limiter.trackedKeys());
+
+        // Na janela seguinte a contagem ainda pesa como anterior
+        clock.advance(WINDOW);
+        limiter.evictExpired();
+        assertEquals(2, limiter.trackedKeys());
+
+        clock.advance(WINDOW);
+        limiter.evictExpired();
+        assertEquals(0, limiter.trackedKeys());
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
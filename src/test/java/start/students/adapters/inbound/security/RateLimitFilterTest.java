@@ -0,0 +1,103 @@
+package start.students.adapters.inbound.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+
+    // Leitura 2 de rajada, escrita 1, exportação 1; recarga de 1 token a cada 10 segundos
+    private final ClientRateLimiter limiter = new ClientRateLimiter(true, 2, 0.1, 1, 0.1, 1, 0.1);
+    private final RateLimitFilter filter = new RateLimitFilter(limiter, new ObjectMapper());
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void burstPassesThenAnswers429WithRetryAfter() throws Exception {
+        assertEquals(200, call("GET", "/api/students", "10.0.0.1").getStatus());
+        assertEquals(200, call("GET", "/api/students", "10.0.0.1").getStatus());
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/students", "10.0.0.1"), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertNull(chain.getRequest());
+        long retryAfter = Long.parseLong(response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(retryAfter >= 1 && retryAfter <= 10, "Retry-After " + retryAfter);
+        assertTrue(response.getContentAsString().contains("Limite de requisições atingido"));
+    }
+
+    @Test
+    void unauthenticatedClientsAreIsolatedByIp() throws Exception {
+        assertEquals(200, call("POST", "/api/students", "10.0.0.1").getStatus());
+        assertEquals(429, call("POST", "/api/students", "10.0.0.1").getStatus());
+
+        assertEquals(200, call("POST", "/api/students", "10.0.0.2").getStatus());
+    }
+
+    @Test
+    void authenticatedUsersAreIsolatedByNameRegardlessOfIp() throws Exception {
+        authenticate("ana");
+        assertEquals(200, call("PUT", "/api/students/1", "10.0.0.1").getStatus());
+        // Mesmo usuário vindo de outro IP divide o balde
+        assertEquals(429, call("PUT", "/api/students/1", "10.0.0.2").getStatus());
+
+        authenticate("bia");
+        assertEquals(200, call("PUT", "/api/students/1", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void exportUsesItsOwnBudget() throws Exception {
+        assertEquals(200, call("GET", "/api/students/export", "10.0.0.1").getStatus());
+        assertEquals(429, call("GET", "/api/students/export", "10.0.0.1").getStatus());
+
+        // Leitura comum do mesmo cliente continua liberada
+        assertEquals(200, call("GET", "/api/students", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void preflightAndOtherRoutesAreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockFilterChain preflight = new MockFilterChain();
+            filter.doFilter(request("OPTIONS", "/api/students", "10.0.0.1"), new MockHttpServletResponse(), preflight);
+            assertNotNull(preflight.getRequest());
+
+            MockFilterChain login = new MockFilterChain();
+            filter.doFilter(request("POST", "/api/auth/login", "10.0.0.1"), new MockHttpServletResponse(), login);
+            assertNotNull(login.getRequest());
+        }
+    }
+
+    private MockHttpServletResponse call(String method, String path, String ip) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, path, ip), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.NO_AUTHORITIES));
+    }
+}
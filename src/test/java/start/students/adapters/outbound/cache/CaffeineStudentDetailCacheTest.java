@@ -0,0 +1,119 @@
+package start.students.adapters.outbound.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import start.students.core.domain.entities.Student;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CaffeineStudentDetailCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CaffeineStudentDetailCache cache =
+            new CaffeineStudentDetailCache(true, 1_000_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    @Test
+    void repeatedReadIsServedFromTheCache() {
+        Student first = cache.get("a1", this::load).orElseThrow();
+
+        assertSame(first, cache.get("a1", this::load).orElseThrow());
+        assertSame(first, cache.getIfPresent("a1").orElseThrow());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void missingStudentIsNotCached() {
+        assertTrue(cache.get("a1", id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }).isEmpty());
+
+        cache.get("a1", this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void writesInvalidateTheEntry() {
+        Student loaded = cache.get("a1", this::load).orElseThrow();
+
+        cache.onStudentSaved(loaded);
+        assertTrue(cache.getIfPresent("a1").isEmpty());
+        Student reloaded = cache.get("a1", this::load).orElseThrow();
+        assertNotSame(loaded, reloaded);
+
+        cache.onStudentDeleted("a1");
+        assertTrue(cache.getIfPresent("a1").isEmpty());
+
+        cache.get("a1", this::load);
+        cache.invalidate("a1");
+        assertTrue(cache.getIfPresent("a1").isEmpty());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void concurrentMissesShareASingleLoad() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Optional<Student>> first = CompletableFuture.supplyAsync(() -> cache.get("a1", id -> {
+            started.countDown();
+            ConcurrentLoads.await(release);
+            return load(id);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // Carregamento em andamento não é devolvido por getIfPresent
+        assertTrue(cache.getIfPresent("a1").isEmpty());
+
+        AtomicReference<Thread> waiter = new AtomicReference<>();
+        CompletableFuture<Optional<Student>> second = CompletableFuture.supplyAsync(() -> {
+            waiter.set(Thread.currentThread());
+            return cache.get("a1", this::load);
+        });
+        ConcurrentLoads.awaitBlocked(waiter);
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS).orElseThrow(), second.get(5, TimeUnit.SECONDS).orElseThrow());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void writeDuringALoadKeepsTheLoadedValueOutOfTheCache() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Optional<Student>> loading = CompletableFuture.supplyAsync(() -> cache.get("a1", id -> {
+            started.countDown();
+            ConcurrentLoads.await(release);
+            return load(id);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        cache.onStudentDeleted("a1");
+        release.countDown();
+
+        // Quem pediu recebe o valor lido, mas a próxima leitura vai ao banco
+        assertTrue(loading.get(5, TimeUnit.SECONDS).isPresent());
+        assertTrue(cache.getIfPresent("a1").isEmpty());
+        cache.get("a1", this::load);
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<Student> load(String id) {
+        loads.incrementAndGet();
+        Student student = new Student();
+        student.setId(id);
+        student.setName("Aluno Teste");
+        student.setVersion(0L);
+        return Optional.of(student);
+    }
+}
@@ -0,0 +1,107 @@
+package start.students.adapters.outbound.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import start.students.core.domain.valueobjects.StudentCountMode;
+import start.students.core.domain.valueobjects.StudentListQuery;
+import start.students.core.domain.valueobjects.StudentSearchField;
+import start.students.core.domain.valueobjects.StudentSummaryPage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CaffeineStudentListCacheTest {
+
+    private final AtomicReference<String> version = new AtomicReference<>("v1");
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void repeatedQueryIsServedFromTheCache() {
+        CaffeineStudentListCache cache = cache(true, 0);
+        StudentListQuery query = query("", 0);
+
+        StudentSummaryPage first = cache.get(query, this::load);
+        StudentSummaryPage second = cache.get(StudentListQuery.of(StudentSearchField.CPF, "  ", 0, 10,
+                StudentCountMode.EXACT), this::load);
+
+        // Sem termo o campo não entra na chave: as duas consultas dividem a entrada
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertNotSame(first, cache.get(query("ana", 0), this::load));
+    }
+
+    @Test
+    void writeChangesTheVersionAndInvalidatesEveryEntry() {
+        CaffeineStudentListCache cache = cache(true, 0);
+        StudentSummaryPage before = cache.get(query("", 0), this::load);
+        cache.get(query("ana", 0), this::load);
+
+        version.set("v2");
+
+        assertNotSame(before, cache.get(query("", 0), this::load));
+        cache.get(query("ana", 0), this::load);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void pagesBeyondTheLimitAndDisabledCacheGoStraightToTheLoader() {
+        CaffeineStudentListCache cache = cache(true, 0);
+        cache.get(query("", 1), this::load);
+        cache.get(query("", 1), this::load);
+        assertEquals(2, loads.get());
+
+        CaffeineStudentListCache disabled = cache(false, 0);
+        disabled.get(query("", 0), this::load);
+        disabled.get(query("", 0), this::load);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void concurrentMissesShareASingleLoad() throws Exception {
+        CaffeineStudentListCache cache = cache(true, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<StudentSummaryPage> first = CompletableFuture.supplyAsync(() -> cache.get(query("", 0), q -> {
+            started.countDown();
+            ConcurrentLoads.await(release);
+            return load(q);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        AtomicReference<Thread> waiter = new AtomicReference<>();
+        CompletableFuture<StudentSummaryPage> second = CompletableFuture.supplyAsync(() -> {
+            waiter.set(Thread.currentThread());
+            return cache.get(query("", 0), this::load);
+        });
+        ConcurrentLoads.awaitBlocked(waiter);
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    private CaffeineStudentListCache cache(boolean enabled, int maxPage) {
+        return new CaffeineStudentListCache(enabled, maxPage, 100, Duration.ofMinutes(1), version::get,
+                new SimpleMeterRegistry());
+    }
+
+    private StudentSummaryPage load(StudentListQuery query) {
+        loads.incrementAndGet();
+        return new StudentSummaryPage(List.of(), false, 0L, query.getCountMode());
+    }
+
+    private static StudentListQuery query(String term, int page) {
+        return StudentListQuery.of(StudentSearchField.NAME, term, page, 10, StudentCountMode.EXACT);
+    }
+}
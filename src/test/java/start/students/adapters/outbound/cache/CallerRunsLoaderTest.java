@@ -0,0 +1,79 @@
+package start.students.adapters.outbound.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallerRunsLoaderTest {
+
+    private final AsyncCache<String, String> cache = Caffeine.newBuilder().buildAsync();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void errorInTheLoaderReachesEveryCallerSharingTheLoad() throws Exception {
+        Error failure = new Error("falha no carregamento");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> CallerRunsLoader.get(cache, "k", key -> {
+            started.countDown();
+            ConcurrentLoads.await(release);
+            throw failure;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        AtomicReference<Thread> waiter = new AtomicReference<>();
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> {
+            waiter.set(Thread.currentThread());
+            return CallerRunsLoader.get(cache, "k", this::load);
+        });
+        ConcurrentLoads.awaitBlocked(waiter);
+        release.countDown();
+
+        // Quem esperava o mesmo future recebe a falha em vez de ficar preso nele
+        assertSame(failure, assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals(0, loads.get());
+
+        // A falha não fica em cache
+        assertNull(CallerRunsLoader.getIfLoaded(cache, "k"));
+        assertEquals("valor-k", CallerRunsLoader.get(cache, "k", this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void runtimeExceptionIsRethrownUnwrapped() {
+        IllegalStateException failure = new IllegalStateException("banco indisponível");
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> CallerRunsLoader.get(cache, "k", key -> {
+            throw failure;
+        })));
+        assertEquals("valor-k", CallerRunsLoader.get(cache, "k", this::load));
+    }
+
+    @Test
+    void loadedValueIsReused() {
+        assertEquals("valor-k", CallerRunsLoader.get(cache, "k", this::load));
+        assertEquals("valor-k", CallerRunsLoader.get(cache, "k", this::load));
+        assertEquals("valor-k", CallerRunsLoader.getIfLoaded(cache, "k"));
+        assertEquals(1, loads.get());
+    }
+
+    private String load(String key) {
+        loads.incrementAndGet();
+        return "valor-" + key;
+    }
+}
@@ -0,0 +1,86 @@
+package start.students.adapters.outbound.cache;
+
+import org.junit.jupiter.api.Test;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentWriteVersionTest {
+
+    private final StudentJpaRepository repository = mock(StudentJpaRepository.class);
+    private final MutableClock clock = new MutableClock();
+    private final StudentWriteVersion writeVersion = new StudentWriteVersion(repository, clock, Duration.ofSeconds(1));
+
+    @Test
+    void versionIsReadFromTheDatabaseAtMostOncePerTtl() {
+        when(repository.findWriteMark()).thenReturn("100-0", "200-0");
+
+        assertEquals("100-0", writeVersion.current());
+        clock.advance(999);
+        assertEquals("100-0", writeVersion.current());
+        verify(repository, times(1)).findWriteMark();
+
+        // Outro nó gravou: percebido quando o intervalo vence
+        clock.advance(1);
+        assertEquals("200-0", writeVersion.current());
+    }
+
+    @Test
+    void localWriteDiscardsTheReadValue() {
+        when(repository.findWriteMark()).thenReturn("100-0", "150-0");
+        writeVersion.current();
+
+        writeVersion.onStudentDeleted("1");
+
+        assertEquals("150-0", writeVersion.current());
+    }
+
+    @Test
+    void readThatCrossesALocalWriteIsNotReused() {
+        // A escrita deste nó é confirmada enquanto a versão antiga está sendo lida
+        when(repository.findWriteMark()).thenAnswer(invocation -> {
+            writeVersion.onStudentSaved(null);
+            return "100-0";
+        }).thenReturn("150-0");
+
+        assertEquals("100-0", writeVersion.current());
+        assertEquals("150-0", writeVersion.current());
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis = 1_000_000;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
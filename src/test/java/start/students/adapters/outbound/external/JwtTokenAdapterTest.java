@@ -0,0 +1,122 @@
+package start.students.adapters.outbound.external;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import start.students.core.domain.valueobjects.VerifiedToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtTokenAdapterTest {
+
+    private static final String SECRET = "chaveDeTeste12345678901234567890123456789012345678901234567890";
+    private static final long EXPIRATION = 60_000;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T12:00:00Z"));
+    private final JwtTokenAdapter adapter = adapter(SECRET);
+
+    @Test
+    void validTokenIsVerified() {
+        String token = adapter.generateToken("professor01");
+
+        Optional<VerifiedToken> verified = adapter.verify(token);
+
+        assertTrue(verified.isPresent());
+        assertEquals("professor01", verified.get().getUsername());
+        assertEquals(clock.instant().plusMillis(EXPIRATION), verified.get().getExpiresAt());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = adapter.generateToken("professor01");
+        clock.advance(Duration.ofMillis(EXPIRATION + 1000));
+
+        assertTrue(adapter.verify(token).isEmpty());
+    }
+
+    @Test
+    void tamperedSignatureIsRejected() {
+        String token = adapter.generateToken("professor01");
+        int signatureStart = token.lastIndexOf('.') + 1;
+        // Troca um caractere do meio da assinatura (o último carrega bits de preenchimento)
+        int position = signatureStart + 5;
+        char replaced = token.charAt(position) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, position) + replaced + token.substring(position + 1);
+
+        assertTrue(adapter.verify(tampered).isEmpty());
+    }
+
+    @Test
+    void tamperedPayloadIsRejected() {
+        String token = adapter.generateToken("professor01");
+        String other = adapter.generateToken("professor02");
+        String[] parts = token.split("\\.");
+        String[] otherParts = other.split("\\.");
+
+        // Corpo de um token com a assinatura de outro
+        assertTrue(adapter.verify(parts[0] + "." + otherParts[1] + "." + parts[2]).isEmpty());
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        String foreign = adapter("outraChave123456789012345678901234567890123456789012345678901").generateToken("professor01");
+
+        assertTrue(adapter.verify(foreign).isEmpty());
+        assertTrue(adapter.verify("").isEmpty());
+        assertTrue(adapter.verify(null).isEmpty());
+        assertTrue(adapter.verify("nao.e.jwt").isEmpty());
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceItExpires() {
+        String token = adapter.generateToken("professor01");
+        VerifiedToken first = adapter.verify(token).orElseThrow();
+
+        // Segunda verificação vem do cache
+        clock.advance(Duration.ofMillis(EXPIRATION - 1000));
+        assertSame(first, adapter.verify(token).orElseThrow());
+
+        // O cache ainda guarda a entrada (ele usa o relógio real), mas o token já expirou
+        clock.advance(Duration.ofMillis(2000));
+        assertTrue(adapter.verify(token).isEmpty());
+    }
+
+    private JwtTokenAdapter adapter(String secret) {
+        return new JwtTokenAdapter(secret, EXPIRATION, 100, new SimpleMeterRegistry(), clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
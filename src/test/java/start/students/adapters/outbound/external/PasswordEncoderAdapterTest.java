@@ -0,0 +1,92 @@
+package start.students.adapters.outbound.external;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import start.students.core.domain.exceptions.ServiceOverloadedException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordEncoderAdapterTest {
+
+    private PasswordEncoderAdapter adapter;
+
+    @AfterEach
+    void shutdown() {
+        if (adapter != null) {
+            adapter.shutdown();
+        }
+    }
+
+    @Test
+    void needsRehashWhenTheCostDiffersInEitherDirection() {
+        adapter = new PasswordEncoderAdapter(new BCryptPasswordEncoder(5), new SimpleMeterRegistry(), 1, 1, 5);
+
+        assertFalse(adapter.needsRehash(new BCryptPasswordEncoder(5).encode("senha123")));
+        assertTrue(adapter.needsRehash(new BCryptPasswordEncoder(4).encode("senha123")));
+        assertTrue(adapter.needsRehash(new BCryptPasswordEncoder(6).encode("senha123")));
+        assertFalse(adapter.needsRehash("não é bcrypt"));
+        assertFalse(adapter.needsRehash(null));
+    }
+
+    @Test
+    void encodeAsyncRunsOnTheBcryptPool() throws Exception {
+        CompletableFuture<String> thread = new CompletableFuture<>();
+        PasswordEncoder encoder = recordingEncoder(thread, null);
+        adapter = new PasswordEncoderAdapter(encoder, new SimpleMeterRegistry(), 1, 1, 10);
+
+        adapter.encodeAsync("senha123").get(5, TimeUnit.SECONDS);
+
+        assertTrue(thread.get().startsWith("bcrypt-"), thread.get());
+    }
+
+    @Test
+    void encodeAsyncFailsFastWhenThePoolIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        adapter = new PasswordEncoderAdapter(recordingEncoder(new CompletableFuture<>(), release),
+                new SimpleMeterRegistry(), 1, 1, 10);
+
+        // Uma tarefa ocupando a thread e outra na fila de capacidade 1
+        CompletableFuture<String> running = adapter.encodeAsync("senha1");
+        CompletableFuture<String> queued = adapter.encodeAsync("senha2");
+        CompletableFuture<String> rejected = adapter.encodeAsync("senha3");
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceOverloadedException.class, error.getCause());
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    private static PasswordEncoder recordingEncoder(CompletableFuture<String> thread, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                thread.complete(Thread.currentThread().getName());
+                if (release != null) {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+    }
+}
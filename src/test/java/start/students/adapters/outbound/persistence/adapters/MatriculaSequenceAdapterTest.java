@@ -0,0 +1,154 @@
+package start.students.adapters.outbound.persistence.adapters;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import start.students.adapters.outbound.persistence.entities.MatriculaSequenceJpaEntity;
+import start.students.adapters.outbound.repositories.MatriculaSequenceJpaRepository;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class MatriculaSequenceAdapterTest {
+
+    private static final int NODES = 3;
+    private static final int THREADS = 16;
+    private static final int MATRICULAS_PER_THREAD = 1_000;
+
+    private final Map<Integer, MatriculaSequenceJpaEntity> sequences = new ConcurrentHashMap<>();
+    // Simula o lock de linha do SELECT ... FOR UPDATE, serializando as transações de reserva
+    private final ReentrantLock rowLock = new ReentrantLock();
+
+    private MatriculaSequenceJpaRepository sequenceRepository;
+    private StudentJpaRepository studentRepository;
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        sequenceRepository = mock(MatriculaSequenceJpaRepository.class);
+        studentRepository = mock(StudentJpaRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+
+        when(sequenceRepository.findForUpdate(anyInt()))
+                .thenAnswer(invocation -> Optional.ofNullable(sequences.get(invocation.<Integer>getArgument(0))));
+        when(sequenceRepository.insertIfAbsent(anyInt(), anyLong())).thenAnswer(invocation -> {
+            Integer year = invocation.getArgument(0);
+            Long nextValue = invocation.getArgument(1);
+            return sequences.putIfAbsent(year, new MatriculaSequenceJpaEntity(year, nextValue)) == null ? 1 : 0;
+        });
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            rowLock.lock();
+            return null;
+        });
+        doAnswer(invocation -> {
+            rowLock.unlock();
+            return null;
+        }).when(transactionManager).commit(any());
+    }
+
+    @Test
+    void concurrentAllocationAcrossNodesHasNoCollisions() throws Exception {
+        when(studentRepository.findMaxMatriculaWithPrefix("2026%")).thenReturn("202600042");
+        Clock clock = Clock.fixed(Instant.parse("2026-03-01T10:00:00Z"), ZoneOffset.UTC);
+
+        List<MatriculaSequenceAdapter> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new MatriculaSequenceAdapter(sequenceRepository, studentRepository, transactionManager, clock, 50));
+        }
+
+        Set<String> allocated = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            MatriculaSequenceAdapter node = nodes.get(t % NODES);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < MATRICULAS_PER_THREAD; i++) {
+                    assertTrue(allocated.add(node.nextMatricula()), "Matrícula duplicada");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(THREADS * MATRICULAS_PER_THREAD, allocated.size());
+        assertTrue(allocated.stream().allMatch(matricula -> matricula.startsWith("2026") && matricula.length() == 9));
+        assertTrue(allocated.stream().noneMatch(matricula -> matricula.compareTo("202600042") <= 0));
+
+        // O MAX() sobre students roda uma única vez, apenas para semear a sequência do ano
+        verify(studentRepository, times(1)).findMaxMatriculaWithPrefix("2026%");
+        verifyNoMoreInteractions(studentRepository);
+    }
+
+    @Test
+    void yearRolloverStartsNewSequence() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-12-31T23:59:59Z"));
+        MatriculaSequenceAdapter adapter =
+                new MatriculaSequenceAdapter(sequenceRepository, studentRepository, transactionManager, clock, 10);
+
+        assertEquals("202600001", adapter.nextMatricula());
+        assertEquals("202600002", adapter.nextMatricula());
+
+        clock.instant = Instant.parse("2027-01-01T00:00:01Z");
+        assertEquals("202700001", adapter.nextMatricula());
+        assertEquals("202700002", adapter.nextMatricula());
+
+        assertEquals(10L + 1, sequences.get(2026).getNextValue());
+        assertEquals(10L + 1, sequences.get(2027).getNextValue());
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
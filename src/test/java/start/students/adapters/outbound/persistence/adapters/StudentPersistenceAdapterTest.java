@@ -0,0 +1,148 @@
+package start.students.adapters.outbound.persistence.adapters;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import start.students.adapters.outbound.persistence.index.StudentSearchIndex;
+import start.students.core.application.usecases.CreateStudentUseCase;
+import start.students.core.domain.entities.StudentSummary;
+import start.students.core.domain.valueobjects.StudentCursor;
+import start.students.core.domain.valueobjects.StudentCountMode;
+import start.students.core.domain.valueobjects.StudentSearchField;
+import start.students.core.domain.valueobjects.StudentSummaryPage;
+import start.students.core.ports.StudentRepositoryPort;
+import start.students.support.TestStudents;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Listagens contra o banco real
+ */
+@SpringBootTest
+class StudentPersistenceAdapterTest {
+
+    @Autowired
+    private StudentRepositoryPort studentRepository;
+
+    @Autowired
+    private CreateStudentUseCase createStudentUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentSearchIndex searchIndex;
+
+    @Test
+    void exactCountSeesRowsWrittenOutsideThisNode() {
+        // Semeia o total mantido em memória com duas páginas de alunos
+        createStudentUseCase.execute(TestStudents.newStudent());
+        createStudentUseCase.execute(TestStudents.newStudent());
+        studentRepository.findSummaries(StudentSearchField.NAME, null, PageRequest.of(0, 1), StudentCountMode.CACHED);
+
+        // Linha gravada sem passar pela aplicação, como faria outro nó
+        insertDirectly("Aluno Externo");
+
+        StudentSummaryPage exact = studentRepository.findSummaries(
+                StudentSearchField.NAME, null, PageRequest.of(0, 1), StudentCountMode.EXACT);
+
+        assertEquals(StudentCountMode.EXACT, exact.getCountMode());
+        assertEquals(liveRows(), exact.getTotalElements());
+    }
+
+    @Test
+    void cachedCountIsReportedAsCached() {
+        createStudentUseCase.execute(TestStudents.newStudent());
+        createStudentUseCase.execute(TestStudents.newStudent());
+
+        StudentSummaryPage cached = studentRepository.findSummaries(
+                StudentSearchField.NAME, null, PageRequest.of(0, 1), StudentCountMode.CACHED);
+
+        assertEquals(StudentCountMode.CACHED, cached.getCountMode());
+    }
+
+    @Test
+    void searchIndexSyncPicksUpWritesAndDeletesFromOtherNodes() throws InterruptedException {
+        // O índice é construído em segundo plano na inicialização
+        for (int i = 0; i < 100 && !searchIndex.search(StudentSearchField.NAME, "x", PageRequest.of(0, 1)).isPresent(); i++) {
+            Thread.sleep(100);
+        }
+        String marker = "Externo" + Long.toString(System.nanoTime(), 36).replaceAll("[0-9]", "");
+        String id = insertDirectly("Aluno " + marker);
+
+        searchIndex.sync();
+        assertEquals(List.of(id), indexed(marker));
+
+        jdbcTemplate.update("UPDATE students SET deleted_at = ? WHERE id = ?", Timestamp.valueOf(LocalDateTime.now()), id);
+        searchIndex.sync();
+        assertTrue(indexed(marker).isEmpty());
+    }
+
+    @Test
+    void cursorPagesThroughRowsWithTheSameCreatedAtByIdWithoutGapsOrRepeats() {
+        // Instante exclusivo deste teste, bem no fim da ordenação
+        LocalDateTime createdAt = LocalDateTime.of(2999, 1, 1, 0, 0)
+                .plusSeconds(ThreadLocalRandom.current().nextInt(1_000_000_000));
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(insertDirectly("Aluno Empatado", createdAt));
+        }
+        ids.sort(null);
+
+        try {
+            List<String> paged = new ArrayList<>();
+            StudentCursor cursor = new StudentCursor(createdAt.minusSeconds(1), "~");
+            while (true) {
+                List<StudentSummary> page = studentRepository.findSummariesAfter(cursor, 2);
+                List<StudentSummary> tied = page.stream()
+                        .filter(summary -> summary.getCreatedAt().equals(createdAt))
+                        .collect(Collectors.toList());
+                tied.forEach(summary -> paged.add(summary.getId()));
+                if (tied.size() < page.size() || page.isEmpty()) {
+                    break;
+                }
+                // O cliente recebe o cursor codificado e o devolve na próxima página
+                StudentSummary last = page.get(page.size() - 1);
+                cursor = StudentCursor.decode(new StudentCursor(last.getCreatedAt(), last.getId()).encode());
+            }
+
+            assertEquals(ids, paged);
+        } finally {
+            jdbcTemplate.update("UPDATE students SET deleted_at = ? WHERE created_at = ?",
+                    Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(createdAt));
+        }
+    }
+
+    private List<String> indexed(String term) {
+        return searchIndex.search(StudentSearchField.NAME, term, PageRequest.of(0, 10)).orElseThrow().getContent();
+    }
+
+    private String insertDirectly(String name) {
+        return insertDirectly(name, LocalDateTime.now());
+    }
+
+    private String insertDirectly(String name, LocalDateTime createdAt) {
+        String id = UUID.randomUUID().toString();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO students (id, matricula, name, cpf, email, phone, status, created_at, updated_at, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, 'Ativo', ?, ?, 0)",
+                id, "X" + System.nanoTime(), name, TestStudents.cpf(),
+                TestStudents.email(), "11987654321", Timestamp.valueOf(createdAt), now);
+        return id;
+    }
+
+    private long liveRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students WHERE deleted_at IS NULL", Long.class);
+    }
+}
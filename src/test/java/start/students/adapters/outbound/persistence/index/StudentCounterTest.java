@@ -0,0 +1,59 @@
+package start.students.adapters.outbound.persistence.index;
+
+import org.junit.jupiter.api.Test;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentCounterTest {
+
+    private final StudentJpaRepository repository = mock(StudentJpaRepository.class);
+
+    @Test
+    void exactTotalAlwaysCountsInTheDatabase() {
+        StudentCounter counter = new StudentCounter(repository, true);
+        when(repository.count()).thenReturn(10L, 12L);
+
+        assertEquals(10, counter.exactTotal());
+        // Outro nó inseriu 2 alunos: o total exato não pode vir do valor mantido
+        assertEquals(12, counter.exactTotal());
+        verify(repository, times(2)).count();
+    }
+
+    @Test
+    void cachedTotalCountsOnceAndFollowsLocalWrites() {
+        StudentCounter counter = new StudentCounter(repository, true);
+        when(repository.count()).thenReturn(10L);
+
+        assertEquals(10, counter.cachedTotal());
+        counter.onInserted(3);
+        counter.onDeleted();
+
+        assertEquals(12, counter.cachedTotal());
+        verify(repository, times(1)).count();
+    }
+
+    @Test
+    void exactTotalCorrectsTheCachedValue() {
+        StudentCounter counter = new StudentCounter(repository, true);
+        when(repository.count()).thenReturn(10L, 15L);
+
+        counter.cachedTotal();
+        counter.exactTotal();
+
+        assertEquals(15, counter.cachedTotal());
+    }
+
+    @Test
+    void cachedTotalCountsEveryTimeWhenDisabled() {
+        StudentCounter counter = new StudentCounter(repository, false);
+        when(repository.count()).thenReturn(10L, 11L);
+
+        assertEquals(10, counter.cachedTotal());
+        assertEquals(11, counter.cachedTotal());
+    }
+}
@@ -0,0 +1,188 @@
+package start.students.adapters.outbound.persistence.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+import start.students.adapters.outbound.repositories.StudentSearchChangeRow;
+import start.students.adapters.outbound.repositories.StudentSearchRow;
+import start.students.core.domain.entities.Student;
+import start.students.core.domain.valueobjects.StudentUniqueField;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentKeyFilterTest {
+
+    private final StudentJpaRepository repository = mock(StudentJpaRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StudentKeyFilter filter = new StudentKeyFilter(repository, mock(PlatformTransactionManager.class),
+            meterRegistry, true, 1000, 0.01, Duration.ofMinutes(1));
+
+    @Test
+    void beforeTheBuildEveryValueGoesToTheDatabase() {
+        assertFalse(filter.definitelyAbsent(StudentUniqueField.CPF, "12345678901"));
+        assertFalse(filter.definitelyAbsent(StudentUniqueField.EMAIL, "ana@gmail.com"));
+    }
+
+    @Test
+    void noFalseNegativesForIndexedKeys() {
+        List<Row> rows = IntStream.range(0, 1000).mapToObj(StudentKeyFilterTest::row).collect(Collectors.toList());
+        build(rows.toArray(new Row[0]));
+
+        for (Row row : rows) {
+            assertFalse(filter.definitelyAbsent(StudentUniqueField.CPF, row.getCpf()), row.getCpf());
+            assertFalse(filter.definitelyAbsent(StudentUniqueField.EMAIL, row.getEmail()), row.getEmail());
+        }
+    }
+
+    @Test
+    void lookupsAreNormalizedLikeTheDatabaseChecks() {
+        build(new Row("1", "123.456.789-01", "Ana.Silva@Gmail.com", false));
+
+        assertFalse(filter.definitelyAbsent(StudentUniqueField.CPF, "12345678901"));
+        assertFalse(filter.definitelyAbsent(StudentUniqueField.EMAIL, "ana.silva@gmail.com"));
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredOne() {
+        build(IntStream.range(0, 1000).mapToObj(StudentKeyFilterTest::row).toArray(Row[]::new));
+
+        int maybe = 0;
+        int lookups = 10_000;
+        for (int i = 0; i < lookups; i++) {
+            if (!filter.definitelyAbsent(StudentUniqueField.EMAIL, "ausente" + i + "@gmail.com")) {
+                maybe++;
+            }
+        }
+        // Configurado para 1% com 1000 inserções; folga para a variação do hash
+        assertTrue(maybe < lookups * 0.03, "falsos positivos: " + maybe);
+    }
+
+    @Test
+    void falsePositivesAreCounted() {
+        build(row(1));
+
+        filter.recordFalsePositive(StudentUniqueField.CPF);
+        filter.recordFalsePositive(StudentUniqueField.CPF);
+
+        assertEquals(2, meterRegistry.get("students.validation.filter.false.positives")
+                .tag("field", "cpf").counter().count());
+    }
+
+    @Test
+    void deletedKeysStayAsFalsePositivesUntilTheRebuild() {
+        build(row(1), row(2));
+        when(repository.findSearchChangesSince(any())).thenReturn(List.of(new Row("1", row(1).getCpf(), row(1).getEmail(), true)));
+
+        filter.sync();
+        assertFalse(filter.definitelyAbsent(StudentUniqueField.CPF, row(1).getCpf()));
+
+        build(row(2));
+        assertTrue(filter.definitelyAbsent(StudentUniqueField.CPF, row(1).getCpf()));
+    }
+
+    @Test
+    void localWritesAreNeverFalseNegatives() {
+        build(row(1));
+
+        Student student = new Student();
+        student.setCpf("99988877766");
+        student.setEmail("nova@gmail.com");
+        filter.onStudentSaved(student);
+
+        assertFalse(filter.definitelyAbsent(StudentUniqueField.CPF, "99988877766"));
+        assertFalse(filter.definitelyAbsent(StudentUniqueField.EMAIL, "nova@gmail.com"));
+    }
+
+    @Test
+    void keysWrittenOnOtherNodesAreFalseNegativesOnlyUntilTheSync() {
+        build(row(1));
+        Row remote = row(2);
+
+        // Gravado por outro nó: este filtro não recebeu o evento
+        assertTrue(filter.definitelyAbsent(StudentUniqueField.CPF, remote.getCpf()));
+
+        when(repository.findSearchChangesSince(any())).thenReturn(List.of(remote));
+        filter.sync();
+
+        assertFalse(filter.definitelyAbsent(StudentUniqueField.CPF, remote.getCpf()));
+        assertFalse(filter.definitelyAbsent(StudentUniqueField.EMAIL, remote.getEmail()));
+    }
+
+    @Test
+    void syncRereadsWithOverlapAndRetriesFailedIntervals() {
+        LocalDateTime beforeBuild = LocalDateTime.now();
+        build(row(1));
+        when(repository.findSearchChangesSince(any()))
+                .thenThrow(new IllegalStateException("banco indisponível"))
+                .thenReturn(List.of());
+
+        filter.sync();
+        filter.sync();
+        filter.sync();
+
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository, times(3)).findSearchChangesSince(since.capture());
+        List<LocalDateTime> values = since.getAllValues();
+        assertFalse(values.get(0).isBefore(beforeBuild.minusMinutes(1)));
+        // Falhou: a segunda parte do mesmo instante; a terceira, do início da segunda menos a margem
+        assertEquals(values.get(0), values.get(1));
+        assertFalse(values.get(2).isBefore(values.get(1)));
+    }
+
+    private void build(Row... rows) {
+        when(repository.streamSearchRows()).thenReturn(Stream.<StudentSearchRow>of(rows));
+        filter.build();
+    }
+
+    private static Row row(int i) {
+        return new Row(String.valueOf(i), String.format("%011d", 10_000_000_000L + i), "aluno" + i + "@gmail.com", false);
+    }
+
+    private record Row(String id, String cpf, String email, boolean deleted) implements StudentSearchChangeRow {
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+
+        @Override
+        public String getCpf() {
+            return cpf;
+        }
+
+        @Override
+        public String getMatricula() {
+            return null;
+        }
+
+        @Override
+        public boolean getDeleted() {
+            return deleted;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package start.students.adapters.outbound.persistence.index;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+import start.students.adapters.outbound.repositories.StudentSearchChangeRow;
+import start.students.adapters.outbound.repositories.StudentSearchRow;
+import start.students.core.domain.entities.Student;
+import start.students.core.domain.valueobjects.StudentSearchField;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentSearchIndexTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 50);
+
+    private final StudentJpaRepository repository = mock(StudentJpaRepository.class);
+    private final StudentSearchIndex index = new StudentSearchIndex(repository, mock(PlatformTransactionManager.class));
+
+    StudentSearchIndexTest() {
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "syncOverlap", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void indexAnswersNothingUntilBuilt() {
+        assertFalse(index.search(StudentSearchField.NAME, "ana", FIRST_PAGE).isPresent());
+        index.sync();
+        verify(repository, never()).findSearchChangesSince(any());
+    }
+
+    @Test
+    void lookupMatchesSubstringsIgnoringCase() {
+        build(row("1", "Ana Silva"), row("2", "Bruno Souza"), row("3", "Carla Silveira"));
+
+        assertEquals(List.of("1", "3"), ids(StudentSearchField.NAME, "SILV"));
+        assertEquals(List.of("2"), ids(StudentSearchField.NAME, "uno sou"));
+        assertEquals(List.of(), ids(StudentSearchField.NAME, "silvana"));
+    }
+
+    @Test
+    void lookupConfirmsCandidatesAgainstTheIndexedValue() {
+        // Os dois trigramas de "abcd" aparecem em "abcx bcd", mas não a substring
+        build(row("1", "abcx bcd"), row("2", "xabcdx"));
+
+        assertEquals(List.of("2"), ids(StudentSearchField.NAME, "abcd"));
+    }
+
+    @Test
+    void intersectionKeepsOnlyDocumentsWithEveryTrigram() {
+        build(row("1", "maria"), row("2", "mario"), row("3", "rosario"), row("4", "mariana"));
+
+        assertEquals(List.of("1", "2", "4"), ids(StudentSearchField.NAME, "mari"));
+        assertEquals(List.of("2", "3"), ids(StudentSearchField.NAME, "ario"));
+        // Trigrama repetido no termo ("aaa" duas vezes) usa a mesma lista sem descartar candidatos
+        build(row("5", "xaaaay"), row("6", "aaa"));
+        assertEquals(List.of("5"), ids(StudentSearchField.NAME, "aaaa"));
+    }
+
+    @Test
+    void termsShorterThanATrigramScanTheValues() {
+        build(row("1", "Ana Silva"), row("2", "Bruno Souza"), row("3", "Joana Reis"));
+
+        assertEquals(List.of("1", "3"), ids(StudentSearchField.NAME, "an"));
+        assertEquals(List.of("2"), ids(StudentSearchField.NAME, "z"));
+        assertEquals(List.of(), ids(StudentSearchField.NAME, "qx"));
+    }
+
+    @Test
+    void fieldsAreIndexedSeparately() {
+        build(row("1", "Ana Silva"));
+
+        assertEquals(List.of("1"), ids(StudentSearchField.CPF, "456"));
+        assertEquals(List.of("1"), ids(StudentSearchField.EMAIL, "ana.silva@"));
+        assertEquals(List.of("1"), ids(StudentSearchField.MATRICULA, "2024"));
+        assertEquals(List.of(), ids(StudentSearchField.NAME, "456"));
+    }
+
+    @Test
+    void pagesCarryTheTotalAndSortedRequestsFallBackToTheDatabase() {
+        build(row("1", "aluno um"), row("2", "aluno dois"), row("3", "aluno tres"));
+
+        Page<String> page = index.search(StudentSearchField.NAME, "aluno", PageRequest.of(1, 2)).orElseThrow();
+        assertEquals(List.of("3"), page.getContent());
+        assertEquals(3, page.getTotalElements());
+
+        assertFalse(index.search(StudentSearchField.NAME, "aluno", PageRequest.of(0, 2, Sort.by("name"))).isPresent());
+    }
+
+    @Test
+    void localWritesAreSearchableImmediately() {
+        build(row("1", "Ana Silva"));
+
+        index.onStudentSaved(student("2", "Beatriz Lima"));
+        index.onStudentSaved(student("1", "Ana Pereira"));
+        index.onStudentDeleted("2");
+
+        assertEquals(List.of("1"), ids(StudentSearchField.NAME, "pereira"));
+        assertEquals(List.of(), ids(StudentSearchField.NAME, "silva"));
+        assertEquals(List.of(), ids(StudentSearchField.NAME, "lima"));
+    }
+
+    @Test
+    void saveWithoutSearchableChangesKeepsThePosition() {
+        build(row("1", "aluno um"), row("2", "aluno dois"));
+
+        // Só telefone mudou: o documento não é recriado no fim do índice
+        Student unchanged = student("1", "aluno um");
+        unchanged.setPhone("11999998888");
+        index.onStudentSaved(unchanged);
+
+        assertEquals(List.of("1", "2"), ids(StudentSearchField.NAME, "aluno"));
+    }
+
+    @Test
+    void writesDuringTheBuildWinOverTheSnapshot() {
+        AtomicBoolean written = new AtomicBoolean();
+        Stream<StudentSearchRow> snapshot = Stream.<StudentSearchRow>of(row("1", "Nome Antigo"), row("2", "Removido Depois"))
+                .peek(row -> {
+                    // Escritas confirmadas enquanto a varredura ainda não indexou o lote
+                    if (written.compareAndSet(false, true)) {
+                        index.onStudentSaved(student("1", "Nome Novo"));
+                        index.onStudentDeleted("2");
+                        index.onStudentSaved(student("3", "Criado Durante"));
+                    }
+                });
+        when(repository.streamSearchRows()).thenReturn(snapshot);
+
+        index.build();
+
+        assertEquals(List.of("1"), ids(StudentSearchField.NAME, "novo"));
+        assertEquals(List.of(), ids(StudentSearchField.NAME, "antigo"));
+        assertEquals(List.of(), ids(StudentSearchField.NAME, "removido"));
+        assertEquals(List.of("3"), ids(StudentSearchField.NAME, "durante"));
+    }
+
+    @Test
+    void compactionAfterMassDeletesKeepsResults() {
+        build();
+        for (int i = 0; i < 2000; i++) {
+            index.onStudentSaved(student(String.valueOf(i), String.format("aluno %04d", i)));
+        }
+        // 1500 de 2000 removidos: passa do mínimo e da metade, as postagens são reconstruídas
+        for (int i = 0; i < 1500; i++) {
+            index.onStudentDeleted(String.valueOf(i));
+        }
+
+        Page<String> page = index.search(StudentSearchField.NAME, "aluno", PageRequest.of(0, 1000)).orElseThrow();
+        List<String> expected = IntStream.range(1500, 2000).mapToObj(String::valueOf).collect(Collectors.toList());
+        assertEquals(expected, page.getContent());
+        assertEquals(List.of(), ids(StudentSearchField.NAME, "aluno 0042"));
+        assertEquals(List.of("1999"), ids(StudentSearchField.NAME, "1999"));
+
+        index.onStudentSaved(student("novo", "aluno novo"));
+        assertEquals(List.of("novo"), ids(StudentSearchField.NAME, "novo"));
+    }
+
+    @Test
+    void syncAppliesWritesFromOtherNodes() {
+        build(row("1", "Ana Silva"), row("2", "Bruno Souza"));
+        when(repository.findSearchChangesSince(any())).thenReturn(List.of(
+                changed("1", "Ana Pereira"), deleted("2"), changed("3", "Carla Dias")));
+
+        index.sync();
+
+        assertEquals(List.of("1"), ids(StudentSearchField.NAME, "pereira"));
+        assertEquals(List.of(), ids(StudentSearchField.NAME, "silva"));
+        assertEquals(List.of(), ids(StudentSearchField.NAME, "bruno"));
+        assertEquals(List.of("3"), ids(StudentSearchField.NAME, "dias"));
+    }
+
+    @Test
+    void syncRereadsFromTheBuildStartMinusTheOverlap() {
+        LocalDateTime beforeBuild = LocalDateTime.now();
+        build(row("1", "Ana Silva"));
+        LocalDateTime afterBuild = LocalDateTime.now();
+        when(repository.findSearchChangesSince(any())).thenReturn(List.of());
+
+        index.sync();
+        index.sync();
+
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository, times(2)).findSearchChangesSince(since.capture());
+        LocalDateTime first = since.getAllValues().get(0);
+        assertFalse(first.isBefore(beforeBuild.minusMinutes(1)));
+        assertFalse(first.isAfter(afterBuild.minusMinutes(1)));
+        // A segunda parte do início da primeira, não do fim da construção
+        assertFalse(since.getAllValues().get(1).isBefore(first));
+    }
+
+    @Test
+    void failedSyncRetriesFromTheSameInstant() {
+        build(row("1", "Ana Silva"));
+        when(repository.findSearchChangesSince(any()))
+                .thenThrow(new IllegalStateException("banco indisponível"))
+                .thenReturn(List.of(changed("2", "Bruno Souza")));
+
+        index.sync();
+        index.sync();
+
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository, times(2)).findSearchChangesSince(since.capture());
+        assertEquals(since.getAllValues().get(0), since.getAllValues().get(1));
+        assertEquals(List.of("2"), ids(StudentSearchField.NAME, "bruno"));
+    }
+
+    private void build(StudentSearchRow... rows) {
+        when(repository.streamSearchRows()).thenReturn(Stream.of(rows));
+        index.build();
+        assertTrue(index.search(StudentSearchField.NAME, "x", FIRST_PAGE).isPresent());
+    }
+
+    private List<String> ids(StudentSearchField field, String term) {
+        return new ArrayList<>(index.search(field, term, FIRST_PAGE).orElseThrow().getContent());
+    }
+
+    private static Row row(String id, String name) {
+        return changed(id, name);
+    }
+
+    private static Row changed(String id, String name) {
+        String login = name.toLowerCase().replace(' ', '.');
+        return new Row(id, name, login + "@gmail.com", "123.456.789-0" + id.length(), "2024" + id, false);
+    }
+
+    private static Row deleted(String id) {
+        return new Row(id, null, null, null, null, true);
+    }
+
+    private static Student student(String id, String name) {
+        Row row = changed(id, name);
+        Student student = new Student();
+        student.setId(id);
+        student.setName(row.name());
+        student.setEmail(row.email());
+        student.setCpf(row.cpf());
+        student.setMatricula(row.matricula());
+        return student;
+    }
+
+    private record Row(String id, String name, String email, String cpf, String matricula, boolean deleted)
+            implements StudentSearchChangeRow {
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+
+        @Override
+        public String getCpf() {
+            return cpf;
+        }
+
+        @Override
+        public String getMatricula() {
+            return matricula;
+        }
+
+        @Override
+        public boolean getDeleted() {
+            return deleted;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package start.students.adapters.outbound.persistence.migrations;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+import start.students.adapters.outbound.storage.FileSystemPhotoStorageAdapter;
+import start.students.support.TestStudents;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class LegacyPhotoMigrationTest {
+
+    private static final String PHOTO = "data:image/png;base64,iVBORw0KGgo=";
+
+    @Autowired
+    private StudentJpaRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    private boolean addedLegacyColumn;
+
+    @BeforeEach
+    void addLegacyColumn() {
+        // O esquema atual não tem mais a coluna antiga; recriá-la só enquanto o teste roda
+        if (repository.countLegacyPhotoColumn() == 0) {
+            jdbcTemplate.execute("ALTER TABLE students ADD COLUMN photo TEXT");
+            addedLegacyColumn = true;
+        }
+    }
+
+    @AfterEach
+    void dropLegacyColumn() {
+        if (addedLegacyColumn) {
+            jdbcTemplate.execute("ALTER TABLE students DROP COLUMN photo");
+        }
+    }
+
+    @Test
+    void movesBase64OutOfTheLegacyColumnAndSetsTheReference() {
+        FileSystemPhotoStorageAdapter storage = new FileSystemPhotoStorageAdapter(directory.toString());
+        String withPhoto = legacyStudent(PHOTO);
+        String withoutPhoto = legacyStudent(null);
+
+        migration(storage, 1).migrate();
+
+        Map<String, Object> migrated = row(withPhoto);
+        assertNull(migrated.get("photo"));
+        assertEquals(storage.store(PHOTO), migrated.get("photo_ref"));
+        assertEquals(Optional.of(PHOTO), storage.load((String) migrated.get("photo_ref")));
+
+        Map<String, Object> untouched = row(withoutPhoto);
+        assertNull(untouched.get("photo"));
+        assertNull(untouched.get("photo_ref"));
+    }
+
+    @Test
+    void migrationProcessesEveryBatch() {
+        FileSystemPhotoStorageAdapter storage = new FileSystemPhotoStorageAdapter(directory.toString());
+        String first = legacyStudent(PHOTO);
+        String second = legacyStudent(PHOTO + "AA");
+        String third = legacyStudent(PHOTO);
+
+        // Lote de 2 com 3 linhas: o segundo lote, incompleto, encerra a migração
+        migration(storage, 2).migrate();
+
+        assertEquals(storage.store(PHOTO), row(first).get("photo_ref"));
+        assertEquals(storage.store(PHOTO + "AA"), row(second).get("photo_ref"));
+        assertEquals(row(first).get("photo_ref"), row(third).get("photo_ref"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students WHERE photo IS NOT NULL",
+                Integer.class));
+    }
+
+    private LegacyPhotoMigration migration(FileSystemPhotoStorageAdapter storage, int batchSize) {
+        LegacyPhotoMigration migration = new LegacyPhotoMigration(repository, storage, transactionManager);
+        ReflectionTestUtils.setField(migration, "enabled", true);
+        ReflectionTestUtils.setField(migration, "batchSize", batchSize);
+        return migration;
+    }
+
+    private String legacyStudent(String photo) {
+        String id = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO students (id, matricula, name, cpf, email, phone, status, created_at, updated_at, "
+                        + "version, photo) VALUES (?, ?, ?, ?, ?, ?, 'Ativo', ?, ?, 0, ?)",
+                id, "L" + System.nanoTime(), "Aluno Legado", TestStudents.cpf(), TestStudents.email(), "11987654321",
+                now, now, photo);
+        return id;
+    }
+
+    private Map<String, Object> row(String id) {
+        return jdbcTemplate.queryForMap("SELECT photo, photo_ref FROM students WHERE id = ?", id);
+    }
+}
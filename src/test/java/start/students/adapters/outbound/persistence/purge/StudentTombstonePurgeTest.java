@@ -0,0 +1,109 @@
+package start.students.adapters.outbound.persistence.purge;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import start.students.adapters.outbound.repositories.StudentJpaRepository;
+import start.students.support.TestStudents;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Retenção contra o banco real; o fatiamento em lotes com o repositório simulado
+ */
+@SpringBootTest
+class StudentTombstonePurgeTest {
+
+    private static final Duration RETENTION = Duration.ofDays(30);
+
+    @Autowired
+    private StudentJpaRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void removesOnlyTombstonesOlderThanTheRetention() {
+        // Tombstones de outros testes foram excluídos agora e ficam dentro da retenção
+        Clock clock = Clock.fixed(Instant.now(), ZoneOffset.systemDefault());
+        LocalDateTime now = LocalDateTime.now(clock);
+        String expired = tombstone(now.minus(RETENTION).minusHours(1));
+        String retained = tombstone(now.minus(RETENTION).plusHours(1));
+        String live = tombstone(null);
+
+        new StudentTombstonePurge(repository, transactionManager, clock, true, RETENTION, 500, 200, Duration.ZERO)
+                .purge();
+
+        assertEquals(0, countById(expired));
+        assertEquals(1, countById(retained));
+        assertEquals(1, countById(live));
+    }
+
+    @Test
+    void shortBatchEndsTheRun() {
+        StudentJpaRepository batches = mock(StudentJpaRepository.class);
+        when(batches.purgeDeletedBefore(any(), anyInt())).thenReturn(10, 10, 3);
+        Clock clock = Clock.fixed(Instant.parse("2026-06-01T03:00:00Z"), ZoneOffset.UTC);
+
+        new StudentTombstonePurge(batches, mock(PlatformTransactionManager.class), clock, true, RETENTION, 10, 200,
+                Duration.ZERO).purge();
+
+        LocalDateTime cutoff = LocalDateTime.of(2026, 5, 2, 3, 0);
+        verify(batches, times(3)).purgeDeletedBefore(eq(cutoff), eq(10));
+    }
+
+    @Test
+    void maxBatchesCapsTheRun() {
+        StudentJpaRepository batches = mock(StudentJpaRepository.class);
+        when(batches.purgeDeletedBefore(any(), anyInt())).thenReturn(10);
+
+        new StudentTombstonePurge(batches, mock(PlatformTransactionManager.class), Clock.systemUTC(), true, RETENTION,
+                10, 4, Duration.ZERO).purge();
+
+        verify(batches, times(4)).purgeDeletedBefore(any(), eq(10));
+    }
+
+    @Test
+    void disabledPurgeDoesNothing() {
+        StudentJpaRepository batches = mock(StudentJpaRepository.class);
+
+        new StudentTombstonePurge(batches, mock(PlatformTransactionManager.class), Clock.systemUTC(), false, RETENTION,
+                10, 4, Duration.ZERO).purge();
+
+        verify(batches, never()).purgeDeletedBefore(any(), anyInt());
+    }
+
+    private String tombstone(LocalDateTime deletedAt) {
+        String id = UUID.randomUUID().toString();
+        LocalDateTime created = LocalDateTime.now().minusDays(400);
+        jdbcTemplate.update("INSERT INTO students (id, matricula, name, cpf, email, phone, status, created_at, updated_at, "
+                        + "version, deleted_at) VALUES (?, ?, ?, ?, ?, ?, 'Ativo', ?, ?, 0, ?)",
+                id, "X" + System.nanoTime(), "Aluno Removido", TestStudents.cpf(), TestStudents.email(), "11987654321",
+                created, created, deletedAt);
+        return id;
+    }
+
+    private int countById(String id) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students WHERE id = ?", Integer.class, id);
+    }
+}
@@ -0,0 +1,72 @@
+package start.students.adapters.outbound.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSystemPhotoStorageAdapterTest {
+
+    private static final String PHOTO = "data:image/png;base64,iVBORw0KGgo=";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void samePhotoIsStoredOnceUnderOneReference() throws IOException {
+        FileSystemPhotoStorageAdapter storage = new FileSystemPhotoStorageAdapter(directory.toString());
+
+        String first = storage.store(PHOTO);
+        String second = storage.store(PHOTO);
+
+        assertEquals(first, second);
+        assertTrue(first.matches("[0-9a-f]{64}"));
+        assertEquals(1, countFiles());
+        assertEquals(Optional.of(PHOTO), storage.load(first));
+    }
+
+    @Test
+    void differentPhotosGetDifferentFiles() throws IOException {
+        FileSystemPhotoStorageAdapter storage = new FileSystemPhotoStorageAdapter(directory.toString());
+
+        String first = storage.store(PHOTO);
+        String second = storage.store(PHOTO + "AA");
+
+        assertNotEquals(first, second);
+        assertEquals(2, countFiles());
+    }
+
+    @Test
+    void loadRejectsReferencesThatAreNotSha256Hex() throws IOException {
+        FileSystemPhotoStorageAdapter storage = new FileSystemPhotoStorageAdapter(directory.toString());
+        // Arquivo fora da árvore de hashes: uma referência forjada não pode alcançá-lo
+        Files.writeString(directory.resolve("segredo.txt"), "não é foto");
+
+        assertEquals(Optional.empty(), storage.load(null));
+        assertEquals(Optional.empty(), storage.load("../segredo.txt"));
+        assertEquals(Optional.empty(), storage.load("abc123"));
+        assertEquals(Optional.empty(), storage.load("A".repeat(64)));
+        assertEquals(Optional.empty(), storage.load("0".repeat(63) + "g"));
+    }
+
+    @Test
+    void missingFileLoadsAsEmpty() {
+        FileSystemPhotoStorageAdapter storage = new FileSystemPhotoStorageAdapter(directory.toString());
+
+        assertEquals(Optional.empty(), storage.load("0".repeat(64)));
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package start.students.core.application.dtos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PatchStudentInputDTOTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void explicitNullIsPresentAndAbsentFieldIsNot() throws Exception {
+        PatchStudentInputDTO dto = objectMapper.readValue("{\"phone\":null}", PatchStudentInputDTO.class);
+
+        assertTrue(dto.has("phone"));
+        assertNull(dto.getPhone());
+        for (String field : new String[]{"name", "cpf", "email", "photo", "status"}) {
+            assertFalse(dto.has(field), field);
+        }
+    }
+
+    @Test
+    void sentValuesArePresent() throws Exception {
+        PatchStudentInputDTO dto = objectMapper.readValue(
+                "{\"name\":\"Maria Silva\",\"photo\":null}", PatchStudentInputDTO.class);
+
+        assertTrue(dto.has("name"));
+        assertEquals("Maria Silva", dto.getName());
+        assertTrue(dto.has("photo"));
+        assertNull(dto.getPhoto());
+        assertFalse(dto.has("phone"));
+    }
+
+    @Test
+    void emptyBodyHasNoFields() throws Exception {
+        PatchStudentInputDTO dto = objectMapper.readValue("{}", PatchStudentInputDTO.class);
+
+        for (String field : new String[]{"name", "cpf", "email", "phone", "photo", "status"}) {
+            assertFalse(dto.has(field), field);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package start.students.core.application.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readsRecordsAndTracksByteOffsets() throws IOException {
+        CsvRecordReader reader = reader("name,cpf\nAna,123\n");
+
+        assertEquals(List.of("name", "cpf"), reader.next());
+        assertEquals(9, reader.offset());
+        assertEquals(List.of("Ana", "123"), reader.next());
+        assertEquals(17, reader.offset());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        CsvRecordReader reader = reader("\"Silva, Ana\",\"diz \"\"oi\"\"\",\"linha 1\nlinha 2\"\n");
+
+        assertEquals(List.of("Silva, Ana", "diz \"oi\"", "linha 1\nlinha 2"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void acceptsCrLfAndSkipsBlankLines() throws IOException {
+        CsvRecordReader reader = reader("a,b\r\n\r\n\nc,d");
+
+        assertEquals(List.of("a", "b"), reader.next());
+        assertEquals(List.of("c", "d"), reader.next());
+        assertEquals(11, reader.offset());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertEquals(Arrays.asList("a", "", "c", ""), reader("a,,c,\n").next());
+    }
+
+    @Test
+    void skipsByteOrderMarkAndCountsItInTheOffset() throws IOException {
+        byte[] content = bytes("﻿name\n");
+
+        CsvRecordReader reader = new CsvRecordReader(new ByteArrayInputStream(content), 0);
+
+        assertEquals(List.of("name"), reader.next());
+        assertEquals(content.length, reader.offset());
+    }
+
+    @Test
+    void multibyteCharactersCountAsTheirUtf8Bytes() throws IOException {
+        CsvRecordReader reader = reader("João,Conceição\nx\n");
+
+        assertEquals(List.of("João", "Conceição"), reader.next());
+        assertEquals(bytes("João,Conceição\n").length, reader.offset());
+    }
+
+    @Test
+    void resumesFromAnOffsetReturnedEarlier() throws IOException {
+        byte[] content = bytes("header\nlinha1\nlinha2\n");
+        CsvRecordReader first = new CsvRecordReader(new ByteArrayInputStream(content), 0);
+        first.next();
+        first.next();
+        long offset = first.offset();
+
+        // A retomada abre o arquivo já posicionado e continua contando a partir da posição salva
+        ByteArrayInputStream rest = new ByteArrayInputStream(content, (int) offset, content.length - (int) offset);
+        CsvRecordReader resumed = new CsvRecordReader(rest, offset);
+
+        assertEquals(List.of("linha2"), resumed.next());
+        assertEquals(content.length, resumed.offset());
+        assertNull(resumed.next());
+    }
+
+    @Test
+    void unclosedQuoteAtEndOfFileFails() {
+        CsvRecordReader reader = reader("\"sem fim\n");
+
+        assertThrows(IOException.class, reader::next);
+    }
+
+    private static CsvRecordReader reader(String content) {
+        return new CsvRecordReader(new ByteArrayInputStream(bytes(content)), 0);
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,206 @@
+package start.students.core.application.imports;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import start.students.core.application.dtos.CreateStudentInputDTO;
+import start.students.core.application.dtos.ImportRowErrorDTO;
+import start.students.core.application.dtos.StudentImportOutputDTO;
+import start.students.core.application.dtos.StudentOutputDTO;
+import start.students.core.application.usecases.CreateStudentUseCase;
+import start.students.core.application.usecases.ImportStudentsUseCase;
+import start.students.core.domain.entities.StudentImportJob;
+import start.students.core.domain.exceptions.DomainException;
+import start.students.core.domain.valueobjects.StudentConflicts;
+import start.students.core.domain.valueobjects.StudentImportStatus;
+import start.students.core.ports.ImportFileStoragePort;
+import start.students.core.ports.StudentImportJobRepositoryPort;
+import start.students.core.ports.StudentRepositoryPort;
+import start.students.support.TestStudents;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Leitura, validação e gravação de uma importação de ponta a ponta, contra o banco real
+ * A varredura periódica fica longe para não disputar os jobs montados pelos testes
+ */
+@SpringBootTest(properties = "students.imports.resume-interval=PT1H")
+class StudentImportPipelineTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    @Autowired
+    private ImportStudentsUseCase importStudentsUseCase;
+
+    @Autowired
+    private CreateStudentUseCase createStudentUseCase;
+
+    @Autowired
+    private StudentImportPipeline pipeline;
+
+    @Autowired
+    private StudentImportJobRepositoryPort jobRepository;
+
+    @Autowired
+    private ImportFileStoragePort fileStorage;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private StudentRepositoryPort studentRepository;
+
+    @Test
+    void importsValidRowsAndReportsInvalidOnes() throws InterruptedException {
+        CreateStudentInputDTO first = TestStudents.newStudent();
+        CreateStudentInputDTO second = TestStudents.newStudent();
+        String csv = "name,cpf,email,phone\n"
+                + row(first)
+                + "Sem Cpf,,sem.cpf@gmail.com,11987654321\n"
+                + row(second)
+                + first.getName() + "," + first.getCpf() + "," + TestStudents.email() + ",11987654321\n";
+
+        StudentImportOutputDTO status = awaitCompletion(importStudentsUseCase.start(stream(csv)).getId());
+
+        assertEquals(4, status.getProcessedRows());
+        assertEquals(2, status.getCreatedRows());
+        assertEquals(2, status.getFailedRows());
+        assertEquals(List.of(2L, 4L), rowsOf(status.getErrors()));
+        assertTrue(studentRepository.existsByCpf(first.getCpf()));
+        assertTrue(studentRepository.existsByCpf(second.getCpf()));
+    }
+
+    @Test
+    void conflictAtInsertTimeRetriesTheChunkWithAFreshCheck() throws InterruptedException {
+        StudentOutputDTO existing = createStudentUseCase.execute(TestStudents.newStudent());
+
+        // A primeira checagem não vê o CPF já gravado (cadastro concorrente); o insert então viola o índice único
+        doReturn(new StudentConflicts(Set.of(), Set.of()))
+                .doCallRealMethod()
+                .when(studentRepository).findConflicts(any(), any());
+
+        CreateStudentInputDTO duplicated = TestStudents.newStudent();
+        duplicated.setCpf(existing.getCpf());
+        CreateStudentInputDTO fresh = TestStudents.newStudent();
+        String csv = "name,cpf,email,phone\n" + row(duplicated) + row(fresh);
+
+        StudentImportOutputDTO status = awaitCompletion(importStudentsUseCase.start(stream(csv)).getId());
+
+        // O bloco é refeito com a checagem atualizada: só a linha em conflito é rejeitada
+        assertEquals(1, status.getCreatedRows());
+        assertEquals(1, status.getFailedRows());
+        assertEquals(List.of(1L), rowsOf(status.getErrors()));
+        assertEquals("CPF já está cadastrado", status.getErrors().get(0).getMessage());
+        assertTrue(studentRepository.existsByCpf(fresh.getCpf()));
+    }
+
+    @Test
+    void claimIsExclusiveAndFencesWritesFromThePreviousCopy() {
+        StudentImportJob queued = queuedJob("name,cpf,email,phone\n" + row(TestStudents.newStudent()));
+
+        assertTrue(jobRepository.claim(queued.getId(), "node-a", LEASE));
+        assertFalse(jobRepository.claim(queued.getId(), "node-b", LEASE));
+
+        StudentImportJob claimed = jobRepository.findById(queued.getId()).orElseThrow();
+        assertEquals(StudentImportStatus.RUNNING, claimed.getStatus());
+        assertEquals("node-a", claimed.getOwner());
+        assertTrue(claimed.getVersion() > queued.getVersion());
+
+        // A cópia lida antes do claim não pode mais ser gravada
+        queued.setProcessedRows(10);
+        assertThrows(OptimisticLockingFailureException.class, () -> jobRepository.save(queued));
+        assertTrue(jobRepository.renewLease(queued.getId(), "node-a", LEASE));
+        assertFalse(jobRepository.renewLease(queued.getId(), "node-b", LEASE));
+    }
+
+    @Test
+    void runningJobIsResumedOnlyAfterItsLeaseExpires() throws InterruptedException {
+        CreateStudentInputDTO student = TestStudents.newStudent();
+        StudentImportJob job = queuedJob("name,cpf,email,phone\n" + row(student));
+        heldByAnotherNode(job.getId(), "LOCALTIMESTAMP + interval '1 hour'");
+
+        importStudentsUseCase.resumeInterrupted();
+        assertThrows(DomainException.class, () -> importStudentsUseCase.resume(job.getId()));
+        Thread.sleep(300);
+        StudentImportOutputDTO held = importStudentsUseCase.getStatus(job.getId());
+        assertEquals(StudentImportStatus.RUNNING.name(), held.getStatus());
+        assertEquals(0, held.getProcessedRows());
+
+        // O nó dono parou: o lease vence e a varredura assume o job
+        heldByAnotherNode(job.getId(), "LOCALTIMESTAMP - interval '1 second'");
+        importStudentsUseCase.resumeInterrupted();
+
+        StudentImportOutputDTO status = awaitCompletion(job.getId());
+        assertEquals(1, status.getCreatedRows());
+        assertTrue(studentRepository.existsByCpf(student.getCpf()));
+    }
+
+    @Test
+    void resumeAcceptsARunningJobWhoseLeaseExpired() throws InterruptedException {
+        CreateStudentInputDTO student = TestStudents.newStudent();
+        StudentImportJob job = queuedJob("name,cpf,email,phone\n" + row(student));
+        heldByAnotherNode(job.getId(), "LOCALTIMESTAMP - interval '1 second'");
+
+        importStudentsUseCase.resume(job.getId());
+
+        assertEquals(1, awaitCompletion(job.getId()).getCreatedRows());
+    }
+
+    private StudentImportJob queuedJob(String csv) {
+        String reference = fileStorage.store(stream(csv));
+        LocalDateTime now = LocalDateTime.now();
+        return jobRepository.save(new StudentImportJob(UUID.randomUUID().toString(), reference,
+                fileStorage.size(reference), StudentImportStatus.QUEUED, pipeline.readHeaderEnd(reference),
+                0, 0, 0, null, now, now, null, null, null));
+    }
+
+    private void heldByAnotherNode(String jobId, String leaseUntil) {
+        jdbcTemplate.update("UPDATE student_import_jobs SET status = 'RUNNING', owner = 'other-node', " +
+                "lease_until = " + leaseUntil + ", version = version + 1 WHERE id = ?", jobId);
+    }
+
+    private StudentImportOutputDTO awaitCompletion(String jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            StudentImportOutputDTO status = importStudentsUseCase.getStatus(jobId);
+            if (StudentImportStatus.COMPLETED.name().equals(status.getStatus())) {
+                return status;
+            }
+            if (StudentImportStatus.FAILED.name().equals(status.getStatus())) {
+                fail("Importação falhou: " + status.getMessage());
+            }
+            Thread.sleep(50);
+        }
+        return fail("Importação não terminou a tempo");
+    }
+
+    private static String row(CreateStudentInputDTO input) {
+        return input.getName() + "," + input.getCpf() + "," + input.getEmail() + "," + input.getPhone() + "\n";
+    }
+
+    private static List<Long> rowsOf(List<ImportRowErrorDTO> errors) {
+        return errors.stream().map(ImportRowErrorDTO::getRow).sorted().collect(Collectors.toList());
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
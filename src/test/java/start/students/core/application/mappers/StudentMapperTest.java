@@ -0,0 +1,80 @@
+package start.students.core.application.mappers;
+
+import org.junit.jupiter.api.Test;
+import start.students.core.application.dtos.PatchStudentInputDTO;
+import start.students.core.domain.exceptions.DomainException;
+import start.students.core.domain.valueobjects.StudentChanges;
+import start.students.core.domain.valueobjects.StudentUpdatableField;
+import start.students.core.ports.MatriculaGeneratorPort;
+import start.students.core.ports.PhotoStoragePort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentMapperTest {
+
+    private final PhotoStoragePort photoStorage = mock(PhotoStoragePort.class);
+    private final StudentMapper mapper = new StudentMapper(mock(MatriculaGeneratorPort.class), photoStorage);
+
+    @Test
+    void nullPhoneAndPhotoClearTheColumns() {
+        PatchStudentInputDTO dto = new PatchStudentInputDTO();
+        dto.setPhone(null);
+        dto.setPhoto(null);
+
+        StudentChanges changes = mapper.toChanges(dto);
+
+        assertTrue(changes.contains(StudentUpdatableField.PHONE));
+        assertNull(changes.get(StudentUpdatableField.PHONE));
+        assertTrue(changes.contains(StudentUpdatableField.PHOTO_REF));
+        assertNull(changes.get(StudentUpdatableField.PHOTO_REF));
+        verify(photoStorage, never()).store(any());
+    }
+
+    @Test
+    void absentFieldsAreLeftOutOfTheUpdate() {
+        PatchStudentInputDTO dto = new PatchStudentInputDTO();
+        dto.setStatus("INACTIVE");
+
+        StudentChanges changes = mapper.toChanges(dto);
+
+        assertEquals(1, changes.getValues().size());
+        assertEquals("INACTIVE", changes.get(StudentUpdatableField.STATUS));
+        assertFalse(changes.contains(StudentUpdatableField.PHONE));
+        assertFalse(changes.contains(StudentUpdatableField.PHOTO_REF));
+    }
+
+    @Test
+    void sentPhotoIsStoredAndReferenced() {
+        when(photoStorage.store("aGVsbG8=")).thenReturn("ref-1");
+        PatchStudentInputDTO dto = new PatchStudentInputDTO();
+        dto.setPhoto("aGVsbG8=");
+
+        StudentChanges changes = mapper.toChanges(dto);
+
+        assertEquals("ref-1", changes.get(StudentUpdatableField.PHOTO_REF));
+    }
+
+    @Test
+    void requiredFieldsCannotBeCleared() {
+        for (String field : new String[]{"name", "cpf", "email", "status"}) {
+            PatchStudentInputDTO dto = new PatchStudentInputDTO();
+            switch (field) {
+                case "name" -> dto.setName(null);
+                case "cpf" -> dto.setCpf(null);
+                case "email" -> dto.setEmail(null);
+                default -> dto.setStatus(null);
+            }
+
+            assertThrows(DomainException.class, () -> mapper.toChanges(dto), field);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package start.students.core.application.usecases;
+
+import org.junit.jupiter.api.Test;
+import start.students.core.application.dtos.LoginInputDTO;
+import start.students.core.application.dtos.TokenResponseDTO;
+import start.students.core.domain.entities.User;
+import start.students.core.domain.exceptions.ServiceOverloadedException;
+import start.students.core.ports.JwtTokenPort;
+import start.students.core.ports.PasswordEncoderPort;
+import start.students.core.ports.UserRepositoryPort;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthenticationUseCaseTest {
+
+    private final UserRepositoryPort userRepository = mock(UserRepositoryPort.class);
+    private final PasswordEncoderPort passwordEncoder = mock(PasswordEncoderPort.class);
+    private final JwtTokenPort jwtTokenPort = mock(JwtTokenPort.class);
+    // Executor de IO que roda na própria thread: a gravação acontece assim que o hash fica pronto
+    private final AuthenticationUseCase useCase =
+            new AuthenticationUseCase(userRepository, passwordEncoder, jwtTokenPort, Runnable::run);
+
+    // Estado do usuário "no banco"
+    private User storedUser;
+
+    @Test
+    void loginAnswersBeforeTheRehashCompletes() {
+        CompletableFuture<String> rehash = new CompletableFuture<>();
+        givenUserWithOutdatedHash(rehash);
+
+        TokenResponseDTO response = useCase.authenticate(login());
+
+        assertEquals("token", response.getToken());
+        verify(userRepository, never()).save(any());
+        verify(passwordEncoder, never()).encode(any());
+
+        rehash.complete("novo-hash");
+
+        verify(userRepository).save(any(User.class));
+        assertEquals("novo-hash", storedUser.getPassword());
+    }
+
+    @Test
+    void rehashIsDroppedWhenThePasswordChangedMeanwhile() {
+        CompletableFuture<String> rehash = new CompletableFuture<>();
+        givenUserWithOutdatedHash(rehash);
+
+        useCase.authenticate(login());
+        storedUser.setPassword("trocada-em-outra-requisicao");
+        rehash.complete("novo-hash");
+
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void overloadedPoolSkipsTheRehashWithoutFailingTheLogin() {
+        givenUserWithOutdatedHash(CompletableFuture.failedFuture(new ServiceOverloadedException("sem capacidade")));
+
+        TokenResponseDTO response = useCase.authenticate(login());
+
+        assertEquals("token", response.getToken());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void rehashIsStoredOnTheIoExecutorAndNotOnTheBcryptPool() throws Exception {
+        ExecutorService bcryptPool = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "bcrypt-teste"));
+        ExecutorService ioPool = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "io-teste"));
+        try {
+            givenUserWithOutdatedHash(CompletableFuture.supplyAsync(() -> "novo-hash", bcryptPool));
+            CompletableFuture<String> savedOn = new CompletableFuture<>();
+            when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+                storedUser = invocation.getArgument(0);
+                savedOn.complete(Thread.currentThread().getName());
+                return storedUser;
+            });
+            AuthenticationUseCase withIoPool =
+                    new AuthenticationUseCase(userRepository, passwordEncoder, jwtTokenPort, ioPool);
+
+            withIoPool.authenticate(login());
+
+            assertEquals("io-teste", savedOn.get(5, TimeUnit.SECONDS));
+            assertEquals("novo-hash", storedUser.getPassword());
+        } finally {
+            bcryptPool.shutdownNow();
+            ioPool.shutdownNow();
+            assertTrue(bcryptPool.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void currentHashIsNotRehashed() {
+        User user = user("hash-atual");
+        when(userRepository.findByUsername("usuario01")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("senha123", "hash-atual")).thenReturn(true);
+        when(jwtTokenPort.generateToken("usuario01")).thenReturn("token");
+
+        useCase.authenticate(login());
+
+        verify(passwordEncoder, never()).encodeAsync(any());
+    }
+
+    private void givenUserWithOutdatedHash(CompletableFuture<String> rehash) {
+        storedUser = user("hash-antigo");
+        // Cada leitura devolve uma cópia do estado gravado, como faria o banco
+        when(userRepository.findByUsername("usuario01")).thenAnswer(invocation -> Optional.of(copy(storedUser)));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            storedUser = invocation.getArgument(0);
+            return storedUser;
+        });
+        when(passwordEncoder.matches("senha123", "hash-antigo")).thenReturn(true);
+        when(passwordEncoder.needsRehash("hash-antigo")).thenReturn(true);
+        when(passwordEncoder.encodeAsync("senha123")).thenReturn(rehash);
+        when(jwtTokenPort.generateToken("usuario01")).thenReturn("token");
+    }
+
+    private static LoginInputDTO login() {
+        LoginInputDTO input = new LoginInputDTO();
+        input.setUsername("usuario01");
+        input.setPassword("senha123");
+        return input;
+    }
+
+    private static User user(String hash) {
+        User user = new User();
+        user.setId("u1");
+        user.setUsername("usuario01");
+        user.setPassword(hash);
+        return user;
+    }
+
+    private static User copy(User user) {
+        return new User(user.getId(), user.getUsername(), user.getPassword(), user.getEmail(),
+                user.getCreatedAt(), user.getUpdatedAt());
+    }
+}
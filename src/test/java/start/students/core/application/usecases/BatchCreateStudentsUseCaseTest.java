@@ -0,0 +1,67 @@
+package start.students.core.application.usecases;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import start.students.core.application.dtos.BatchCreateStudentsOutputDTO;
+import start.students.core.application.dtos.BatchItemErrorDTO;
+import start.students.core.application.dtos.CreateStudentInputDTO;
+import start.students.core.application.dtos.StudentOutputDTO;
+import start.students.core.domain.valueobjects.StudentConflicts;
+import start.students.core.ports.StudentRepositoryPort;
+import start.students.support.TestStudents;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+@SpringBootTest
+class BatchCreateStudentsUseCaseTest {
+
+    @Autowired
+    private BatchCreateStudentsUseCase batchCreateStudentsUseCase;
+
+    @Autowired
+    private CreateStudentUseCase createStudentUseCase;
+
+    @MockitoSpyBean
+    private StudentRepositoryPort studentRepository;
+
+    @Test
+    void conflictAtInsertTimeIsReportedPerItem() {
+        StudentOutputDTO existing = createStudentUseCase.execute(TestStudents.newStudent());
+
+        // Simula um cadastro concorrente entre a checagem e o insert: a checagem não vê o CPF já gravado
+        doReturn(new StudentConflicts(Set.of(), Set.of())).when(studentRepository).findConflicts(any(), any());
+
+        CreateStudentInputDTO duplicated = TestStudents.newStudent();
+        duplicated.setCpf(existing.getCpf());
+        CreateStudentInputDTO fresh = TestStudents.newStudent();
+
+        BatchCreateStudentsOutputDTO result = batchCreateStudentsUseCase.execute(List.of(duplicated, fresh));
+
+        // O índice único rejeita o bloco no insert; a regravação item a item salva só o que não conflita
+        assertEquals(2, result.getTotal());
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(List.of(0), result.getErrors().stream()
+                .map(BatchItemErrorDTO::getIndex)
+                .collect(Collectors.toList()));
+        assertTrue(studentRepository.existsByEmail(fresh.getEmail()));
+    }
+
+    @Test
+    void createsAllItemsWithoutConflicts() {
+        BatchCreateStudentsOutputDTO result = batchCreateStudentsUseCase.execute(
+                List.of(TestStudents.newStudent(), TestStudents.newStudent(), TestStudents.newStudent()));
+
+        assertEquals(3, result.getCreated());
+        assertEquals(0, result.getFailed());
+    }
+}
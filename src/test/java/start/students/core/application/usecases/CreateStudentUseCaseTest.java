@@ -0,0 +1,31 @@
+package start.students.core.application.usecases;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import start.students.core.application.dtos.StudentOutputDTO;
+import start.students.core.domain.entities.Student;
+import start.students.core.ports.StudentRepositoryPort;
+import start.students.support.TestStudents;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class CreateStudentUseCaseTest {
+
+    @Autowired
+    private CreateStudentUseCase createStudentUseCase;
+
+    @Autowired
+    private StudentRepositoryPort studentRepository;
+
+    @Test
+    void createdStudentStartsAtVersionZero() {
+        StudentOutputDTO created = createStudentUseCase.execute(TestStudents.newStudent());
+
+        assertEquals(0L, created.getVersion());
+        Student stored = studentRepository.findById(created.getId()).orElseThrow();
+        assertEquals(0L, stored.getVersion());
+        assertEquals(created.getCpf(), stored.getCpf());
+    }
+}
@@ -0,0 +1,145 @@
+package start.students.core.application.usecases;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import start.students.core.application.dtos.StudentOutputDTO;
+import start.students.core.application.mappers.StudentMapper;
+import start.students.core.domain.entities.Student;
+import start.students.core.domain.valueobjects.StudentExportFormat;
+import start.students.core.ports.MatriculaGeneratorPort;
+import start.students.core.ports.PhotoStoragePort;
+import start.students.core.ports.StudentRepositoryPort;
+import start.students.support.TestStudents;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Formatos da exportação com o repositório simulado; a exclusão dos removidos contra o banco real
+ */
+@SpringBootTest
+class ExportStudentsUseCaseTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Autowired
+    private ExportStudentsUseCase exportStudentsUseCase;
+
+    @Autowired
+    private CreateStudentUseCase createStudentUseCase;
+
+    @Autowired
+    private DeleteStudentUseCase deleteStudentUseCase;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final StudentRepositoryPort studentRepository = mock(StudentRepositoryPort.class);
+    private final PhotoStoragePort photoStorage = mock(PhotoStoragePort.class);
+
+    @Test
+    void csvQuotesFieldsWithCommasQuotesAndLineBreaks() throws IOException {
+        Student tricky = student("a1", "Silva, Ana \"Aninha\"");
+        tricky.setPhone("11\r\n98765");
+        givenStudents(tricky, student("a2", "Bruno Costa"));
+
+        String csv = export(StudentExportFormat.CSV, false);
+
+        assertEquals("id,matricula,name,cpf,email,phone,status,createdAt,updatedAt\r\n"
+                + "a1,202600001,\"Silva, Ana \"\"Aninha\"\"\",12345678909,a1@gmail.com,\"11\r\n98765\",Ativo,"
+                + "2026-03-01T12:00,2026-03-01T12:00\r\n"
+                + "a2,202600001,Bruno Costa,12345678909,a2@gmail.com,11987654321,Ativo,"
+                + "2026-03-01T12:00,2026-03-01T12:00\r\n", csv);
+    }
+
+    @Test
+    void photoIsLeftOutUnlessRequested() throws IOException {
+        Student withPhoto = student("a1", "Ana Silva");
+        withPhoto.setPhotoRef("ref-da-foto");
+        when(photoStorage.load("ref-da-foto")).thenReturn(Optional.of("data:image/png;base64,AAAA"));
+        givenStudents(withPhoto);
+
+        String csv = export(StudentExportFormat.CSV, false);
+        String ndjson = export(StudentExportFormat.NDJSON, false);
+
+        assertFalse(csv.contains("photo"));
+        assertFalse(objectMapper.readTree(ndjson).has("photo"));
+        verify(photoStorage, never()).load(any());
+
+        String withPhotoColumn = export(StudentExportFormat.CSV, true);
+        assertTrue(withPhotoColumn.startsWith("id,matricula,name,cpf,email,phone,status,createdAt,updatedAt,photo\r\n"));
+        assertTrue(withPhotoColumn.endsWith(",\"data:image/png;base64,AAAA\"\r\n"));
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        Student multiline = student("a1", "Ana Silva");
+        multiline.setPhone("11\n98765");
+        givenStudents(multiline, student("a2", "Bruno Costa"), student("a3", "Carla Souza"));
+
+        String ndjson = export(StudentExportFormat.NDJSON, false);
+
+        assertTrue(ndjson.endsWith("\n"));
+        String[] lines = ndjson.split("\n");
+        assertEquals(3, lines.length);
+        List<String> ids = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            ids.add(node.get("id").asText());
+        }
+        assertEquals(List.of("a1", "a2", "a3"), ids);
+        assertEquals("11\n98765", objectMapper.readValue(lines[0], StudentOutputDTO.class).getPhone());
+    }
+
+    @Test
+    void softDeletedStudentsAreNotExported() throws IOException {
+        StudentOutputDTO kept = createStudentUseCase.execute(TestStudents.newStudent());
+        StudentOutputDTO removed = createStudentUseCase.execute(TestStudents.newStudent());
+        deleteStudentUseCase.execute(removed.getId());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportStudentsUseCase.execute(StudentExportFormat.NDJSON, false, output);
+
+        List<String> ids = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            ids.add(objectMapper.readTree(line).get("id").asText());
+        }
+        assertTrue(ids.contains(kept.getId()));
+        assertFalse(ids.contains(removed.getId()));
+    }
+
+    private void givenStudents(Student... students) {
+        when(studentRepository.streamAll()).thenAnswer(invocation -> Stream.of(students));
+    }
+
+    private String export(StudentExportFormat format, boolean includePhoto) throws IOException {
+        ExportStudentsUseCase useCase = new ExportStudentsUseCase(studentRepository,
+                new StudentMapper(mock(MatriculaGeneratorPort.class), photoStorage), objectMapper);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        useCase.execute(format, includePhoto, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Student student(String id, String name) {
+        return new Student(id, "202600001", name, "12345678909", id + "@gmail.com", "11987654321", null, null,
+                "Ativo", CREATED_AT, CREATED_AT, 0L);
+    }
+}
@@ -0,0 +1,111 @@
+package start.students.core.application.usecases;
+
+import org.junit.jupiter.api.Test;
+import start.students.core.application.mappers.StudentMapper;
+import start.students.core.domain.entities.Student;
+import start.students.core.domain.exceptions.ServiceOverloadedException;
+import start.students.core.domain.valueobjects.StudentVersion;
+import start.students.core.ports.MatriculaGeneratorPort;
+import start.students.core.ports.PhotoStoragePort;
+import start.students.core.ports.StudentDetailCachePort;
+import start.students.core.ports.StudentRepositoryPort;
+import start.students.core.ports.WorkloadLimiterPort;
+import start.students.core.ports.WorkloadLimiterPort.Workload;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Detalhe servido de cache não ocupa vaga no compartimento; só a ida ao banco ocupa
+ * A versão vem sempre do banco, e uma entrada em cache de versão anterior é descartada
+ */
+class GetStudentDetailUseCaseTest {
+
+    private final StudentRepositoryPort studentRepository = mock(StudentRepositoryPort.class);
+    private final StudentDetailCachePort detailCache = mock(StudentDetailCachePort.class);
+    private final WorkloadLimiterPort workloadLimiter = mock(WorkloadLimiterPort.class);
+    private final GetStudentDetailUseCase useCase = new GetStudentDetailUseCase(studentRepository,
+            new StudentMapper(mock(MatriculaGeneratorPort.class), mock(PhotoStoragePort.class)),
+            detailCache, workloadLimiter);
+
+    @Test
+    void versionComesFromTheDatabaseEvenWhenCached() {
+        passThroughLimiter();
+        // Outro nó gravou a versão 4; o cache deste nó ainda tem a 3
+        when(detailCache.getIfPresent("1")).thenReturn(Optional.of(student()));
+        when(studentRepository.findVersion("1")).thenReturn(Optional.of(new StudentVersion(4L, LocalDateTime.now())));
+
+        StudentVersion version = useCase.currentVersion("1");
+
+        assertEquals(4L, version.getVersion());
+        verify(workloadLimiter).call(eq(Workload.DETAIL), any());
+    }
+
+    @Test
+    void cacheHitInTheCurrentVersionDoesNotTouchTheBulkhead() {
+        // O cache responde sem chamar o loader
+        when(detailCache.getIfPresent("1")).thenReturn(Optional.of(student()));
+        when(detailCache.get(eq("1"), any())).thenReturn(Optional.of(student()));
+
+        assertEquals("1", useCase.execute("1", new StudentVersion(3L, LocalDateTime.now())).getId());
+        verify(workloadLimiter, never()).call(any(), any());
+        verify(detailCache, never()).invalidate(any());
+    }
+
+    @Test
+    void cachedEntryBehindTheStoredVersionIsDiscarded() {
+        when(detailCache.getIfPresent("1")).thenReturn(Optional.of(student()));
+        when(detailCache.get(eq("1"), any())).thenReturn(Optional.of(student()));
+
+        useCase.execute("1", new StudentVersion(4L, LocalDateTime.now()));
+
+        verify(detailCache).invalidate("1");
+    }
+
+    @Test
+    void cacheMissLoadsInsideTheDetailBulkhead() {
+        passThroughLimiter();
+        when(detailCache.get(eq("1"), any())).thenAnswer(invocation -> {
+            Function<String, Optional<Student>> loader = invocation.getArgument(1);
+            return loader.apply("1");
+        });
+        when(studentRepository.findById("1")).thenReturn(Optional.of(student()));
+
+        useCase.execute("1", new StudentVersion(3L, LocalDateTime.now()));
+
+        verify(workloadLimiter).call(eq(Workload.DETAIL), any());
+    }
+
+    @Test
+    void saturatedBulkheadPropagatesOverload() {
+        when(workloadLimiter.call(eq(Workload.DETAIL), any()))
+                .thenThrow(new ServiceOverloadedException("Serviço ocupado no momento; tente novamente em instantes"));
+
+        assertThrows(ServiceOverloadedException.class, () -> useCase.currentVersion("1"));
+        verify(studentRepository, never()).findVersion(any());
+    }
+
+    private void passThroughLimiter() {
+        when(workloadLimiter.call(any(), any())).thenAnswer(invocation -> {
+            Supplier<?> work = invocation.getArgument(1);
+            return work.get();
+        });
+    }
+
+    private static Student student() {
+        LocalDateTime now = LocalDateTime.now();
+        return new Student("1", "202600001", "Ana Souza", "12345678909", "ana@gmail.com", "11987654321",
+                null, null, "Ativo", now, now, 3L);
+    }
+}
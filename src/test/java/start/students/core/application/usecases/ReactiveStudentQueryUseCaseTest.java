@@ -0,0 +1,80 @@
+package start.students.core.application.usecases;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import start.students.core.application.dtos.StudentPagedOutputDTO;
+import start.students.core.application.dtos.StudentSummaryOutputDTO;
+import start.students.core.application.mappers.StudentMapper;
+import start.students.core.domain.entities.StudentSummary;
+import start.students.core.domain.valueobjects.StudentCountMode;
+import start.students.core.domain.valueobjects.StudentListQuery;
+import start.students.core.domain.valueobjects.StudentSearchField;
+import start.students.core.domain.valueobjects.StudentSummaryPage;
+import start.students.core.ports.MatriculaGeneratorPort;
+import start.students.core.ports.PhotoStoragePort;
+import start.students.core.ports.ReactiveStudentReadPort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveStudentQueryUseCaseTest {
+
+    private final ReactiveStudentReadPort readPort = mock(ReactiveStudentReadPort.class);
+    private final ReactiveStudentQueryUseCase useCase = new ReactiveStudentQueryUseCase(readPort,
+            new StudentMapper(mock(MatriculaGeneratorPort.class), mock(PhotoStoragePort.class)));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(useCase, "maxResults", 1000);
+    }
+
+    @Test
+    void searchAllQueriesEachPlausibleFieldAndMergesWithoutDuplicates() {
+        StudentSummary anaByName = summary("1", "Ana Souza", "souza@gmail.com");
+        StudentSummary both = summary("2", "Mariana Lima", "ana@gmail.com");
+        StudentSummary anaByEmail = summary("3", "Carla Dias", "diana@gmail.com");
+        when(readPort.findSummaries(argThat(query -> query != null && query.getField() == StudentSearchField.NAME)))
+                .thenReturn(Mono.just(page(anaByName, both)));
+        when(readPort.findSummaries(argThat(query -> query != null && query.getField() == StudentSearchField.EMAIL)))
+                .thenReturn(Mono.just(page(both, anaByEmail)));
+
+        StudentPagedOutputDTO result = useCase.list(0, 10, "ana", "all", "exact").block();
+
+        // Nome e email são os campos plausíveis para um termo textual; ALL nunca chega ao adaptador
+        verify(readPort, never()).findSummaries(argThat(query -> query != null && query.getField() == StudentSearchField.ALL));
+        // Prefixo antes de "contém", depois a ordem dos campos: "Ana Souza" (nome), "ana@" (email), "diana@"
+        assertEquals(List.of("1", "2", "3"), result.getContent().stream()
+                .map(StudentSummaryOutputDTO::getId)
+                .collect(Collectors.toList()));
+        assertEquals(3L, result.getTotalElements());
+        assertEquals("exact", result.getCountMode());
+    }
+
+    @Test
+    void otherFieldsGoStraightToThePort() {
+        when(readPort.findSummaries(any())).thenReturn(Mono.just(page(summary("1", "Ana Souza", "ana@gmail.com"))));
+
+        useCase.list(0, 10, "ana", "name", "exact").block();
+
+        verify(readPort).findSummaries(StudentListQuery.of(StudentSearchField.NAME, "ana", 0, 10, StudentCountMode.EXACT));
+    }
+
+    private static StudentSummaryPage page(StudentSummary... rows) {
+        return new StudentSummaryPage(List.of(rows), false, null, StudentCountMode.NONE);
+    }
+
+    private static StudentSummary summary(String id, String name, String email) {
+        return new StudentSummary(id, "2026000" + id, name, email, "12345678909", "Ativo", LocalDateTime.now());
+    }
+}
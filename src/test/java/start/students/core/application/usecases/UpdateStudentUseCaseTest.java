@@ -0,0 +1,193 @@
+package start.students.core.application.usecases;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import start.students.core.application.dtos.PatchStudentInputDTO;
+import start.students.core.application.dtos.StudentOutputDTO;
+import start.students.core.application.dtos.UpdateStudentInputDTO;
+import start.students.core.domain.exceptions.StudentNotFoundException;
+import start.students.core.domain.exceptions.StudentVersionConflictException;
+import start.students.core.ports.StudentRepositoryPort;
+import start.students.support.TestStudents;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Atualizações contra o banco real: o UPDATE ... RETURNING precisa devolver todas as colunas
+ * mapeadas pela entidade, senão o Hibernate falha ao montar o resultado
+ */
+@SpringBootTest
+class UpdateStudentUseCaseTest {
+
+    @Autowired
+    private CreateStudentUseCase createStudentUseCase;
+
+    @Autowired
+    private UpdateStudentUseCase updateStudentUseCase;
+
+    @Autowired
+    private DeleteStudentUseCase deleteStudentUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private StudentRepositoryPort studentRepository;
+
+    @Test
+    void putUpdatesSentFieldsAndBumpsVersion() {
+        StudentOutputDTO created = createStudentUseCase.execute(TestStudents.newStudent());
+
+        UpdateStudentInputDTO input = new UpdateStudentInputDTO();
+        input.setName("Nome Atualizado");
+        input.setPhone("1133334444");
+
+        StudentOutputDTO updated = updateStudentUseCase.execute(created.getId(), input, null);
+
+        assertEquals("Nome Atualizado", updated.getName());
+        assertEquals("1133334444", updated.getPhone());
+        // Campos não enviados continuam como estavam
+        assertEquals(created.getCpf(), updated.getCpf());
+        assertEquals(created.getEmail(), updated.getEmail());
+        assertEquals(created.getVersion() + 1, updated.getVersion());
+    }
+
+    @Test
+    void patchUpdatesOnlySentField() {
+        StudentOutputDTO created = createStudentUseCase.execute(TestStudents.newStudent());
+
+        PatchStudentInputDTO patch = new PatchStudentInputDTO();
+        patch.setStatus("INACTIVE");
+
+        StudentOutputDTO patched = updateStudentUseCase.patch(created.getId(), patch, null);
+
+        assertEquals("INACTIVE", patched.getStatus());
+        assertEquals(created.getName(), patched.getName());
+        assertEquals(created.getPhone(), patched.getPhone());
+        assertEquals(created.getVersion() + 1, patched.getVersion());
+    }
+
+    @Test
+    void updateOfDeletedStudentIsNotFound() {
+        StudentOutputDTO created = createStudentUseCase.execute(TestStudents.newStudent());
+        deleteStudentUseCase.execute(created.getId());
+
+        PatchStudentInputDTO patch = new PatchStudentInputDTO();
+        patch.setName("Nome Atualizado");
+
+        assertThrows(StudentNotFoundException.class,
+                () -> updateStudentUseCase.patch(created.getId(), patch, null));
+    }
+
+    @Test
+    void matchingExpectedVersionIsWritten() {
+        StudentOutputDTO created = createStudentUseCase.execute(TestStudents.newStudent());
+
+        PatchStudentInputDTO patch = new PatchStudentInputDTO();
+        patch.setName("Nome Com Versao");
+
+        StudentOutputDTO patched = updateStudentUseCase.patch(created.getId(), patch, created.getVersion());
+
+        assertEquals("Nome Com Versao", patched.getName());
+        assertEquals(created.getVersion() + 1, patched.getVersion());
+    }
+
+    @Test
+    void staleExpectedVersionIsConflictAndKeepsStoredData() {
+        StudentOutputDTO created = createStudentUseCase.execute(TestStudents.newStudent());
+        PatchStudentInputDTO first = new PatchStudentInputDTO();
+        first.setName("Primeira Escrita");
+        updateStudentUseCase.patch(created.getId(), first, created.getVersion());
+
+        // Segundo cliente ainda com a versão lida antes da primeira escrita
+        PatchStudentInputDTO second = new PatchStudentInputDTO();
+        second.setName("Escrita Perdida");
+
+        assertThrows(StudentVersionConflictException.class,
+                () -> updateStudentUseCase.patch(created.getId(), second, created.getVersion()));
+        StudentOutputDTO stored = updateStudentUseCase.patch(created.getId(), new PatchStudentInputDTO(), null);
+        assertEquals("Primeira Escrita", stored.getName());
+        assertEquals(created.getVersion() + 1, stored.getVersion());
+    }
+
+    @Test
+    void staleExpectedVersionWithoutChangesIsConflict() {
+        StudentOutputDTO created = createStudentUseCase.execute(TestStudents.newStudent());
+
+        assertThrows(StudentVersionConflictException.class,
+                () -> updateStudentUseCase.patch(created.getId(), new PatchStudentInputDTO(), created.getVersion() + 5));
+    }
+
+    @Test
+    void expectedVersionOnMissingStudentIsNotFound() {
+        PatchStudentInputDTO patch = new PatchStudentInputDTO();
+        patch.setName("Nome Atualizado");
+
+        assertThrows(StudentNotFoundException.class,
+                () -> updateStudentUseCase.patch("inexistente", patch, 0L));
+    }
+
+    @Test
+    void updateIsASingleStatementWithoutPriorRead() {
+        StudentOutputDTO created = createStudentUseCase.execute(TestStudents.newStudent());
+        clearInvocations(studentRepository);
+
+        UpdateStudentInputDTO input = new UpdateStudentInputDTO();
+        input.setName("Nome Atualizado");
+
+        updateStudentUseCase.execute(created.getId(), input, created.getVersion());
+
+        // Sem findById/save: a checagem de versão e a gravação são o mesmo UPDATE ... RETURNING
+        verify(studentRepository, times(1)).update(eq(created.getId()), any(), eq(created.getVersion()));
+        verify(studentRepository, never()).findById(anyString());
+        verify(studentRepository, never()).save(any());
+    }
+
+    @Test
+    void patchWithNullClearsPhoneAndPhotoAndKeepsAbsentFields() {
+        StudentOutputDTO created = createStudentUseCase.execute(TestStudents.newStudent());
+        PatchStudentInputDTO withPhoto = new PatchStudentInputDTO();
+        withPhoto.setPhoto("aGVsbG8=");
+        updateStudentUseCase.patch(created.getId(), withPhoto, null);
+        assertNotNull(column(created.getId(), "photo_ref"));
+
+        PatchStudentInputDTO clear = new PatchStudentInputDTO();
+        clear.setPhone(null);
+        clear.setPhoto(null);
+        StudentOutputDTO patched = updateStudentUseCase.patch(created.getId(), clear, null);
+
+        assertNull(column(created.getId(), "phone"));
+        assertNull(column(created.getId(), "photo_ref"));
+        assertNull(patched.getPhone());
+        assertEquals(created.getName(), column(created.getId(), "name"));
+        assertEquals(created.getEmail(), column(created.getId(), "email"));
+    }
+
+    @Test
+    void patchWithoutPhoneKeepsIt() {
+        StudentOutputDTO created = createStudentUseCase.execute(TestStudents.newStudent());
+
+        PatchStudentInputDTO patch = new PatchStudentInputDTO();
+        patch.setName("Nome Atualizado");
+        updateStudentUseCase.patch(created.getId(), patch, null);
+
+        assertEquals(created.getPhone(), column(created.getId(), "phone"));
+    }
+
+    private String column(String id, String column) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM students WHERE id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,66 @@
+package start.students.core.domain.valueobjects;
+
+import org.junit.jupiter.api.Test;
+import start.students.core.domain.exceptions.DomainException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StudentCursorTest {
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        StudentCursor cursor = new StudentCursor(LocalDateTime.of(2026, 3, 1, 12, 30, 15, 123456000),
+                "0f8fad5b-d9cb-469f-a165-70867728950e");
+
+        String token = cursor.encode();
+
+        assertEquals(cursor, StudentCursor.decode(token));
+        // Seguro para URL e sem preenchimento
+        assertFalse(token.contains("=") || token.contains("+") || token.contains("/"));
+    }
+
+    @Test
+    void timestampWithoutFractionRoundTrips() {
+        StudentCursor cursor = new StudentCursor(LocalDateTime.of(2026, 3, 1, 12, 0), "a1");
+
+        assertEquals(cursor, StudentCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void malformedBase64IsRejected() {
+        assertInvalid("não é base64!");
+        assertInvalid("a");
+    }
+
+    @Test
+    void tokenWithoutSeparatorIsRejected() {
+        assertInvalid(encode("2026-03-01T12:00"));
+    }
+
+    @Test
+    void badTimestampIsRejected() {
+        assertInvalid(encode("ontem|a1"));
+        assertInvalid(encode("2026-13-01T12:00|a1"));
+    }
+
+    @Test
+    void missingIdIsRejected() {
+        assertInvalid(encode("2026-03-01T12:00|"));
+        assertInvalid(encode("2026-03-01T12:00|   "));
+    }
+
+    private static void assertInvalid(String token) {
+        DomainException error = assertThrows(DomainException.class, () -> StudentCursor.decode(token));
+        assertEquals("Cursor inválido", error.getMessage());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+package start.students.support;
+
+import start.students.core.application.dtos.CreateStudentInputDTO;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Dados de alunos para os testes de integração: CPF válido e email únicos a cada chamada,
+ * para que os testes não colidam entre si nem com dados já existentes no banco
+ */
+public final class TestStudents {
+
+    private TestStudents() {
+    }
+
+    public static CreateStudentInputDTO newStudent() {
+        CreateStudentInputDTO input = new CreateStudentInputDTO();
+        input.setName("Aluno Teste " + UUID.randomUUID().toString().substring(0, 8));
+        input.setCpf(cpf());
+        input.setEmail(email());
+        input.setPhone("11987654321");
+        return input;
+    }
+
+    /**
+     * CPF com dígitos verificadores válidos, gerado a partir de 9 dígitos aleatórios
+     */
+    public static String cpf() {
+        int[] digits = new int[11];
+        do {
+            for (int i = 0; i < 9; i++) {
+                digits[i] = ThreadLocalRandom.current().nextInt(10);
+            }
+        } while (allEqual(digits));
+        digits[9] = checkDigit(digits, 9);
+        digits[10] = checkDigit(digits, 10);
+
+        StringBuilder cpf = new StringBuilder(11);
+        for (int digit : digits) {
+            cpf.append(digit);
+        }
+        return cpf.toString();
+    }
+
+    public static String email() {
+        return "teste." + UUID.randomUUID().toString().replace("-", "") + "@gmail.com";
+    }
+
+    private static int checkDigit(int[] digits, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += digits[i] * (length + 1 - i);
+        }
+        int rest = sum % 11;
+        return rest < 2 ? 0 : 11 - rest;
+    }
+
+    private static boolean allEqual(int[] digits) {
+        for (int i = 1; i < 9; i++) {
+            if (digits[i] != digits[0]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}